@@ -0,0 +1,52 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+description = "JMH benchmarks for the Arch Rules libraries in this repository"
+
+dependencies {
+    val archRulesLibraries = listOf(
+        ":archrules-deprecation",
+        ":archrules-gradle-plugin-development",
+        ":archrules-guava",
+        ":archrules-javax",
+        ":archrules-joda",
+        ":archrules-nullability",
+        ":archrules-security",
+        ":archrules-spring",
+        ":archrules-testing-frameworks"
+    )
+    archRulesLibraries.forEach {
+        jmh(project(it)) {
+            capabilities {
+                requireFeature("arch-rules")
+            }
+        }
+    }
+    jmh(project(":archrules-common"))
+    jmh("com.netflix.nebula:nebula-archrules-core:0.+")
+    jmh(libs.asm)
+    jmh(libs.jspecify)
+}
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(17)
+    }
+}
+dependencyLocking {
+    lockAllConfigurations()
+}
+jmh {
+    jmhVersion = "1.37"
+    warmupIterations = 2
+    iterations = 3
+    fork = 1
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    jvmArgsAppend = listOf("-Xmx4g")
+    // narrow the run with e.g. -PjmhIncludes=ArchRulesServiceBenchmark -PjmhCorpusSizes=1000
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+    providers.gradleProperty("jmhCorpusSizes").orNull?.let {
+        benchmarkParameters.put("corpusSize", project.objects.listProperty(String::class.java).value(it.split(",")))
+    }
+}
@@ -0,0 +1,97 @@
+package com.netflix.nebula.archrules.benchmarks;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates every shipped rule against the synthetic {@link Corpus}.
+ * <p>
+ * Run with the {@code gc} profiler (configured by default in the build) to get the allocation rate per rule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+public class ArchRulesServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int corpusSize;
+
+    /**
+     * every shipped rule; checked against {@link ShippedRules#ruleIds()} in {@link #setUp()}
+     */
+    @Param({
+            "DeprecationRule:deprecated",
+            "DeprecationRule:deprecatedForRemoval",
+            "GradlePluginBestPractices:Task input/output file should be regular",
+            "GradlePluginBestPractices:abstract getters",
+            "GradlePluginBestPractices:Task declares inputs and/or outputs",
+            "GradlePluginBestPractices:Task input/output should not be fields",
+            "GradlePluginBestPractices:Task input/output should use Provider API",
+            "GradlePluginBestPractices:task project access",
+            "GradlePluginBestPractices:task dependencies",
+            "GradlePluginBestPractices:lazy task registration",
+            "GradlePluginBestPractices:use named instead of getByName",
+            "GradlePluginBestPractices:use configureEach instead of all",
+            "GradlePluginBestPractices:Plugin using deprecated gradle APIs",
+            "GradlePluginBestPractices:Task using deprecated gradle APIs",
+            "GradlePluginBestPractices:Plugin using internal gradle APIs",
+            "GradlePluginBestPractices:Task using internal gradle APIs",
+            "GradlePluginBestPractices:Plugin storing Project references",
+            "GradlePluginBestPractices:Plugin should inject ObjectFactory",
+            "GradlePluginBestPractices:Plugin should inject ProviderFactory",
+            "GradlePluginBestPractices:Extension fields use Provider API",
+            "GradlePluginBestPractices:Extension abstract getters",
+            "GradlePluginBestPractices:Cacheable Task input field path sensitivity",
+            "GradlePluginBestPractices:Cacheable Task input method path sensitivity",
+            "GradlePluginBestPractices:Apply plugins by ID",
+            "NebulaNullabilityArchRules:public classes should be @NullMarked",
+            "NebulaNullabilityArchRules:upgrade legacy jetbrains annotations",
+            "NebulaNullabilityArchRules:upgrade legacy spring annotations",
+            "NebulaNullabilityArchRules:upgrade legacy javax annotations",
+            "NebulaNullabilityArchRules:upgrade legacy jakarta annotations",
+            "NebulaNullabilityArchRules:no Optional class fields",
+            "NebulaNullabilityArchRules:no Optional method parameters",
+            "CveArchRules:CVE-2020-29582",
+            "CveArchRules:CVE-2023-2976",
+            "CveArchRules:CVE-2020-8908",
+            "CveArchRules:CVE-2018-10237",
+            "CveArchRules:CVE-2024-6763",
+            "GuavaRules:guava optional",
+            "GuavaRules:guava collections",
+            "JavaxRule:javaxRule",
+            "JodaRule:jodaRule",
+            "SpringBestPractices:no field injection",
+            "JUnit4Rule:junit4Rule",
+            "Testcontainers1xRule:testcontainers1x-dockerComposeContainer",
+            "Testcontainers1xRule:testcontainers1x-containerIpAddressMethod",
+            "Testcontainers1xRule:testcontainers1x-noArgConstructor",
+            "Testcontainers2xRule:testcontainers2x-legacyContainerPackage"
+    })
+    public String rule;
+
+    private JavaClasses classes;
+    private ArchRule archRule;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        ShippedRules.checkCoversAllRules(ArchRulesServiceBenchmark.class.getField("rule").getAnnotation(Param.class).value());
+        classes = Corpus.importCorpus(corpusSize);
+        archRule = ShippedRules.rule(rule);
+    }
+
+    @Benchmark
+    public EvaluationResult evaluate() {
+        return archRule.evaluate(classes);
+    }
+}
@@ -0,0 +1,322 @@
+package com.netflix.nebula.archrules.benchmarks;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.jspecify.annotations.NullMarked;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import static org.objectweb.asm.Opcodes.ACC_ABSTRACT;
+import static org.objectweb.asm.Opcodes.ACC_ANNOTATION;
+import static org.objectweb.asm.Opcodes.ACC_INTERFACE;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_STATIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ACC_SYNTHETIC;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * Deterministic, synthetic classpath used as the input for the benchmarks.
+ * <p>
+ * A corpus of size {@code n} contains exactly {@code n} application classes in packages of {@value #CLASSES_PER_PACKAGE}
+ * classes, plus a handful of stub classes for the Gradle API and a deprecated "legacy" API. Application classes cycle
+ * through ten kinds, so every shipped rule sees both matching and violating input:
+ * <ul>
+ *   <li>Gradle tasks and plugins with the usual anti-patterns</li>
+ *   <li>{@code Optional} fields and parameters</li>
+ *   <li>Guava, Joda, Javax, JUnit 4, Jetty and Testcontainers references</li>
+ *   <li>usages of deprecated and deprecated-for-removal APIs</li>
+ *   <li>plain classes that only depend on each other</li>
+ * </ul>
+ * Every other package is annotated with {@code @NullMarked}.
+ * <p>
+ * The generated class files are written to a jar in the temp directory once and reused by later forks.
+ */
+@NullMarked
+final class Corpus {
+    static final int CLASSES_PER_PACKAGE = 50;
+
+    private static final String VERSION = "v1";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String DEFAULT_TASK = "org/gradle/api/DefaultTask";
+    private static final String PLUGIN = "org/gradle/api/Plugin";
+    private static final String PROJECT = "org/gradle/api/Project";
+    private static final String LEGACY_API = "corpus/legacy/LegacyApi";
+    private static final String REMOVED_API = "corpus/legacy/RemovedApi";
+
+    private Corpus() {
+    }
+
+    /**
+     * Imports the corpus with the given number of application classes, generating it first if necessary.
+     */
+    static JavaClasses importCorpus(int size) {
+        Path jar = jar(size);
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            return new ClassFileImporter().importJar(jarFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not import corpus " + jar, e);
+        }
+    }
+
+    /**
+     * Returns the jar containing the corpus with the given number of application classes.
+     */
+    static Path jar(int size) {
+        Path jar = Paths.get(System.getProperty("java.io.tmpdir"), "archrules-benchmarks",
+                "corpus-" + VERSION + "-" + size + ".jar");
+        if (Files.isRegularFile(jar)) {
+            return jar;
+        }
+        try {
+            Files.createDirectories(jar.getParent());
+            Path tmp = Files.createTempFile(jar.getParent(), "corpus", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                write(generate(size), out);
+            }
+            Files.move(tmp, jar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return jar;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write corpus " + jar, e);
+        }
+    }
+
+    static Map<String, byte[]> generate(int size) {
+        Map<String, byte[]> classes = new TreeMap<>();
+        classes.put("org/gradle/api/Task", iface("org/gradle/api/Task"));
+        classes.put(PLUGIN, iface(PLUGIN));
+        classes.put(PROJECT, projectStub());
+        classes.put(DEFAULT_TASK, defaultTaskStub());
+        classes.put("org/gradle/api/tasks/Input", annotationType("org/gradle/api/tasks/Input"));
+        classes.put("org/gradle/api/tasks/TaskAction", annotationType("org/gradle/api/tasks/TaskAction"));
+        classes.put(LEGACY_API, legacyApi(LEGACY_API, false));
+        classes.put(REMOVED_API, legacyApi(REMOVED_API, true));
+        for (int pkg = 0; pkg * CLASSES_PER_PACKAGE < size; pkg += 2) {
+            String name = packageName(pkg) + "/package-info";
+            classes.put(name, packageInfo(name));
+        }
+        for (int i = 0; i < size; i++) {
+            classes.put(className(i), applicationClass(i));
+        }
+        return classes;
+    }
+
+    private static void write(Map<String, byte[]> classes, OutputStream out) throws IOException {
+        try (JarOutputStream jar = new JarOutputStream(out)) {
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                JarEntry jarEntry = new JarEntry(entry.getKey() + ".class");
+                jarEntry.setTime(0L);
+                jar.putNextEntry(jarEntry);
+                jar.write(entry.getValue());
+                jar.closeEntry();
+            }
+        }
+    }
+
+    private static String packageName(int pkg) {
+        return "corpus/p" + pkg;
+    }
+
+    private static String className(int index) {
+        return packageName(index / CLASSES_PER_PACKAGE) + "/C" + index;
+    }
+
+    private static byte[] applicationClass(int index) {
+        int kind = index % 10;
+        String name = className(index);
+        String superName = kind == 0 ? DEFAULT_TASK : OBJECT;
+        String[] interfaces = kind == 1 ? new String[]{PLUGIN} : null;
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_SUPER, name, null, superName, interfaces);
+        constructor(cw, superName);
+        returnVoid(cw.visitMethod(ACC_PUBLIC | ACC_STATIC, "touch", "()V", null, null));
+        switch (kind) {
+            case 0:
+                annotatedField(cw, "name", "Ljava/lang/String;", "Lorg/gradle/api/tasks/Input;");
+                returnNull(annotatedMethod(cw, "getValue", "()Ljava/lang/String;", "Lorg/gradle/api/tasks/Input;"));
+                MethodVisitor run = annotatedMethod(cw, "run", "()V", "Lorg/gradle/api/tasks/TaskAction;");
+                run.visitCode();
+                run.visitVarInsn(ALOAD, 0);
+                run.visitMethodInsn(INVOKEVIRTUAL, name, "getProject", "()L" + PROJECT + ";", false);
+                run.visitInsn(POP);
+                run.visitInsn(RETURN);
+                run.visitMaxs(0, 0);
+                run.visitEnd();
+                break;
+            case 1:
+                cw.visitField(ACC_PRIVATE, "project", "L" + PROJECT + ";", null, null).visitEnd();
+                MethodVisitor apply = cw.visitMethod(ACC_PUBLIC, "apply", "(Ljava/lang/Object;)V", null, null);
+                apply.visitCode();
+                apply.visitVarInsn(ALOAD, 0);
+                apply.visitFieldInsn(GETFIELD, name, "project", "L" + PROJECT + ";");
+                apply.visitMethodInsn(INVOKEINTERFACE, PROJECT, "getObjects", "()Ljava/lang/Object;", true);
+                apply.visitInsn(POP);
+                apply.visitInsn(RETURN);
+                apply.visitMaxs(0, 0);
+                apply.visitEnd();
+                break;
+            case 2:
+                cw.visitField(ACC_PRIVATE, "optional", "Ljava/util/Optional;", null, null).visitEnd();
+                returnVoid(cw.visitMethod(ACC_PUBLIC, "take", "(Ljava/util/Optional;)V", null, null));
+                break;
+            case 3:
+                cw.visitField(ACC_PRIVATE, "list", "Lcom/google/common/collect/ImmutableList;", null, null)
+                        .visitEnd();
+                cw.visitField(ACC_PRIVATE, "guavaOptional", "Lcom/google/common/base/Optional;", null, null)
+                        .visitEnd();
+                break;
+            case 4:
+                cw.visitField(ACC_PRIVATE, "time", "Lorg/joda/time/DateTime;", null, null).visitEnd();
+                annotatedField(cw, "injected", "Ljava/lang/Object;", "Ljavax/inject/Inject;");
+                returnNull(annotatedMethod(cw, "nullable", "()Ljava/lang/Object;", "Ljavax/annotation/Nullable;"));
+                break;
+            case 5:
+                cw.visitField(ACC_PRIVATE, "removed", "L" + REMOVED_API + ";", null, null).visitEnd();
+                MethodVisitor legacy = cw.visitMethod(ACC_PUBLIC, "legacy", "()V", null, null);
+                legacy.visitCode();
+                legacy.visitMethodInsn(INVOKESTATIC, LEGACY_API, "call", "()V", false);
+                legacy.visitInsn(RETURN);
+                legacy.visitMaxs(0, 0);
+                legacy.visitEnd();
+                break;
+            case 6:
+                returnVoid(annotatedMethod(cw, "test", "()V", "Lorg/junit/Test;"));
+                cw.visitField(ACC_PRIVATE, "postgres", "Lorg/testcontainers/containers/PostgreSQLContainer;",
+                        null, null).visitEnd();
+                cw.visitField(ACC_PRIVATE, "uri", "Lorg/eclipse/jetty/http/HttpURI;", null, null).visitEnd();
+                break;
+            default:
+                String previous = className(index - 1);
+                cw.visitField(ACC_PRIVATE, "previous", "L" + previous + ";", null, null).visitEnd();
+                MethodVisitor call = cw.visitMethod(ACC_PUBLIC, "callPrevious", "()V", null, null);
+                call.visitCode();
+                call.visitMethodInsn(INVOKESTATIC, previous, "touch", "()V", false);
+                call.visitInsn(RETURN);
+                call.visitMaxs(0, 0);
+                call.visitEnd();
+                break;
+        }
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] iface(String name) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_INTERFACE | ACC_ABSTRACT, name, null, OBJECT, null);
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] annotationType(String name) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_INTERFACE | ACC_ABSTRACT | ACC_ANNOTATION, name, null, OBJECT,
+                new String[]{"java/lang/annotation/Annotation"});
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] projectStub() {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_INTERFACE | ACC_ABSTRACT, PROJECT, null, OBJECT, null);
+        cw.visitMethod(ACC_PUBLIC | ACC_ABSTRACT, "getObjects", "()Ljava/lang/Object;", null, null).visitEnd();
+        cw.visitMethod(ACC_PUBLIC | ACC_ABSTRACT, "getProviders", "()Ljava/lang/Object;", null, null).visitEnd();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] defaultTaskStub() {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_SUPER | ACC_ABSTRACT, DEFAULT_TASK, null, OBJECT,
+                new String[]{"org/gradle/api/Task"});
+        constructor(cw, OBJECT);
+        returnNull(cw.visitMethod(ACC_PUBLIC, "getProject", "()L" + PROJECT + ";", null, null));
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] legacyApi(String name, boolean forRemoval) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_SUPER, name, null, OBJECT, null);
+        AnnotationVisitor deprecated = cw.visitAnnotation("Ljava/lang/Deprecated;", true);
+        if (forRemoval) {
+            deprecated.visit("forRemoval", Boolean.TRUE);
+        }
+        deprecated.visitEnd();
+        constructor(cw, OBJECT);
+        returnVoid(cw.visitMethod(ACC_PUBLIC | ACC_STATIC, "call", "()V", null, null));
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] packageInfo(String name) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_INTERFACE | ACC_ABSTRACT | ACC_SYNTHETIC, name, null, OBJECT, null);
+        cw.visitAnnotation("Lorg/jspecify/annotations/NullMarked;", true).visitEnd();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void constructor(ClassWriter cw, String superName) {
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void annotatedField(ClassWriter cw, String name, String descriptor, String annotation) {
+        FieldVisitor fv = cw.visitField(ACC_PRIVATE, name, descriptor, null, null);
+        fv.visitAnnotation(annotation, true).visitEnd();
+        fv.visitEnd();
+    }
+
+    private static MethodVisitor annotatedMethod(ClassWriter cw, String name, String descriptor, String annotation) {
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, name, descriptor, null, null);
+        mv.visitAnnotation(annotation, true).visitEnd();
+        return mv;
+    }
+
+    private static void returnVoid(MethodVisitor mv) {
+        mv.visitCode();
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void returnNull(MethodVisitor mv) {
+        mv.visitCode();
+        mv.visitInsn(ACONST_NULL);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+}
@@ -0,0 +1,67 @@
+package com.netflix.nebula.archrules.benchmarks;
+
+import com.netflix.nebula.archrules.deprecation.DeprecationRule;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.netflix.nebula.archrules.common.CanBeAnnotated.Predicates.deprecated;
+import static com.netflix.nebula.archrules.common.Dependency.Predicates.resideInSamePackage;
+import static com.netflix.nebula.archrules.common.JavaAccess.Predicates.targetHasOwnerInSamePackage;
+import static com.netflix.nebula.archrules.common.JavaClass.Conditions.haveAnyDependenciesThat;
+import static com.tngtech.archunit.base.DescribedPredicate.doNot;
+import static com.tngtech.archunit.base.DescribedPredicate.not;
+import static com.tngtech.archunit.core.domain.Dependency.Predicates.dependencyTarget;
+import static com.tngtech.archunit.core.domain.JavaAccess.Predicates.target;
+import static com.tngtech.archunit.core.domain.JavaAccess.Predicates.targetOwner;
+import static com.tngtech.archunit.lang.conditions.ArchPredicates.is;
+
+/**
+ * Compares the deprecation rule, which evaluates its predicates over the {@code DependencyGraph}, against the same
+ * rule on ArchUnit's dependency and access objects, which tests the deprecation of each edge's target anew.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DependencyGraphBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int corpusSize;
+
+    private JavaClasses classes;
+
+    private final ArchRule objectConditions = ArchRuleDefinition.priority(Priority.LOW)
+            .noClasses()
+            .should(haveAnyDependenciesThat(doNot(resideInSamePackage())
+                    .and(dependencyTarget(is(deprecated())))))
+            .orShould().accessTargetWhere(not(targetHasOwnerInSamePackage())
+                    .and(target(is(deprecated())).or(targetOwner(is(deprecated())))))
+            .allowEmptyShould(true);
+
+    @Setup
+    public void setUp() {
+        classes = Corpus.importCorpus(corpusSize);
+    }
+
+    @Benchmark
+    public EvaluationResult objectConditions() {
+        return objectConditions.evaluate(classes);
+    }
+
+    @Benchmark
+    public EvaluationResult dependencyGraph() {
+        return DeprecationRule.deprecationRule.evaluate(classes);
+    }
+}
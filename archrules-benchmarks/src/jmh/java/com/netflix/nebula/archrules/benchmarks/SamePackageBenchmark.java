@@ -0,0 +1,106 @@
+package com.netflix.nebula.archrules.benchmarks;
+
+import com.netflix.nebula.archrules.deprecation.DeprecationRule;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the same-package predicates against the name and {@code equals} based checks they replaced,
+ * over every dependency and access edge of the corpus, and measures the dependency-heavy deprecation rule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SamePackageBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int corpusSize;
+
+    private JavaClasses classes;
+    private Dependency[] dependencies;
+    private JavaAccess<?>[] accesses;
+
+    private final DescribedPredicate<Dependency> resideInSamePackage =
+            com.netflix.nebula.archrules.common.Dependency.Predicates.resideInSamePackage();
+    private final DescribedPredicate<JavaAccess<?>> targetHasOwnerInSamePackage =
+            com.netflix.nebula.archrules.common.JavaAccess.Predicates.targetHasOwnerInSamePackage();
+
+    @Setup
+    public void setUp() {
+        classes = Corpus.importCorpus(corpusSize);
+        List<Dependency> allDependencies = new ArrayList<>();
+        List<JavaAccess<?>> allAccesses = new ArrayList<>();
+        for (JavaClass javaClass : classes) {
+            allDependencies.addAll(javaClass.getDirectDependenciesFromSelf());
+            allAccesses.addAll(javaClass.getAccessesFromSelf());
+        }
+        dependencies = allDependencies.toArray(new Dependency[0]);
+        accesses = allAccesses.toArray(new JavaAccess<?>[0]);
+    }
+
+    @Benchmark
+    public int dependencyPackageNameEquals() {
+        int count = 0;
+        for (Dependency dependency : dependencies) {
+            if (dependency.getOriginClass().getPackageName().equals(dependency.getTargetClass().getPackageName())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int dependencyResideInSamePackage() {
+        int count = 0;
+        for (Dependency dependency : dependencies) {
+            if (resideInSamePackage.test(dependency)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int accessPackageEquals() {
+        int count = 0;
+        for (JavaAccess<?> access : accesses) {
+            if (access.getOriginOwner().getPackage().equals(access.getTargetOwner().getPackage())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int accessTargetHasOwnerInSamePackage() {
+        int count = 0;
+        for (JavaAccess<?> access : accesses) {
+            if (targetHasOwnerInSamePackage.test(access)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public EvaluationResult deprecationRule() {
+        return DeprecationRule.deprecationRule.evaluate(classes);
+    }
+}
@@ -0,0 +1,94 @@
+package com.netflix.nebula.archrules.benchmarks;
+
+import com.netflix.nebula.archrules.core.ArchRulesService;
+import com.netflix.nebula.archrules.deprecation.DeprecationRule;
+import com.netflix.nebula.archrules.gradleplugins.GradlePluginBestPractices;
+import com.netflix.nebula.archrules.guava.GuavaRules;
+import com.netflix.nebula.archrules.javax.JavaxRule;
+import com.netflix.nebula.archrules.joda.JodaRule;
+import com.netflix.nebula.archrules.nullability.NebulaNullabilityArchRules;
+import com.netflix.nebula.archrules.security.CveArchRules;
+import com.netflix.nebula.archrules.spring.SpringBestPractices;
+import com.netflix.nebula.archrules.testingframeworks.JUnit4Rule;
+import com.netflix.nebula.archrules.testingframeworks.Testcontainers1xRule;
+import com.netflix.nebula.archrules.testingframeworks.Testcontainers2xRule;
+import com.tngtech.archunit.lang.ArchRule;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Every {@link ArchRulesService} shipped from this repository.
+ * <p>
+ * Rules are identified by {@code <service simple name>:<rule key>}, e.g. {@code DeprecationRule:deprecated}.
+ */
+@NullMarked
+final class ShippedRules {
+    static final List<ArchRulesService> SERVICES = Arrays.asList(
+            new DeprecationRule(),
+            new GradlePluginBestPractices(),
+            new NebulaNullabilityArchRules(),
+            new CveArchRules(),
+            new GuavaRules(),
+            new JavaxRule(),
+            new JodaRule(),
+            new SpringBestPractices(),
+            new JUnit4Rule(),
+            new Testcontainers1xRule(),
+            new Testcontainers2xRule()
+    );
+
+    private ShippedRules() {
+    }
+
+    static ArchRulesService service(String serviceName) {
+        return SERVICES.stream()
+                .filter(it -> it.getClass().getSimpleName().equals(serviceName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown ArchRulesService " + serviceName));
+    }
+
+    /**
+     * the ids of all rules of all services
+     */
+    static Set<String> ruleIds() {
+        Set<String> ids = new TreeSet<>();
+        for (ArchRulesService service : SERVICES) {
+            for (String key : service.getRules().keySet()) {
+                ids.add(service.getClass().getSimpleName() + ':' + key);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * fails if the ids are not exactly the ids of the shipped rules, so that lists of rule ids which JMH needs as
+     * constants do not drift from the services
+     */
+    static void checkCoversAllRules(String... ruleIds) {
+        Set<String> missing = ruleIds();
+        Set<String> unknown = new TreeSet<>(Arrays.asList(ruleIds));
+        missing.removeAll(unknown);
+        unknown.removeAll(ruleIds());
+        if (!missing.isEmpty() || !unknown.isEmpty()) {
+            throw new IllegalStateException("Rule ids do not match the shipped rules; missing " + missing
+                    + ", unknown " + unknown);
+        }
+    }
+
+    static ArchRule rule(String ruleId) {
+        int separator = ruleId.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Rule id must be <service>:<rule key> but was " + ruleId);
+        }
+        String key = ruleId.substring(separator + 1);
+        ArchRule rule = service(ruleId.substring(0, separator)).getRules().get(key);
+        if (rule == null) {
+            throw new IllegalArgumentException("Unknown rule " + ruleId);
+        }
+        return rule;
+    }
+}
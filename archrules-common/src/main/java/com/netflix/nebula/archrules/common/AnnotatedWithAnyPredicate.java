@@ -0,0 +1,41 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Matches elements annotated with any of a set of annotation types.
+ * <p>
+ * The element's annotations are walked once and each raw type name is looked up in a precomputed set, instead of
+ * chaining one {@code annotatedWith} predicate per annotation type.
+ * If no annotation types are given, any annotation matches.
+ */
+@NullMarked
+class AnnotatedWithAnyPredicate extends DescribedPredicate<com.tngtech.archunit.core.domain.properties.CanBeAnnotated> {
+    private final DescribedPredicate<com.tngtech.archunit.core.domain.JavaAnnotation<?>> rawTypeIsAnyOf;
+
+    AnnotatedWithAnyPredicate(List<String> annotationTypes) {
+        super("annotated with any [%s]", String.join(", ", annotationTypes));
+        if (annotationTypes.isEmpty()) {
+            this.rawTypeIsAnyOf = DescribedPredicate.alwaysTrue();
+        } else {
+            Set<String> typeNames = new HashSet<>(annotationTypes);
+            this.rawTypeIsAnyOf = new DescribedPredicate<com.tngtech.archunit.core.domain.JavaAnnotation<?>>(
+                    "raw type is any of %s", typeNames) {
+                @Override
+                public boolean test(com.tngtech.archunit.core.domain.JavaAnnotation<?> annotation) {
+                    return typeNames.contains(annotation.getRawType().getName());
+                }
+            };
+        }
+    }
+
+    @Override
+    public boolean test(com.tngtech.archunit.core.domain.properties.CanBeAnnotated input) {
+        return input.isAnnotatedWith(rawTypeIsAnyOf);
+    }
+}
@@ -0,0 +1,174 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaPackage;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Answers string-based assignability checks from results cached per class and requested type.
+ * <p>
+ * {@link com.tngtech.archunit.core.domain.JavaClass#isAssignableTo(String)} walks the whole class hierarchy on
+ * every call, and rules often check the same classes against the same few types. Here, each import gets dense ids
+ * for its classes, and each requested type a table of two bits per class id (known, assignable), filled from the
+ * results of the class's direct supertypes. A repeated check is then one lookup in that table, without locks.
+ * <p>
+ * All state belongs to one import: it is found through the import's default package, which every class of the
+ * import is nested in, and is dropped when the import is no longer reachable. The index is safe to use from
+ * several threads.
+ */
+@NullMarked
+public final class AssignabilityIndex {
+    /**
+     * copy-on-write, since there are few imports alive at a time and lookups must not lock
+     */
+    private static volatile Hierarchy[] hierarchies = new Hierarchy[0];
+
+    private AssignabilityIndex() {
+    }
+
+    /**
+     * equivalent to {@link com.tngtech.archunit.core.domain.JavaClass.Predicates#assignableTo(String)},
+     * but matching if the class is assignable to any of the given types
+     */
+    public static DescribedPredicate<com.tngtech.archunit.core.domain.JavaClass> assignableToAny(String... typeNames) {
+        String description = typeNames.length == 1
+                ? "assignable to " + typeNames[0]
+                : "assignable to any of [" + String.join(", ", typeNames) + "]";
+        return new DescribedPredicate<com.tngtech.archunit.core.domain.JavaClass>(description) {
+            @Override
+            public boolean test(com.tngtech.archunit.core.domain.JavaClass input) {
+                Hierarchy hierarchy = hierarchyOf(input);
+                for (String typeName : typeNames) {
+                    if (hierarchy.target(typeName).test(hierarchy, input)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * equivalent to {@link com.tngtech.archunit.core.domain.JavaClass#isAssignableTo(String)}
+     */
+    public static boolean isAssignableTo(com.tngtech.archunit.core.domain.JavaClass javaClass, String typeName) {
+        Hierarchy hierarchy = hierarchyOf(javaClass);
+        return hierarchy.target(typeName).test(hierarchy, javaClass);
+    }
+
+    private static Hierarchy hierarchyOf(com.tngtech.archunit.core.domain.JavaClass javaClass) {
+        JavaPackage root = javaClass.getPackage();
+        for (Optional<JavaPackage> parent = root.getParent(); parent.isPresent(); parent = root.getParent()) {
+            root = parent.get();
+        }
+        for (Hierarchy hierarchy : hierarchies) {
+            if (hierarchy.root.get() == root) {
+                return hierarchy;
+            }
+        }
+        synchronized (AssignabilityIndex.class) {
+            List<Hierarchy> alive = new ArrayList<>();
+            for (Hierarchy hierarchy : hierarchies) {
+                if (hierarchy.root.get() == root) {
+                    return hierarchy;
+                }
+                if (hierarchy.root.get() != null) {
+                    alive.add(hierarchy);
+                }
+            }
+            Hierarchy hierarchy = new Hierarchy(root);
+            alive.add(hierarchy);
+            hierarchies = alive.toArray(new Hierarchy[0]);
+            return hierarchy;
+        }
+    }
+
+    /**
+     * The class ids of one import and the results per requested type. Only names are kept, so the import's
+     * classes stay collectable.
+     */
+    private static final class Hierarchy {
+        private final WeakReference<JavaPackage> root;
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+        Hierarchy(JavaPackage root) {
+            this.root = new WeakReference<>(root);
+            for (com.tngtech.archunit.core.domain.JavaClass javaClass : root.getClassesInPackageTree()) {
+                ids.putIfAbsent(javaClass.getName(), ids.size());
+            }
+        }
+
+        /**
+         * the id of the class, or -1 for classes outside the package tree, whose results are not cached
+         */
+        int idOf(com.tngtech.archunit.core.domain.JavaClass javaClass) {
+            @Nullable Integer id = ids.get(javaClass.getName());
+            return id == null ? -1 : id;
+        }
+
+        Target target(String typeName) {
+            return targets.computeIfAbsent(typeName, it -> new Target(it, ids.size()));
+        }
+    }
+
+    /**
+     * Whether each class is assignable to one type, as two bits per class id: known and assignable.
+     */
+    private static final class Target {
+        private static final int KNOWN = 1;
+        private static final int ASSIGNABLE = 2;
+
+        private final String typeName;
+        private final AtomicIntegerArray states;
+
+        Target(String typeName, int classCount) {
+            this.typeName = typeName;
+            this.states = new AtomicIntegerArray((classCount + 15) / 16);
+        }
+
+        boolean test(Hierarchy hierarchy, com.tngtech.archunit.core.domain.JavaClass javaClass) {
+            int id = hierarchy.idOf(javaClass);
+            if (id >= 0) {
+                int state = states.get(id >>> 4) >>> ((id & 15) << 1);
+                if ((state & KNOWN) != 0) {
+                    return (state & ASSIGNABLE) != 0;
+                }
+            }
+            boolean result = compute(hierarchy, javaClass);
+            if (id >= 0) {
+                int bits = (result ? KNOWN | ASSIGNABLE : KNOWN) << ((id & 15) << 1);
+                int current;
+                do {
+                    current = states.get(id >>> 4);
+                } while (!states.compareAndSet(id >>> 4, current, current | bits));
+            }
+            return result;
+        }
+
+        private boolean compute(Hierarchy hierarchy, com.tngtech.archunit.core.domain.JavaClass javaClass) {
+            if (javaClass.getName().equals(typeName)) {
+                return true;
+            }
+            if (javaClass.getRawSuperclass().isPresent() && test(hierarchy, javaClass.getRawSuperclass().get())) {
+                return true;
+            }
+            for (com.tngtech.archunit.core.domain.JavaClass rawInterface : javaClass.getRawInterfaces()) {
+                if (test(hierarchy, rawInterface)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
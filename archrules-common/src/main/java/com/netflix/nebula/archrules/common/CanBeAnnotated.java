@@ -4,12 +4,9 @@ import com.tngtech.archunit.base.DescribedPredicate;
 import org.jspecify.annotations.NullMarked;
 
 import java.util.Arrays;
+import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
-import static com.tngtech.archunit.core.domain.JavaClass.Predicates.assignableTo;
-import static com.tngtech.archunit.core.domain.properties.CanBeAnnotated.Predicates.annotatedWith;
-import static com.tngtech.archunit.core.domain.properties.HasType.Predicates.rawType;
-
 @NullMarked
 public class CanBeAnnotated {
     public static class Predicates {
@@ -18,18 +15,25 @@ public class CanBeAnnotated {
          * Annotated with Java or Kotlin deprecation annotations
          */
         public static DescribedPredicate<com.tngtech.archunit.core.domain.properties.CanBeAnnotated> deprecated() {
-            return annotatedWith(Deprecated.class)
-                    .or(annotatedWith("kotlin.Deprecated"))
-                    .or(annotatedWith("kotlin.DeprecatedSinceKotlin"))
-                    .as("deprecated");
+            return new DescribedPredicate<com.tngtech.archunit.core.domain.properties.CanBeAnnotated>("deprecated") {
+                @Override
+                public boolean test(com.tngtech.archunit.core.domain.properties.CanBeAnnotated input) {
+                    return DeprecationStatus.of(input).isDeprecated();
+                }
+            };
         }
 
         /**
          * Annotated with Java deprecation annotation with the forRemoval property set to true
          */
         public static DescribedPredicate<com.tngtech.archunit.core.domain.properties.CanBeAnnotated> deprecatedForRemoval() {
-            return annotatedWith(JavaAnnotation.Predicates.deprecatedForRemoval())
-                    .as("deprecated for removal");
+            return new DescribedPredicate<com.tngtech.archunit.core.domain.properties.CanBeAnnotated>(
+                    "deprecated for removal") {
+                @Override
+                public boolean test(com.tngtech.archunit.core.domain.properties.CanBeAnnotated input) {
+                    return DeprecationStatus.of(input) == DeprecationStatus.FOR_REMOVAL;
+                }
+            };
         }
 
         /**
@@ -37,11 +41,7 @@ public class CanBeAnnotated {
          */
         public static DescribedPredicate<com.tngtech.archunit.core.domain.properties.CanBeAnnotated> annotatedWithAny(
                 String... annotationTypes) {
-            return Arrays.stream(annotationTypes)
-                    .map(com.tngtech.archunit.core.domain.properties.CanBeAnnotated.Predicates::annotatedWith)
-                    .reduce((a, b) -> a.or(b))
-                    .orElseGet(() -> annotatedWith(rawType(assignableTo(Object.class))))
-                    .as("annotated with any [%s]", String.join(", ", annotationTypes));
+            return PredicateProfiler.profiled(new AnnotatedWithAnyPredicate(Arrays.asList(annotationTypes)));
         }
 
         /**
@@ -49,11 +49,8 @@ public class CanBeAnnotated {
          */
         public static DescribedPredicate<com.tngtech.archunit.core.domain.properties.CanBeAnnotated> annotatedWithAny(
                 Iterable<String> annotationTypes) {
-            return StreamSupport.stream(annotationTypes.spliterator(), false)
-                    .map(com.tngtech.archunit.core.domain.properties.CanBeAnnotated.Predicates::annotatedWith)
-                    .reduce((a, b) -> a.or(b))
-                    .orElseGet(() -> annotatedWith(rawType(assignableTo(Object.class))))
-                    .as("annotated with any [%s]", String.join(", ", annotationTypes));
+            return PredicateProfiler.profiled(new AnnotatedWithAnyPredicate(
+                    StreamSupport.stream(annotationTypes.spliterator(), false).collect(Collectors.toList())));
         }
     }
 }
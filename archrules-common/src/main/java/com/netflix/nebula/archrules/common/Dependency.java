@@ -14,8 +14,7 @@ public class Dependency {
             return new DescribedPredicate<com.tngtech.archunit.core.domain.Dependency>("reside in same package") {
                 @Override
                 public boolean test(com.tngtech.archunit.core.domain.Dependency dependency) {
-                    return dependency.getOriginClass().getPackageName()
-                            .equals(dependency.getTargetClass().getPackageName());
+                    return Packages.samePackage(dependency.getOriginClass(), dependency.getTargetClass());
                 }
             };
         }
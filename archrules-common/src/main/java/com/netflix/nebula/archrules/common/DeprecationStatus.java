@@ -0,0 +1,108 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaEnumConstant;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * How an annotated element is deprecated, as determined by a single pass over its annotations.
+ * <p>
+ * When several deprecation annotations are present, the strongest status wins:
+ * {@link #FOR_REMOVAL} over {@link #KOTLIN_LEVEL} over {@link #DEPRECATED}.
+ */
+@NullMarked
+public enum DeprecationStatus {
+    /**
+     * Not annotated with any deprecation annotation
+     */
+    NONE,
+    /**
+     * Annotated with Java {@code @Deprecated}, Kotlin {@code @Deprecated} or Kotlin {@code @DeprecatedSinceKotlin}
+     */
+    DEPRECATED,
+    /**
+     * Annotated with Java {@code @Deprecated(forRemoval = true)}
+     */
+    FOR_REMOVAL,
+    /**
+     * Annotated with Kotlin {@code @Deprecated} with a level of {@code ERROR} or {@code HIDDEN}
+     */
+    KOTLIN_LEVEL;
+
+    private static final String JAVA_DEPRECATED = Deprecated.class.getName();
+    private static final String KOTLIN_DEPRECATED = "kotlin.Deprecated";
+    private static final String KOTLIN_DEPRECATED_SINCE_KOTLIN = "kotlin.DeprecatedSinceKotlin";
+
+    /**
+     * @return true unless this is {@link #NONE}
+     */
+    public boolean isDeprecated() {
+        return this != NONE;
+    }
+
+    /**
+     * @return the stronger of the two statuses
+     */
+    public DeprecationStatus max(DeprecationStatus other) {
+        return other.strength() > strength() ? other : this;
+    }
+
+    /**
+     * Classifies the deprecation status of an element by scanning its annotations once.
+     */
+    public static DeprecationStatus of(com.tngtech.archunit.core.domain.properties.CanBeAnnotated element) {
+        Classifier classifier = new Classifier();
+        element.isAnnotatedWith(classifier);
+        return classifier.status;
+    }
+
+    private int strength() {
+        switch (this) {
+            case FOR_REMOVAL:
+                return 3;
+            case KOTLIN_LEVEL:
+                return 2;
+            case DEPRECATED:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    private static DeprecationStatus classify(com.tngtech.archunit.core.domain.JavaAnnotation<?> annotation) {
+        String typeName = annotation.getRawType().getName();
+        if (JAVA_DEPRECATED.equals(typeName)) {
+            return annotation.get("forRemoval")
+                    .filter(it -> it instanceof Boolean)
+                    .map(value -> (Boolean) value ? FOR_REMOVAL : DEPRECATED)
+                    .orElse(DEPRECATED);
+        }
+        if (KOTLIN_DEPRECATED.equals(typeName)) {
+            return annotation.get("level")
+                    .filter(it -> it instanceof JavaEnumConstant)
+                    .map(level -> "WARNING".equals(((JavaEnumConstant) level).name()) ? DEPRECATED : KOTLIN_LEVEL)
+                    .orElse(DEPRECATED);
+        }
+        if (KOTLIN_DEPRECATED_SINCE_KOTLIN.equals(typeName)) {
+            return DEPRECATED;
+        }
+        return NONE;
+    }
+
+    /**
+     * Never matches, so that {@code isAnnotatedWith} visits every annotation; records the strongest status seen.
+     */
+    private static class Classifier extends DescribedPredicate<com.tngtech.archunit.core.domain.JavaAnnotation<?>> {
+        private DeprecationStatus status = NONE;
+
+        Classifier() {
+            super("deprecation status");
+        }
+
+        @Override
+        public boolean test(com.tngtech.archunit.core.domain.JavaAnnotation<?> annotation) {
+            status = status.max(classify(annotation));
+            return false;
+        }
+    }
+}
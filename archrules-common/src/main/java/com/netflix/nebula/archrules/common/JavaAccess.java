@@ -15,8 +15,7 @@ public class JavaAccess {
                     "in the same package") {
                 @Override
                 public boolean test(com.tngtech.archunit.core.domain.JavaAccess javaAccess) {
-                    return javaAccess.getOriginOwner().getPackage()
-                            .equals(javaAccess.getTargetOwner().getPackage());
+                    return Packages.samePackage(javaAccess.getOriginOwner(), javaAccess.getTargetOwner());
                 }
             };
         }
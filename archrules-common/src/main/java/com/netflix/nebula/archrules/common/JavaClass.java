@@ -17,6 +17,15 @@ import static com.tngtech.archunit.lang.conditions.ArchPredicates.is;
 @NullMarked
 public class JavaClass {
     public static class Predicates {
+        /**
+         * Shared so that all rules using {@link #nullSafe()} share one result cache
+         */
+        private static final DescribedPredicate<com.tngtech.archunit.core.domain.JavaClass> NULL_SAFE =
+                Memoized.of(resideInPackageAnnotatedWith("org.jspecify.annotations.NullMarked")
+                        .or(annotatedWith("kotlin.Metadata"))
+                        .or(annotatedWith("org.jspecify.annotations.NullMarked"))
+                        .as("null safe (JSpecify or Kotlin)"));
+
         /**
          * evaluates the predicate on the class's package
          */
@@ -27,31 +36,30 @@ public class JavaClass {
         }
 
         /**
-         * checks if the class's package is annotated with a specific annotation
+         * checks if the class's package is annotated with a specific annotation;
+         * the result is computed once per package
          */
         public static DescribedPredicate<com.tngtech.archunit.core.domain.JavaClass> resideInPackageAnnotatedWith(
                 Class<? extends Annotation> annotationClass
         ) {
-            return resideInAPackageThat(is(annotatedWith(annotationClass)));
+            return resideInAPackageThat(Memoized.<JavaPackage>of(is(annotatedWith(annotationClass))));
         }
 
         /**
-         * checks if the class's package is annotated with a specific annotation
+         * checks if the class's package is annotated with a specific annotation;
+         * the result is computed once per package
          */
         public static DescribedPredicate<com.tngtech.archunit.core.domain.JavaClass> resideInPackageAnnotatedWith(
                 String annotationClass
         ) {
-            return resideInAPackageThat(is(annotatedWith(annotationClass)));
+            return resideInAPackageThat(Memoized.<JavaPackage>of(is(annotatedWith(annotationClass))));
         }
 
         /**
          * checks if the class is null safe via Kotlin or JSpecify
          */
         public static DescribedPredicate<com.tngtech.archunit.core.domain.JavaClass> nullSafe() {
-            return resideInPackageAnnotatedWith("org.jspecify.annotations.NullMarked")
-                    .or(annotatedWith("kotlin.Metadata"))
-                    .or(annotatedWith("org.jspecify.annotations.NullMarked"))
-                    .as("null safe (JSpecify or Kotlin)");
+            return NULL_SAFE;
         }
     }
 
@@ -67,5 +75,19 @@ public class JavaClass {
                     predicate,
                     GET_DIRECT_DEPENDENCIES_FROM_SELF);
         }
+
+        /**
+         * Like {@link #haveAnyDependenciesThat(DescribedPredicate)}, but stops checking a class at its first matching
+         * dependency. Use this when only the existence of such a dependency matters: a violation of a
+         * {@code noClasses()} rule reports only the first matching dependency of each class.
+         */
+        public static ArchCondition<com.tngtech.archunit.core.domain.JavaClass> haveAtLeastOneDependencyThat(
+                DescribedPredicate<? super Dependency> predicate) {
+            return new NebulaAnyDependencyCondition(
+                    "have at least one dependency that " + predicate.getDescription(),
+                    predicate,
+                    GET_DIRECT_DEPENDENCIES_FROM_SELF)
+                    .stopAtFirstMatch();
+        }
     }
 }
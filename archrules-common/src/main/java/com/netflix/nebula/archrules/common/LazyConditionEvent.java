@@ -0,0 +1,83 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.lang.ConditionEvent;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A condition event whose message is only rendered when a report asks for it.
+ * <p>
+ * Use instead of {@link com.tngtech.archunit.lang.SimpleConditionEvent} where building the message is costly,
+ * e.g. {@code String.format} or {@code getDescription()} calls, so that evaluations which only count violations or
+ * stop at the first one do not render every message. The message is rendered at most once.
+ */
+@NullMarked
+public final class LazyConditionEvent implements ConditionEvent {
+    private final Object correspondingObject;
+    private final boolean conditionSatisfied;
+    private final Supplier<String> messageSupplier;
+    private volatile @Nullable String message;
+
+    private LazyConditionEvent(Object correspondingObject, boolean conditionSatisfied, Supplier<String> message) {
+        this.correspondingObject = correspondingObject;
+        this.conditionSatisfied = conditionSatisfied;
+        this.messageSupplier = message;
+    }
+
+    public static ConditionEvent violated(Object correspondingObject, Supplier<String> message) {
+        return new LazyConditionEvent(correspondingObject, false, message);
+    }
+
+    public static ConditionEvent satisfied(Object correspondingObject, Supplier<String> message) {
+        return new LazyConditionEvent(correspondingObject, true, message);
+    }
+
+    /**
+     * a violation whose message is formatted from the arguments when rendered; the arguments themselves are
+     * evaluated eagerly, so use {@link #violated(Object, Supplier)} if they are costly to compute
+     */
+    public static ConditionEvent violated(Object correspondingObject, String format, Object... args) {
+        return violated(correspondingObject, () -> String.format(format, args));
+    }
+
+    @Override
+    public boolean isViolation() {
+        return !conditionSatisfied;
+    }
+
+    @Override
+    public ConditionEvent invert() {
+        return new LazyConditionEvent(correspondingObject, !conditionSatisfied, this::getMessage);
+    }
+
+    @Override
+    public List<String> getDescriptionLines() {
+        return Collections.singletonList(getMessage());
+    }
+
+    @Override
+    public void handleWith(Handler handler) {
+        handler.handle(Collections.singleton(correspondingObject), getMessage());
+    }
+
+    private String getMessage() {
+        String rendered = message;
+        if (rendered == null) {
+            rendered = messageSupplier.get();
+            message = rendered;
+        }
+        return rendered;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{"
+                + "correspondingObject=" + correspondingObject
+                + ", conditionSatisfied=" + conditionSatisfied
+                + '}';
+    }
+}
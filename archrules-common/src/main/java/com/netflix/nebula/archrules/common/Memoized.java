@@ -0,0 +1,61 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Caches the results of predicates which are pure functions of a domain object
+ * (e.g. a {@link com.tngtech.archunit.core.domain.JavaClass} or {@link com.tngtech.archunit.core.domain.JavaPackage}).
+ * <p>
+ * ArchUnit domain objects do not override {@code equals}, so each object of each import is a separate cache entry,
+ * and results live exactly as long as the import: keys are weak, so nothing is retained after evaluation.
+ * Memoized predicates are safe to evaluate from several threads. A result may be computed more than once if two
+ * threads race on the same object, but the predicate is never evaluated while holding the lock.
+ */
+@NullMarked
+public final class Memoized {
+    private Memoized() {
+    }
+
+    /**
+     * Wraps the predicate so that it is evaluated at most once per domain object.
+     * The description of the predicate is kept. Predicates which are already memoized, profiled or not,
+     * are returned unchanged.
+     */
+    public static <T> DescribedPredicate<T> of(DescribedPredicate<? super T> predicate) {
+        if (PredicateProfiler.unwrap(predicate) instanceof MemoizedPredicate) {
+            @SuppressWarnings("unchecked")
+            DescribedPredicate<T> alreadyMemoized = (DescribedPredicate<T>) predicate;
+            return alreadyMemoized;
+        }
+        return PredicateProfiler.profiled(new MemoizedPredicate<>(predicate));
+    }
+
+    private static final class MemoizedPredicate<T> extends DescribedPredicate<T> {
+        private final DescribedPredicate<? super T> delegate;
+        private final Map<T, Boolean> results = new WeakHashMap<>();
+
+        MemoizedPredicate(DescribedPredicate<? super T> delegate) {
+            super("%s", delegate.getDescription());
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean test(T input) {
+            Boolean result;
+            synchronized (results) {
+                result = results.get(input);
+            }
+            if (result == null) {
+                result = delegate.test(input);
+                synchronized (results) {
+                    results.put(input, result);
+                }
+            }
+            return result;
+        }
+    }
+}
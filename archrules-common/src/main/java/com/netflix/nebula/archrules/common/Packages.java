@@ -0,0 +1,36 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.core.domain.JavaPackage;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Package comparisons for predicates that run for every edge of the dependency graph.
+ */
+@NullMarked
+final class Packages {
+    private Packages() {
+    }
+
+    /**
+     * Checks if two classes reside in the same package.
+     * <p>
+     * Within one import all classes of a package share the same {@link JavaPackage} instance, so a reference
+     * comparison answers almost every call. Classes from different imports fall back to comparing package names,
+     * which rejects most mismatches on the cached string hash codes before comparing characters.
+     */
+    static boolean samePackage(
+            com.tngtech.archunit.core.domain.JavaClass origin,
+            com.tngtech.archunit.core.domain.JavaClass target) {
+        if (origin == target) {
+            return true;
+        }
+        JavaPackage originPackage = origin.getPackage();
+        JavaPackage targetPackage = target.getPackage();
+        if (originPackage == targetPackage) {
+            return true;
+        }
+        String originName = originPackage.getName();
+        String targetName = targetPackage.getName();
+        return originName.hashCode() == targetName.hashCode() && originName.equals(targetName);
+    }
+}
@@ -0,0 +1,190 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Combines predicates into an and/or chain whose evaluation order adapts to the classes being checked.
+ * <p>
+ * {@code a.and(b).and(c)} always evaluates in source order, so an expensive clause written first
+ * (e.g. {@code declaredIn(aGradleTaskClass())}) runs even when a cheap clause written later would have
+ * rejected the element. A plan occasionally samples an evaluation, recording how long each clause it ran took and
+ * whether it decided the result, and re-orders the clauses so that the cheapest, most decisive ones run first.
+ * Sampled evaluations short-circuit like the others, and then also time one of the clauses they did not reach, in
+ * turn, so that a cheap clause behind an expensive but decisive one is ranked too and can overtake it.
+ * <p>
+ * Clauses must be side-effect free and must not guard each other: any clause may run first, so a clause cannot
+ * rely on an earlier clause having rejected the elements it would fail on (e.g. {@code isInterface} before a
+ * clause which casts to an interface). Combine such clauses with {@code and} into one clause instead.
+ * The description is built from the clauses in source order, so reports do not change.
+ */
+@NullMarked
+public final class PredicatePlan {
+    /**
+     * one in this many evaluations is sampled
+     */
+    static final int SAMPLE_RATE = 64;
+    /**
+     * clauses are re-ordered every this many samples
+     */
+    static final int REORDER_INTERVAL = 32;
+
+    private PredicatePlan() {
+    }
+
+    /**
+     * matches if all clauses match; nested {@code allOf} plans are flattened into this one
+     */
+    @SafeVarargs
+    public static <T> DescribedPredicate<T> allOf(DescribedPredicate<? super T>... clauses) {
+        return new Plan<>(true, Arrays.asList(clauses));
+    }
+
+    /**
+     * matches if any clause matches; nested {@code anyOf} plans are flattened into this one
+     */
+    @SafeVarargs
+    public static <T> DescribedPredicate<T> anyOf(DescribedPredicate<? super T>... clauses) {
+        return new Plan<>(false, Arrays.asList(clauses));
+    }
+
+    static final class Plan<T> extends DescribedPredicate<T> {
+        private final boolean conjunction;
+        private final AtomicInteger samples = new AtomicInteger();
+        private final AtomicInteger probes = new AtomicInteger();
+        private volatile Clause[] order;
+
+        Plan(boolean conjunction, List<? extends DescribedPredicate<?>> clauses) {
+            super("%s", describe(conjunction, clauses));
+            this.conjunction = conjunction;
+            List<Clause> flattened = new ArrayList<>();
+            for (DescribedPredicate<?> clause : clauses) {
+                if (clause instanceof Plan && ((Plan<?>) clause).conjunction == conjunction) {
+                    flattened.addAll(Arrays.asList(((Plan<?>) clause).order));
+                } else {
+                    flattened.add(new Clause(clause));
+                }
+            }
+            this.order = flattened.toArray(new Clause[0]);
+        }
+
+        @Override
+        public boolean test(T input) {
+            Clause[] clauses = order;
+            if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0) {
+                return sample(clauses, input);
+            }
+            for (Clause clause : clauses) {
+                if (clause.predicate.test(input) != conjunction) {
+                    return !conjunction;
+                }
+            }
+            return conjunction;
+        }
+
+        /**
+         * evaluates the clauses in order until one decides, timing each clause which ran, and then times one of the
+         * clauses which were not reached, without using its result
+         */
+        private boolean sample(Clause[] clauses, T input) {
+            boolean result = conjunction;
+            int reached = clauses.length;
+            for (int i = 0; i < clauses.length; i++) {
+                if (time(clauses[i], input)) {
+                    result = !conjunction;
+                    reached = i + 1;
+                    break;
+                }
+            }
+            if (reached < clauses.length) {
+                time(clauses[reached + Math.floorMod(probes.getAndIncrement(), clauses.length - reached)], input);
+            }
+            if (samples.incrementAndGet() % REORDER_INTERVAL == 0) {
+                reorder();
+            }
+            return result;
+        }
+
+        /**
+         * @return whether the clause decided the result
+         */
+        private boolean time(Clause clause, T input) {
+            long start = System.nanoTime();
+            boolean decided = clause.predicate.test(input) != conjunction;
+            clause.record(System.nanoTime() - start, decided);
+            return decided;
+        }
+
+        private synchronized void reorder() {
+            Clause[] current = order;
+            // ranks are snapshotted since other threads keep recording while sorting
+            Map<Clause, Double> ranks = new IdentityHashMap<>();
+            double previous = 0;
+            for (Clause clause : current) {
+                double rank = clause.hasSamples() ? clause.rank() : previous;
+                ranks.put(clause, rank);
+                previous = rank;
+            }
+            Clause[] reordered = current.clone();
+            // stable, so clauses without a clear difference keep their current order
+            Arrays.sort(reordered, Comparator.comparingDouble(ranks::get));
+            order = reordered;
+        }
+
+        List<String> evaluationOrder() {
+            return Arrays.stream(order).map(it -> it.predicate.getDescription()).collect(Collectors.toList());
+        }
+
+        private static String describe(boolean conjunction, List<? extends DescribedPredicate<?>> clauses) {
+            return clauses.stream()
+                    .map(DescribedPredicate::getDescription)
+                    .collect(Collectors.joining(conjunction ? " and " : " or "));
+        }
+    }
+
+    private static final class Clause {
+        private final DescribedPredicate<Object> predicate;
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder decisive = new LongAdder();
+
+        @SuppressWarnings("unchecked")
+        Clause(DescribedPredicate<?> predicate) {
+            this.predicate = PredicateProfiler.profiled((DescribedPredicate<Object>) predicate);
+        }
+
+        void record(long elapsed, boolean decided) {
+            samples.increment();
+            nanos.add(elapsed);
+            if (decided) {
+                decisive.increment();
+            }
+        }
+
+        boolean hasSamples() {
+            return samples.sum() > 0;
+        }
+
+        /**
+         * expected cost of reaching a decision through this clause: the average cost divided by the
+         * (smoothed) probability that it short-circuits the chain when it runs
+         */
+        double rank() {
+            long n = samples.sum();
+            double averageCost = (nanos.sum() + 1.0) / (n + 1.0);
+            double decisiveness = (decisive.sum() + 1.0) / (n + 2.0);
+            return averageCost / decisiveness;
+        }
+    }
+}
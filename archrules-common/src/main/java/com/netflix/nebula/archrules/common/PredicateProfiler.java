@@ -0,0 +1,227 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in profiler for finding the expensive parts of a rule's predicates and conditions.
+ * <p>
+ * Enabled with the system property {@code nebula.archrules.profile=true}; otherwise {@link #profiled} returns its
+ * argument unchanged, so there is no overhead. When enabled, every profiled node counts its invocations and how
+ * often it was true, and sums its nanoseconds. A node invoked while another profiled node is running is recorded
+ * as its child, so {@link #report()} prints a tree ranked by time, using the nodes' descriptions.
+ * <p>
+ * {@link Memoized}, {@link PredicatePlan} clauses and {@code annotatedWithAny} are profiled automatically;
+ * other predicates and conditions can be wrapped where they are defined.
+ */
+@NullMarked
+public final class PredicateProfiler {
+    private static final boolean ENABLED = Boolean.getBoolean("nebula.archrules.profile");
+    private static final List<Node> NODES = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<Deque<Node>> RUNNING = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private PredicateProfiler() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * the predicate, profiled if the profiler is enabled
+     */
+    public static <T> DescribedPredicate<T> profiled(DescribedPredicate<T> predicate) {
+        return ENABLED ? profile(predicate) : predicate;
+    }
+
+    /**
+     * the condition, profiled if the profiler is enabled; only {@code check} is timed
+     */
+    public static <T> ArchCondition<T> profiled(ArchCondition<T> condition) {
+        return ENABLED ? profile(condition) : condition;
+    }
+
+    static <T> DescribedPredicate<T> profile(DescribedPredicate<T> predicate) {
+        if (predicate instanceof ProfiledPredicate) {
+            return predicate;
+        }
+        return new ProfiledPredicate<>(predicate, node(predicate.getDescription()));
+    }
+
+    /**
+     * the predicate a profiled predicate wraps, or the predicate itself
+     */
+    static DescribedPredicate<?> unwrap(DescribedPredicate<?> predicate) {
+        return predicate instanceof ProfiledPredicate ? ((ProfiledPredicate<?>) predicate).delegate : predicate;
+    }
+
+    static <T> ArchCondition<T> profile(ArchCondition<T> condition) {
+        if (condition instanceof ProfiledCondition) {
+            return condition;
+        }
+        return new ProfiledCondition<>(condition, node(condition.getDescription()));
+    }
+
+    /**
+     * the profiled nodes as a tree, each level ranked by total time
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("predicate profile (total ms, self ms, invocations, true %)\n");
+        List<Node> roots = new ArrayList<>();
+        for (Node node : NODES) {
+            if (!node.hasParent) {
+                roots.add(node);
+            }
+        }
+        append(report, roots, 1, new ArrayDeque<>());
+        return report.toString();
+    }
+
+    /**
+     * clears all counts, e.g. between runs
+     */
+    public static void reset() {
+        for (Node node : NODES) {
+            node.invocations.reset();
+            node.matches.reset();
+            node.nanos.reset();
+        }
+    }
+
+    private static Node node(String description) {
+        Node node = new Node(description);
+        NODES.add(node);
+        return node;
+    }
+
+    private static void append(StringBuilder report, Collection<Node> nodes, int depth, Deque<Node> path) {
+        List<Node> ranked = new ArrayList<>(nodes);
+        ranked.sort(Comparator.comparingLong((Node it) -> it.nanos.sum()).reversed());
+        for (Node node : ranked) {
+            if (path.contains(node) || node.invocations.sum() == 0) {
+                continue;
+            }
+            long total = node.nanos.sum();
+            long self = total;
+            for (Node child : node.children.keySet()) {
+                self -= child.nanos.sum();
+            }
+            long invocations = node.invocations.sum();
+            for (int i = 0; i < depth; i++) {
+                report.append("  ");
+            }
+            report.append(String.format(Locale.ROOT, "%.3f ms, %.3f ms, %d, %s %s%n",
+                    total / 1e6, Math.max(self, 0) / 1e6, invocations,
+                    node.counted ? String.format(Locale.ROOT, "%.1f%%", 100.0 * node.matches.sum() / invocations) : "-",
+                    node.description));
+            path.push(node);
+            append(report, node.children.keySet(), depth + 1, path);
+            path.pop();
+        }
+    }
+
+    private static final class Node {
+        private final String description;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder matches = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final Map<Node, Boolean> children = new ConcurrentHashMap<>();
+        private volatile boolean hasParent;
+        private volatile boolean counted;
+
+        Node(String description) {
+            this.description = description;
+        }
+
+        /**
+         * marks the node as running and returns the start time
+         */
+        long enter() {
+            Deque<Node> running = RUNNING.get();
+            Node parent = running.peek();
+            if (parent != null && parent != this && parent.children.putIfAbsent(this, Boolean.TRUE) == null) {
+                hasParent = true;
+            }
+            running.push(this);
+            return System.nanoTime();
+        }
+
+        void exit(long start) {
+            nanos.add(System.nanoTime() - start);
+            invocations.increment();
+            RUNNING.get().pop();
+        }
+    }
+
+    private static final class ProfiledPredicate<T> extends DescribedPredicate<T> {
+        private final DescribedPredicate<T> delegate;
+        private final Node node;
+
+        ProfiledPredicate(DescribedPredicate<T> delegate, Node node) {
+            super("%s", delegate.getDescription());
+            this.delegate = delegate;
+            this.node = node;
+            node.counted = true;
+        }
+
+        @Override
+        public boolean test(T input) {
+            long start = node.enter();
+            boolean result = false;
+            try {
+                result = delegate.test(input);
+                return result;
+            } finally {
+                if (result) {
+                    node.matches.increment();
+                }
+                node.exit(start);
+            }
+        }
+    }
+
+    private static final class ProfiledCondition<T> extends ArchCondition<T> {
+        private final ArchCondition<T> delegate;
+        private final Node node;
+
+        ProfiledCondition(ArchCondition<T> delegate, Node node) {
+            super("%s", delegate.getDescription());
+            this.delegate = delegate;
+            this.node = node;
+        }
+
+        @Override
+        public void init(Collection<T> allObjectsToTest) {
+            delegate.init(allObjectsToTest);
+        }
+
+        @Override
+        public void check(T item, ConditionEvents events) {
+            long start = node.enter();
+            try {
+                delegate.check(item, events);
+            } finally {
+                node.exit(start);
+            }
+        }
+
+        @Override
+        public void finish(ConditionEvents events) {
+            delegate.finish(events);
+        }
+    }
+}
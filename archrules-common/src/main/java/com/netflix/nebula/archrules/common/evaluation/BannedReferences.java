@@ -0,0 +1,171 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.netflix.nebula.archrules.common.importer.ReferenceIndex;
+import com.netflix.nebula.archrules.common.importer.RuleScope;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * The references which violate a rule of the form "no classes should depend on or call X", so that a
+ * {@link FusedReferenceEvaluator} can evaluate many such rules in one pass over the dependencies.
+ * <p>
+ * References are types, given by fully qualified name, packages (including their subpackages), optionally with
+ * subpackages excluded, and members, given by owner and name. A rule's references have to cover every violation
+ * of the rule: a class which references none of them must not be able to violate it. The rule's own
+ * {@code that()} clause still applies.
+ * <p>
+ * The references are the one declaration of what a rule bans: the {@link RuleScope scope} of a banned rule and its
+ * {@link #prefilter(DescribedPredicate) prefilters} are derived from them.
+ */
+@NullMarked
+public final class BannedReferences {
+    private static final Map<ArchRule, BannedReferences> BANNED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Set<String> types;
+    private final Set<String> packages;
+    private final Set<String> excludedPackages;
+    private final Set<String> members;
+
+    private BannedReferences(
+            Set<String> types,
+            Set<String> packages,
+            Set<String> excludedPackages,
+            Set<String> members
+    ) {
+        this.types = Collections.unmodifiableSet(types);
+        this.packages = Collections.unmodifiableSet(packages);
+        this.excludedPackages = Collections.unmodifiableSet(excludedPackages);
+        this.members = Collections.unmodifiableSet(members);
+    }
+
+    public static BannedReferences types(String... typeNames) {
+        return new BannedReferences(set(typeNames), Collections.emptySet(), Collections.emptySet(),
+                Collections.emptySet());
+    }
+
+    /**
+     * everything in the packages and their subpackages, like {@code resideInAPackage("javax..")}
+     */
+    public static BannedReferences packages(String... packageNames) {
+        return new BannedReferences(Collections.emptySet(), set(packageNames), Collections.emptySet(),
+                Collections.emptySet());
+    }
+
+    /**
+     * calls and accesses of the member of the owner, given by fully qualified name, e.g. a method of any signature
+     */
+    public static BannedReferences member(String ownerName, String memberName) {
+        return new BannedReferences(Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+                Collections.singleton(ownerName + '#' + memberName));
+    }
+
+    /**
+     * these references except for those in the packages and their subpackages,
+     * e.g. {@code packages("org.junit").excluding("org.junit.jupiter")}
+     */
+    public BannedReferences excluding(String... packageNames) {
+        Set<String> excluded = new LinkedHashSet<>(excludedPackages);
+        excluded.addAll(Arrays.asList(packageNames));
+        return new BannedReferences(types, packages, excluded, members);
+    }
+
+    /**
+     * these references and the other's; exclusions of either apply to the packages of both
+     */
+    public BannedReferences and(BannedReferences other) {
+        return new BannedReferences(union(types, other.types), union(packages, other.packages),
+                union(excludedPackages, other.excludedPackages), union(members, other.members));
+    }
+
+    /**
+     * marks the rule with the references which violate it, and with their {@link #scope()}; call this on the final
+     * rule, since {@code because} and similar methods return new rules
+     */
+    public static ArchRule banned(ArchRule rule, BannedReferences references) {
+        BANNED.put(rule, references);
+        return RuleScope.scoped(rule, references.scope());
+    }
+
+    /**
+     * the classes which reference any of these types, packages or members
+     */
+    public RuleScope scope() {
+        RuleScope scope = RuleScope.referencingTypes(types.toArray(new String[0]))
+                .or(RuleScope.referencing(packages.toArray(new String[0])));
+        for (String member : members) {
+            int separator = member.indexOf('#');
+            scope = scope.or(RuleScope.accessing(member.substring(0, separator), member.substring(separator + 1)));
+        }
+        return scope;
+    }
+
+    /**
+     * the predicate, {@link ReferenceIndex#prefiltered(DescribedPredicate, String...) prefiltered} by these types and
+     * members; packages cannot be looked up in the index, so with banned packages the predicate is not prefiltered
+     */
+    public DescribedPredicate<JavaClass> prefilter(DescribedPredicate<? super JavaClass> predicate) {
+        return packages.isEmpty()
+                ? ReferenceIndex.prefiltered(predicate, names())
+                : predicate.<JavaClass>forSubtype();
+    }
+
+    /**
+     * the condition, {@link ReferenceIndex#prefiltered(ArchCondition, String...) prefiltered} by these types and
+     * members; with banned packages the condition is not prefiltered
+     */
+    public ArchCondition<JavaClass> prefilter(ArchCondition<JavaClass> condition) {
+        return packages.isEmpty() ? ReferenceIndex.prefiltered(condition, names()) : condition;
+    }
+
+    /**
+     * the references the rule was marked with, or null
+     */
+    static @Nullable BannedReferences of(ArchRule rule) {
+        return BANNED.get(rule);
+    }
+
+    Set<String> getTypes() {
+        return types;
+    }
+
+    Set<String> getPackages() {
+        return packages;
+    }
+
+    Set<String> getExcludedPackages() {
+        return excludedPackages;
+    }
+
+    Set<String> getMembers() {
+        return members;
+    }
+
+    private String[] names() {
+        List<String> names = new ArrayList<>(types);
+        names.addAll(members);
+        return names.toArray(new String[0]);
+    }
+
+    private static Set<String> set(String... values) {
+        return new LinkedHashSet<>(Arrays.asList(values));
+    }
+
+    private static Set<String> union(Set<String> first, Set<String> second) {
+        Set<String> union = new LinkedHashSet<>(first);
+        union.addAll(second);
+        return union;
+    }
+}
@@ -0,0 +1,141 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.ViolationHandler;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates rules only until they have a given number of violations, e.g. for gating checks which only need to
+ * know whether a rule is violated at all.
+ * <p>
+ * {@link PartitionableRules Partitionable rules} are evaluated on chunks of classes which double in size, and the
+ * remaining chunks are skipped once the cap is reached, so a violated rule often stops after a few classes.
+ * Chunks in which a rule checks nothing do not fail it; only a rule which checks nothing in any chunk fails on an
+ * empty should, unless it allows one.
+ * Other rules are evaluated against all classes, but only the capped number of violations is rendered.
+ * Results which were cut short say so in {@link CappedResult#isTruncated()} and their report.
+ */
+@NullMarked
+public final class CappedEvaluator {
+    private static final int FIRST_CHUNK_SIZE = 64;
+    private static final int MAX_CHUNK_SIZE = 4096;
+
+    private final int maxViolations;
+
+    private CappedEvaluator(int maxViolations) {
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * stops each rule at its first violation
+     */
+    public static CappedEvaluator failFast() {
+        return new CappedEvaluator(1);
+    }
+
+    /**
+     * stops each rule once it has {@code maxViolations} violations
+     */
+    public static CappedEvaluator stopAfter(int maxViolations) {
+        if (maxViolations < 1) {
+            throw new IllegalArgumentException("maxViolations must be at least 1");
+        }
+        return new CappedEvaluator(maxViolations);
+    }
+
+    /**
+     * evaluates the rules, keyed like {@code ArchRulesService.getRules()}, in key order
+     */
+    public Map<String, CappedResult> evaluate(Map<String, ArchRule> rules, JavaClasses classes) {
+        List<String> keys = new ArrayList<>(rules.keySet());
+        keys.sort(null);
+        List<JavaClasses> chunks = null;
+        Map<String, CappedResult> results = new LinkedHashMap<>();
+        for (String key : keys) {
+            ArchRule rule = rules.get(key);
+            CappedResult capped = null;
+            if (classes.size() > FIRST_CHUNK_SIZE && PartitionableRules.isPartitionable(rule)) {
+                if (chunks == null) {
+                    chunks = Partitions.ofGrowingSize(classes, FIRST_CHUNK_SIZE, MAX_CHUNK_SIZE);
+                }
+                capped = evaluateChunks(rule, chunks);
+            }
+            if (capped == null) {
+                EvaluationResult result = rule.evaluate(classes);
+                List<String> violations = new ArrayList<>();
+                boolean truncated = collect(result, violations);
+                capped = new CappedResult(result.getPriority(), violations, truncated, 0);
+            }
+            results.put(key, capped);
+        }
+        return results;
+    }
+
+    /**
+     * the result of the chunks up to the cap, or null if the rule checked nothing in any chunk; such a rule is
+     * evaluated against all classes, so that it fails on an empty should like it would unpartitioned
+     */
+    private @Nullable CappedResult evaluateChunks(ArchRule rule, List<JavaClasses> chunks) {
+        List<String> violations = new ArrayList<>();
+        Priority priority = null;
+        for (int i = 0; i < chunks.size(); i++) {
+            EvaluationResult result = Partitions.evaluate(rule, chunks.get(i));
+            if (result == null) {
+                continue;
+            }
+            priority = result.getPriority();
+            boolean truncated = collect(result, violations);
+            if (truncated || violations.size() == maxViolations) {
+                int skippedClasses = 0;
+                for (int j = i + 1; j < chunks.size(); j++) {
+                    skippedClasses += chunks.get(j).size();
+                }
+                return new CappedResult(priority, violations, truncated || skippedClasses > 0, skippedClasses);
+            }
+        }
+        return priority == null ? null : new CappedResult(priority, violations, false, 0);
+    }
+
+    /**
+     * adds the result's violations until the cap is reached; at most one violation beyond the cap is rendered
+     *
+     * @return whether there were violations beyond the cap
+     */
+    private boolean collect(EvaluationResult result, List<String> violations) {
+        try {
+            result.handleViolations(new ViolationHandler<Object>() {
+                @Override
+                public void handle(Collection<Object> violatingObjects, String message) {
+                    if (violations.size() == maxViolations) {
+                        throw CapReached.INSTANCE;
+                    }
+                    violations.add(message);
+                }
+            });
+            return false;
+        } catch (CapReached e) {
+            return true;
+        }
+    }
+
+    /**
+     * stops iterating a result's violations once the cap is reached
+     */
+    private static final class CapReached extends RuntimeException {
+        private static final CapReached INSTANCE = new CapReached();
+
+        private CapReached() {
+            super(null, null, false, false);
+        }
+    }
+}
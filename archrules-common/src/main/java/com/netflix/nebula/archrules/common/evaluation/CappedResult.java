@@ -0,0 +1,75 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.lang.Priority;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of a rule evaluated by a {@link CappedEvaluator}: at most the capped number of violations, and
+ * whether the evaluation stopped early.
+ */
+@NullMarked
+public final class CappedResult {
+    private final Priority priority;
+    private final List<String> violations;
+    private final boolean truncated;
+    private final int skippedClasses;
+
+    CappedResult(Priority priority, List<String> violations, boolean truncated, int skippedClasses) {
+        this.priority = priority;
+        this.violations = Collections.unmodifiableList(violations);
+        this.truncated = truncated;
+        this.skippedClasses = skippedClasses;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * the violation messages, up to the cap
+     */
+    public List<String> getViolations() {
+        return violations;
+    }
+
+    public boolean hasViolation() {
+        return !violations.isEmpty();
+    }
+
+    /**
+     * whether the rule had more violations than reported, or classes were not evaluated
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * how many classes were not evaluated because the cap was reached
+     */
+    public int getSkippedClasses() {
+        return skippedClasses;
+    }
+
+    /**
+     * the violations, one per line, followed by a note if the evaluation was truncated
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        for (String violation : violations) {
+            report.append(violation).append(System.lineSeparator());
+        }
+        if (truncated) {
+            report.append("evaluation stopped after ").append(violations.size())
+                    .append(violations.size() == 1 ? " violation" : " violations");
+            if (skippedClasses > 0) {
+                report.append(", ").append(skippedClasses)
+                        .append(skippedClasses == 1 ? " class was" : " classes were").append(" not evaluated");
+            }
+            report.append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+}
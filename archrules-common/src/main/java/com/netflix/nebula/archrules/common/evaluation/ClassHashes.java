@@ -0,0 +1,84 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.Source;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hashes of the bytecode classes were imported from.
+ */
+@NullMarked
+final class ClassHashes {
+    /**
+     * the hash of classes whose bytecode cannot be read; never equal to a previous hash
+     */
+    static final String UNKNOWN = "";
+
+    private ClassHashes() {
+    }
+
+    /**
+     * the SHA-256 of the class file, as hex, or {@link #UNKNOWN}
+     */
+    static String of(JavaClass javaClass) {
+        Optional<Source> source = javaClass.getSource();
+        if (!source.isPresent()) {
+            return UNKNOWN;
+        }
+        try (InputStream in = source.get().getUri().toURL().openStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return hex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * the hash of the class file combined with the names of all its supertypes, or {@link #UNKNOWN};
+     * changes if the class or its place in the hierarchy changes
+     */
+    static String withSupertypes(JavaClass javaClass) {
+        String hash = of(javaClass);
+        if (hash.equals(UNKNOWN)) {
+            return UNKNOWN;
+        }
+        List<String> supertypes = new ArrayList<>();
+        javaClass.getAllRawSuperclasses().forEach(it -> supertypes.add(it.getName()));
+        javaClass.getAllRawInterfaces().forEach(it -> supertypes.add(it.getName()));
+        Collections.sort(supertypes);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(hash.getBytes(StandardCharsets.UTF_8));
+            for (String supertype : supertypes) {
+                digest.update((byte) 0);
+                digest.update(supertype.getBytes(StandardCharsets.UTF_8));
+            }
+            return hex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            return UNKNOWN;
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.lang.ArchRule;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Marks rules whose outcome for a class depends only on that class's own bytecode and its supertypes,
+ * e.g. rules on the fields or method signatures of a class. Such rules can reuse their per-class results
+ * from a {@link RuleResultCache}.
+ */
+@NullMarked
+public final class ClassLocalRules {
+    private static final Set<ArchRule> CLASS_LOCAL = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private ClassLocalRules() {
+    }
+
+    /**
+     * marks the rule as class-local; call this on the final rule, since {@code because} and similar methods
+     * return new rules
+     */
+    public static ArchRule classLocal(ArchRule rule) {
+        CLASS_LOCAL.add(rule);
+        return rule;
+    }
+
+    public static boolean isClassLocal(ArchRule rule) {
+        return CLASS_LOCAL.contains(rule);
+    }
+}
@@ -0,0 +1,189 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates all rules {@link BannedReferences#banned(ArchRule, BannedReferences) marked with banned references}
+ * with a single walk over each class's dependencies, instead of one walk per rule.
+ * <p>
+ * The banned types of all rules are compiled into one hash map, their packages into one package trie and their
+ * members into another hash map, each pointing at the rules they belong to. Each class's dependencies and accesses
+ * are looked up once, and each rule is then evaluated against only the classes which hit one of its references,
+ * which are usually none. Reports are the same as evaluating the rules against all classes, since ArchUnit
+ * produces them. Rules without banned references are evaluated as usual.
+ * <p>
+ * A rule which checks none of the classes hitting its references, and does not allow an empty {@code should}, is
+ * evaluated against all classes, so that it fails only if its {@code that()} clause selects nothing at all.
+ */
+@NullMarked
+public final class FusedReferenceEvaluator {
+    /**
+     * evaluates the rules, keyed like {@code ArchRulesService.getRules()}, in key order
+     */
+    public Map<String, EvaluationResult> evaluate(Map<String, ArchRule> rules, JavaClasses classes) {
+        List<String> keys = new ArrayList<>(rules.keySet());
+        keys.sort(null);
+        List<String> fused = new ArrayList<>();
+        List<BannedReferences> references = new ArrayList<>();
+        for (String key : keys) {
+            BannedReferences banned = BannedReferences.of(rules.get(key));
+            if (banned != null) {
+                fused.add(key);
+                references.add(banned);
+            }
+        }
+        List<Set<JavaClass>> candidates = new ArrayList<>();
+        for (int i = 0; i < fused.size(); i++) {
+            candidates.add(Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+        if (!fused.isEmpty()) {
+            Index index = new Index(references);
+            for (JavaClass javaClass : classes) {
+                BitSet hits = index.hits(javaClass);
+                for (int rule = hits.nextSetBit(0); rule >= 0; rule = hits.nextSetBit(rule + 1)) {
+                    candidates.get(rule).add(javaClass);
+                }
+            }
+        }
+
+        // rules hitting the same classes, usually none, share one view of the import
+        Map<Set<JavaClass>, JavaClasses> views = new HashMap<>();
+        Map<String, EvaluationResult> results = new LinkedHashMap<>();
+        for (String key : keys) {
+            ArchRule rule = rules.get(key);
+            int fusedIndex = fused.indexOf(key);
+            if (fusedIndex < 0) {
+                results.put(key, rule.evaluate(classes));
+            } else {
+                JavaClasses view = views.computeIfAbsent(candidates.get(fusedIndex), hit -> classes.that(
+                        DescribedPredicate.describe("referencing banned names", hit::contains)));
+                EvaluationResult result = Partitions.evaluate(rule, view);
+                results.put(key, result != null ? result : rule.evaluate(classes));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * the banned references of all rules, pointing at the indexes of the rules they belong to
+     */
+    private static final class Index {
+        private final Map<String, BitSet> types = new HashMap<>();
+        private final Map<String, BitSet> members = new HashMap<>();
+        private final PackageNode packages = new PackageNode();
+        /**
+         * the rules each dependency target hits; targets are shared between classes, so each is looked up once
+         */
+        private final Map<JavaClass, BitSet> targetHits = new IdentityHashMap<>();
+
+        Index(List<BannedReferences> references) {
+            for (int rule = 0; rule < references.size(); rule++) {
+                BannedReferences banned = references.get(rule);
+                for (String type : banned.getTypes()) {
+                    types.computeIfAbsent(type, it -> new BitSet()).set(rule);
+                }
+                for (String member : banned.getMembers()) {
+                    members.computeIfAbsent(member, it -> new BitSet()).set(rule);
+                }
+                for (String packageName : banned.getPackages()) {
+                    packages.node(packageName).included.set(rule);
+                }
+                for (String packageName : banned.getExcludedPackages()) {
+                    packages.node(packageName).excluded.set(rule);
+                }
+            }
+        }
+
+        BitSet hits(JavaClass javaClass) {
+            BitSet hits = new BitSet();
+            for (Dependency dependency : javaClass.getDirectDependenciesFromSelf()) {
+                hits.or(targetHits.computeIfAbsent(dependency.getTargetClass(), this::lookUp));
+            }
+            if (!members.isEmpty()) {
+                for (JavaAccess<?> access : javaClass.getAccessesFromSelf()) {
+                    BitSet memberHits = members.get(access.getTargetOwner().getName() + '#' + access.getName());
+                    if (memberHits != null) {
+                        hits.or(memberHits);
+                    }
+                }
+            }
+            return hits;
+        }
+
+        private BitSet lookUp(JavaClass target) {
+            BitSet hits = lookUp(target.getName(), target.getPackageName());
+            if (target.isArray()) {
+                JavaClass component = target.getBaseComponentType();
+                hits.or(lookUp(component.getName(), component.getPackageName()));
+            }
+            return hits;
+        }
+
+        private BitSet lookUp(String typeName, String packageName) {
+            BitSet hits = packages.lookUp(packageName);
+            BitSet typeHits = types.get(typeName);
+            if (typeHits != null) {
+                hits.or(typeHits);
+            }
+            return hits;
+        }
+    }
+
+    /**
+     * a trie of package name segments; a rule included at a package applies to all its subpackages, unless it is
+     * excluded at a subpackage
+     */
+    private static final class PackageNode {
+        private final Map<String, PackageNode> children = new HashMap<>();
+        private final BitSet included = new BitSet();
+        private final BitSet excluded = new BitSet();
+
+        PackageNode node(String packageName) {
+            PackageNode node = this;
+            for (String segment : packageName.split("\\.")) {
+                node = node.children.computeIfAbsent(segment, it -> new PackageNode());
+            }
+            return node;
+        }
+
+        BitSet lookUp(String packageName) {
+            BitSet hits = new BitSet();
+            if (packageName.isEmpty() || children.isEmpty()) {
+                return hits;
+            }
+            PackageNode node = this;
+            int start = 0;
+            while (start <= packageName.length()) {
+                int end = packageName.indexOf('.', start);
+                if (end < 0) {
+                    end = packageName.length();
+                }
+                node = node.children.get(packageName.substring(start, end));
+                if (node == null) {
+                    break;
+                }
+                hits.or(node.included);
+                hits.andNot(node.excluded);
+                start = end + 1;
+            }
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Evaluates rules against only the classes which changed since the previous run, and the classes around them.
+ * <p>
+ * The state file records, for every imported class, the hash of its bytecode and its dependencies on other
+ * imported classes, and for every rule its violations grouped by class. On the next run, a class is affected if
+ * it changed, was added or removed, or is within {@link #withDependencyDepth(int) a number of dependency hops}
+ * (in either direction, in the previous or the current graph) of such a class. This covers rules which look at
+ * neighbouring classes, e.g. accessors of a newly deprecated member, or extensions referenced from a changed
+ * plugin. Rules are evaluated against the affected classes only, and unaffected classes keep their stored
+ * violations.
+ * <p>
+ * A rule is evaluated in full if it is new, its description changed, or a previous violation could not be
+ * attributed to a single class. Rules which inspect the import as a whole (e.g. cycle checks) are not suitable.
+ */
+@NullMarked
+public final class IncrementalEvaluator {
+    private static final int FORMAT_VERSION = 2;
+
+    private final Path stateFile;
+    private final int dependencyDepth;
+
+    public IncrementalEvaluator(Path stateFile) {
+        this(stateFile, 2);
+    }
+
+    private IncrementalEvaluator(Path stateFile, int dependencyDepth) {
+        this.stateFile = stateFile;
+        this.dependencyDepth = dependencyDepth;
+    }
+
+    /**
+     * how many dependency hops away from a changed class a class is still re-evaluated; defaults to 2
+     */
+    public IncrementalEvaluator withDependencyDepth(int dependencyDepth) {
+        if (dependencyDepth < 0) {
+            throw new IllegalArgumentException("dependencyDepth must not be negative");
+        }
+        return new IncrementalEvaluator(stateFile, dependencyDepth);
+    }
+
+    /**
+     * evaluates the rules, keyed like {@code ArchRulesService.getRules()}, and updates the state file
+     */
+    public Map<String, EvaluationResult> evaluate(Map<String, ArchRule> rules, JavaClasses classes) {
+        State previous = State.read(stateFile);
+        State current = new State();
+        for (JavaClass javaClass : classes) {
+            current.hashes.put(javaClass.getName(), ClassHashes.of(javaClass));
+            Set<String> dependencies = new HashSet<>();
+            for (Dependency dependency : javaClass.getDirectDependenciesFromSelf()) {
+                String target = dependency.getTargetClass().getName();
+                if (!target.equals(javaClass.getName()) && classes.contain(target)) {
+                    dependencies.add(target);
+                }
+            }
+            current.dependencies.put(javaClass.getName(), dependencies);
+        }
+        Set<String> affected = affected(previous, current);
+        DescribedPredicate<JavaClass> isAffected =
+                DescribedPredicate.describe("affected", it -> affected.contains(it.getName()));
+
+        Map<String, EvaluationResult> results = new LinkedHashMap<>();
+        rules.forEach((key, rule) -> {
+            RuleState previousRule = previous.rules.get(key);
+            EvaluationResult result;
+            Map<String, List<String>> violations;
+            if (previousRule == null
+                    || !previousRule.description.equals(rule.getDescription())
+                    || previousRule.violations.containsKey(Violations.UNATTRIBUTED)) {
+                result = rule.evaluate(classes);
+                violations = Violations.byClass(result);
+            } else {
+                violations = new LinkedHashMap<>(previousRule.violations);
+                violations.keySet().removeAll(affected);
+                result = Violations.restore(rule, previousRule.priority, classes, violations);
+                if (!affected.isEmpty()) {
+                    EvaluationResult partial = rule.allowEmptyShould(true).evaluate(classes.that(isAffected));
+                    Violations.byClass(partial).forEach((className, messages) ->
+                            violations.computeIfAbsent(className, it -> new ArrayList<>()).addAll(messages));
+                    result.add(partial);
+                }
+            }
+            current.rules.put(key, new RuleState(rule.getDescription(), result.getPriority(), violations));
+            results.put(key, result);
+        });
+        current.write(stateFile);
+        return results;
+    }
+
+    private Set<String> affected(State previous, State current) {
+        Set<String> changed = new HashSet<>();
+        current.hashes.forEach((name, hash) -> {
+            if (hash.equals(ClassHashes.UNKNOWN) || !hash.equals(previous.hashes.get(name))) {
+                changed.add(name);
+            }
+        });
+        for (String name : previous.hashes.keySet()) {
+            if (!current.hashes.containsKey(name)) {
+                changed.add(name);
+            }
+        }
+        if (changed.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Map<String, Set<String>> neighbours = new HashMap<>();
+        for (State state : new State[]{previous, current}) {
+            state.dependencies.forEach((origin, targets) -> {
+                for (String target : targets) {
+                    neighbours.computeIfAbsent(origin, it -> new HashSet<>()).add(target);
+                    neighbours.computeIfAbsent(target, it -> new HashSet<>()).add(origin);
+                }
+            });
+        }
+        Set<String> affected = new HashSet<>(changed);
+        Queue<String> frontier = new ArrayDeque<>(changed);
+        for (int hop = 0; hop < dependencyDepth && !frontier.isEmpty(); hop++) {
+            Queue<String> next = new ArrayDeque<>();
+            for (String name : frontier) {
+                for (String neighbour : neighbours.getOrDefault(name, Collections.emptySet())) {
+                    if (affected.add(neighbour)) {
+                        next.add(neighbour);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return affected;
+    }
+
+    private static final class RuleState {
+        private final String description;
+        private final Priority priority;
+        private final Map<String, List<String>> violations;
+
+        RuleState(String description, Priority priority, Map<String, List<String>> violations) {
+            this.description = description;
+            this.priority = priority;
+            this.violations = violations;
+        }
+    }
+
+    private static final class State {
+        private final Map<String, String> hashes = new HashMap<>();
+        private final Map<String, Set<String>> dependencies = new HashMap<>();
+        private final Map<String, RuleState> rules = new HashMap<>();
+
+        /**
+         * reads the state, or returns an empty state if there is none or it cannot be read
+         */
+        static State read(Path file) {
+            State state = new State();
+            if (!Files.isRegularFile(file)) {
+                return state;
+            }
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                if (in.readInt() != FORMAT_VERSION) {
+                    return state;
+                }
+                int classCount = in.readInt();
+                for (int i = 0; i < classCount; i++) {
+                    String name = StateStrings.read(in);
+                    state.hashes.put(name, StateStrings.read(in));
+                    int dependencyCount = in.readInt();
+                    Set<String> dependencies = new HashSet<>();
+                    for (int j = 0; j < dependencyCount; j++) {
+                        dependencies.add(StateStrings.read(in));
+                    }
+                    state.dependencies.put(name, dependencies);
+                }
+                int ruleCount = in.readInt();
+                for (int i = 0; i < ruleCount; i++) {
+                    String key = StateStrings.read(in);
+                    String description = StateStrings.read(in);
+                    Priority priority = Priority.valueOf(StateStrings.read(in));
+                    Map<String, List<String>> violations = new LinkedHashMap<>();
+                    int classesWithViolations = in.readInt();
+                    for (int j = 0; j < classesWithViolations; j++) {
+                        String className = StateStrings.read(in);
+                        int messageCount = in.readInt();
+                        List<String> messages = new ArrayList<>(messageCount);
+                        for (int k = 0; k < messageCount; k++) {
+                            messages.add(StateStrings.read(in));
+                        }
+                        violations.put(className, messages);
+                    }
+                    state.rules.put(key, new RuleState(description, priority, violations));
+                }
+                return state;
+            } catch (IOException | IllegalArgumentException e) {
+                // a missing or corrupt state only costs a full evaluation
+                return new State();
+            }
+        }
+
+        void write(Path file) {
+            try {
+                Path directory = file.toAbsolutePath().getParent();
+                Files.createDirectories(directory);
+                Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+                try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeInt(hashes.size());
+                    for (Map.Entry<String, String> entry : hashes.entrySet()) {
+                        StateStrings.write(out, entry.getKey());
+                        StateStrings.write(out, entry.getValue());
+                        Set<String> targets = dependencies.getOrDefault(entry.getKey(), Collections.emptySet());
+                        out.writeInt(targets.size());
+                        for (String target : targets) {
+                            StateStrings.write(out, target);
+                        }
+                    }
+                    out.writeInt(rules.size());
+                    for (Map.Entry<String, RuleState> entry : rules.entrySet()) {
+                        StateStrings.write(out, entry.getKey());
+                        StateStrings.write(out, entry.getValue().description);
+                        StateStrings.write(out, entry.getValue().priority.name());
+                        out.writeInt(entry.getValue().violations.size());
+                        for (Map.Entry<String, List<String>> violation : entry.getValue().violations.entrySet()) {
+                            StateStrings.write(out, violation.getKey());
+                            out.writeInt(violation.getValue().size());
+                            for (String message : violation.getValue()) {
+                                StateStrings.write(out, message);
+                            }
+                        }
+                    }
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
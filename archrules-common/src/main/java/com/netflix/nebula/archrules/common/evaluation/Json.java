@@ -0,0 +1,46 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Minimal JSON writing helpers for the reports of this package.
+ */
+@NullMarked
+final class Json {
+    private Json() {
+    }
+
+    /**
+     * the string as a quoted and escaped JSON string
+     */
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.lang.Priority;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes each violation as one JSON object per line.
+ */
+@NullMarked
+public final class JsonLinesSink implements ViolationSink {
+    private final BufferedWriter out;
+
+    public JsonLinesSink(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void violation(
+            String ruleKey,
+            String description,
+            Priority priority,
+            String className,
+            String message
+    ) {
+        try {
+            out.write("{\"rule\": " + Json.quote(ruleKey)
+                    + ", \"description\": " + Json.quote(description)
+                    + ", \"priority\": " + Json.quote(priority.name())
+                    + ", \"class\": " + Json.quote(className)
+                    + ", \"message\": " + Json.quote(message) + "}\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
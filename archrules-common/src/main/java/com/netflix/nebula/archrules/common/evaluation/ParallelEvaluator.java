@@ -0,0 +1,100 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Evaluates independent rules concurrently against one shared import.
+ * <p>
+ * By default, each rule is evaluated on a single thread, so its result is the same as when evaluated alone.
+ * With {@link #withPartitionsPerRule(int)}, {@link PartitionableRules partitionable rules} are additionally split
+ * into contiguous chunks of classes which are evaluated concurrently, so that one expensive rule can use several
+ * cores. Their results are merged in chunk order, which keeps the order of violations. A partitionable rule which
+ * does not allow an empty should still fails if none of the classes match its {@code that()} clause, but not if only
+ * some chunks have none. Other rules are never split.
+ * <p>
+ * Results are returned in the order of the rule keys, regardless of which rule finishes first.
+ * The shipped predicates and conditions are stateless or use thread-safe caches
+ * (see {@link com.netflix.nebula.archrules.common.Memoized}), so the rules of this repository can be evaluated
+ * concurrently.
+ */
+@NullMarked
+public final class ParallelEvaluator {
+    private final ForkJoinPool pool;
+    private final int partitionsPerRule;
+
+    /**
+     * evaluates on the common fork-join pool
+     */
+    public ParallelEvaluator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelEvaluator(ForkJoinPool pool) {
+        this(pool, 1);
+    }
+
+    private ParallelEvaluator(ForkJoinPool pool, int partitionsPerRule) {
+        this.pool = pool;
+        this.partitionsPerRule = partitionsPerRule;
+    }
+
+    /**
+     * splits each partitionable rule into this many chunks of classes, e.g. the pool's parallelism
+     */
+    public ParallelEvaluator withPartitionsPerRule(int partitionsPerRule) {
+        if (partitionsPerRule < 1) {
+            throw new IllegalArgumentException("partitionsPerRule must be at least 1");
+        }
+        return new ParallelEvaluator(pool, partitionsPerRule);
+    }
+
+    /**
+     * evaluates the rules, keyed like {@code ArchRulesService.getRules()}; the returned map is sorted by key
+     */
+    public Map<String, EvaluationResult> evaluate(Map<String, ArchRule> rules, JavaClasses classes) {
+        List<String> keys = new ArrayList<>(rules.keySet());
+        keys.sort(null);
+        List<JavaClasses> partitions = partitionsPerRule > 1 && classes.size() > 1
+                ? Partitions.ofCount(classes, partitionsPerRule)
+                : null;
+        List<List<ForkJoinTask<@Nullable EvaluationResult>>> tasks = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            ArchRule rule = rules.get(key);
+            List<ForkJoinTask<@Nullable EvaluationResult>> ruleTasks = new ArrayList<>();
+            if (partitions != null && PartitionableRules.isPartitionable(rule)) {
+                for (JavaClasses partition : partitions) {
+                    ruleTasks.add(pool.submit(() -> Partitions.evaluate(rule, partition)));
+                }
+            } else {
+                ruleTasks.add(pool.submit(() -> rule.evaluate(classes)));
+            }
+            tasks.add(ruleTasks);
+        }
+        Map<String, EvaluationResult> results = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            EvaluationResult result = null;
+            for (ForkJoinTask<@Nullable EvaluationResult> task : tasks.get(i)) {
+                EvaluationResult partial = task.join();
+                if (result == null) {
+                    result = partial;
+                } else if (partial != null) {
+                    result.add(partial);
+                }
+            }
+            // every chunk checked nothing, so the rule fails (or not) as it would on all classes
+            results.put(keys.get(i), result != null ? result : rules.get(keys.get(i)).evaluate(classes));
+        }
+        return results;
+    }
+}
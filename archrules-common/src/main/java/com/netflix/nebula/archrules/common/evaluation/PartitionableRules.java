@@ -0,0 +1,36 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.lang.ArchRule;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Marks rules whose condition checks each object on its own, so that the rule can be evaluated on disjoint
+ * subsets of the classes and the results combined. This is true of most rules, but not of rules whose conditions
+ * look at all objects together (e.g. "should contain at most n elements" or layer and cycle checks), which is why
+ * it has to be declared. {@link ClassLocalRules Class-local rules} are always partitionable.
+ */
+@NullMarked
+public final class PartitionableRules {
+    private static final Set<ArchRule> PARTITIONABLE = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private PartitionableRules() {
+    }
+
+    /**
+     * marks the rule as partitionable; call this on the final rule, since {@code because} and similar methods
+     * return new rules
+     */
+    public static ArchRule partitionable(ArchRule rule) {
+        PARTITIONABLE.add(rule);
+        return rule;
+    }
+
+    public static boolean isPartitionable(ArchRule rule) {
+        return PARTITIONABLE.contains(rule) || ClassLocalRules.isClassLocal(rule);
+    }
+}
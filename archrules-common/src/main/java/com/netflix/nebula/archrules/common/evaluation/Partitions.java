@@ -0,0 +1,77 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits an import into contiguous chunks of classes, in import order.
+ */
+@NullMarked
+final class Partitions {
+    private Partitions() {
+    }
+
+    static List<JavaClasses> ofSize(JavaClasses classes, int chunkSize) {
+        return ofGrowingSize(classes, chunkSize, chunkSize);
+    }
+
+    /**
+     * chunks which double in size from {@code firstSize} up to {@code maxSize}, so that the first chunks are cheap
+     * to evaluate
+     */
+    static List<JavaClasses> ofGrowingSize(JavaClasses classes, int firstSize, int maxSize) {
+        Map<JavaClass, Integer> chunkOf = new IdentityHashMap<>();
+        int chunk = 0;
+        int inChunk = 0;
+        int size = firstSize;
+        for (JavaClass javaClass : classes) {
+            if (inChunk == size) {
+                chunk++;
+                inChunk = 0;
+                size = Math.min(size * 2, maxSize);
+            }
+            chunkOf.put(javaClass, chunk);
+            inChunk++;
+        }
+        int chunks = classes.size() == 0 ? 0 : chunk + 1;
+        List<JavaClasses> partitions = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            final int current = i;
+            partitions.add(classes.that(DescribedPredicate.describe(
+                    "in partition " + i, it -> chunkOf.get(it) == current)));
+        }
+        return partitions;
+    }
+
+    static List<JavaClasses> ofCount(JavaClasses classes, int count) {
+        return ofSize(classes, Math.max(1, (classes.size() + count - 1) / count));
+    }
+
+    /**
+     * the rule's result for the partition, or null if the rule failed only because it checked nothing in this
+     * partition; whether such a rule checks nothing at all, and so has to fail, depends on all partitions, which is
+     * why callers evaluate it against all classes if every partition returned null
+     */
+    static @Nullable EvaluationResult evaluate(ArchRule rule, JavaClasses partition) {
+        try {
+            return rule.evaluate(partition);
+        } catch (AssertionError e) {
+            // ArchUnit's failOnEmptyShould check, which is only meaningful for the whole import
+            String message = e.getMessage();
+            if (message != null && message.startsWith("Rule '" + rule.getDescription() + "' failed to check any")) {
+                return null;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.FailureReport;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the cost of each rule, for finding slow rules and tracking rule cost over time.
+ * <p>
+ * {@link #instrument(Map)} decorates the rules of an {@code ArchRulesService}; every evaluation of a decorated rule
+ * adds its wall time, CPU time, allocated bytes, the number of classes it was evaluated against and its number of
+ * violations. CPU time and allocations are measured on the evaluating thread, and are reported as {@code -1} where
+ * the JVM does not support measuring them. {@link #writeJson(Path)} writes the totals, e.g. once per run.
+ * <p>
+ * Counting violations would render their messages, so they are only counted where the failure report is rendered
+ * anyway ({@code check}) or where there are none; the number of violations is reported as {@code -1} if an
+ * evaluation with violations was not counted.
+ * <p>
+ * ArchUnit does not expose how many members or accesses a rule's condition tested,
+ * so the number of classes is reported instead.
+ */
+@NullMarked
+public final class RuleMetrics {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final Map<String, Metrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * decorates the rules, keyed like {@code ArchRulesService.getRules()}, to record their metrics in this instance
+     */
+    public Map<String, ArchRule> instrument(Map<String, ArchRule> rules) {
+        Map<String, ArchRule> instrumented = new TreeMap<>();
+        rules.forEach((key, rule) -> {
+            ArchRule decorated = new InstrumentedRule(rule, metrics.computeIfAbsent(key, it -> new Metrics(rule)));
+            if (ClassLocalRules.isClassLocal(rule)) {
+                ClassLocalRules.classLocal(decorated);
+            } else if (PartitionableRules.isPartitionable(rule)) {
+                PartitionableRules.partitionable(decorated);
+            }
+            instrumented.put(key, decorated);
+        });
+        return instrumented;
+    }
+
+    /**
+     * writes the metrics of all rules as JSON
+     */
+    public void writeJson(Path file) {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("{\n  \"timestamp\": " + Json.quote(Instant.now().toString()) + ",\n  \"rules\": [");
+                Iterator<Map.Entry<String, Metrics>> entries = new TreeMap<>(metrics).entrySet().iterator();
+                while (entries.hasNext()) {
+                    Map.Entry<String, Metrics> entry = entries.next();
+                    Metrics rule = entry.getValue();
+                    out.write("\n    {");
+                    out.write("\"key\": " + Json.quote(entry.getKey()));
+                    out.write(", \"description\": " + Json.quote(rule.description));
+                    out.write(", \"evaluations\": " + rule.evaluations.sum());
+                    out.write(", \"wallNanos\": " + rule.wallNanos.sum());
+                    out.write(", \"cpuNanos\": " + (rule.cpuMeasured ? rule.cpuNanos.sum() : -1));
+                    out.write(", \"allocatedBytes\": " + (rule.allocationsMeasured ? rule.allocatedBytes.sum() : -1));
+                    out.write(", \"classes\": " + rule.classes.sum());
+                    out.write(", \"violations\": "
+                            + (rule.uncountedViolations.sum() == 0 ? rule.violations.sum() : -1));
+                    out.write(entries.hasNext() ? "}," : "}");
+                }
+                out.write("\n  ]\n}\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Metrics {
+        private final String description;
+        private final boolean cpuMeasured = THREADS.isCurrentThreadCpuTimeSupported();
+        private final boolean allocationsMeasured = allocatedBytes() >= 0;
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder classes = new LongAdder();
+        private final LongAdder violations = new LongAdder();
+        /**
+         * evaluations with violations which were not counted
+         */
+        private final LongAdder uncountedViolations = new LongAdder();
+
+        Metrics(ArchRule rule) {
+            this.description = rule.getDescription();
+        }
+    }
+
+    /**
+     * bytes allocated by the current thread so far, or -1 if not supported
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static final class InstrumentedRule implements ArchRule {
+        private final ArchRule delegate;
+        private final Metrics metrics;
+
+        InstrumentedRule(ArchRule delegate, Metrics metrics) {
+            this.delegate = delegate;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public EvaluationResult evaluate(JavaClasses classes) {
+            EvaluationResult result = measure(classes);
+            if (result.hasViolation()) {
+                metrics.uncountedViolations.increment();
+            }
+            return result;
+        }
+
+        @Override
+        public void check(JavaClasses classes) {
+            FailureReport report = measure(classes).getFailureReport();
+            metrics.violations.add(report.getDetails().size());
+            if (!report.isEmpty()) {
+                throw new AssertionError(report.toString());
+            }
+        }
+
+        private EvaluationResult measure(JavaClasses classes) {
+            long allocatedBefore = metrics.allocationsMeasured ? allocatedBytes() : 0;
+            long cpuBefore = metrics.cpuMeasured ? THREADS.getCurrentThreadCpuTime() : 0;
+            long wallBefore = System.nanoTime();
+            EvaluationResult result = delegate.evaluate(classes);
+            metrics.wallNanos.add(System.nanoTime() - wallBefore);
+            if (metrics.cpuMeasured) {
+                metrics.cpuNanos.add(THREADS.getCurrentThreadCpuTime() - cpuBefore);
+            }
+            if (metrics.allocationsMeasured) {
+                metrics.allocatedBytes.add(allocatedBytes() - allocatedBefore);
+            }
+            metrics.evaluations.increment();
+            metrics.classes.add(classes.size());
+            return result;
+        }
+
+        @Override
+        public ArchRule because(String reason) {
+            return new InstrumentedRule(delegate.because(reason), metrics);
+        }
+
+        @Override
+        public ArchRule allowEmptyShould(boolean allowEmptyShould) {
+            return new InstrumentedRule(delegate.allowEmptyShould(allowEmptyShould), metrics);
+        }
+
+        @Override
+        public ArchRule as(String newDescription) {
+            return new InstrumentedRule(delegate.as(newDescription), metrics);
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
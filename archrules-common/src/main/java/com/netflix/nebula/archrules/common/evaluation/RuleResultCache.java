@@ -0,0 +1,198 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores the violations of {@link ClassLocalRules class-local rules} per class, so that classes which did not
+ * change are not evaluated again, even across checkouts (e.g. on CI agents).
+ * <p>
+ * Entries are keyed by the rule's key in {@code ArchRulesService.getRules()}, the version of the rule library and
+ * the hash of the class's bytecode and supertypes. The store is a single binary file which is bounded in size:
+ * the least recently used entries are evicted first. Rules which are not class-local are always evaluated.
+ * <p>
+ * Only the messages of violations are stored, so a cached violation is reported against its class rather than the
+ * field, method or access which violated the rule: a {@code ViolationHandler} of the result sees the same messages
+ * on a hit as on a miss, but not the same objects.
+ */
+@NullMarked
+public final class RuleResultCache {
+    private static final int FORMAT_VERSION = 2;
+    /**
+     * estimated bytes per entry besides its strings
+     */
+    private static final int ENTRY_OVERHEAD = 16;
+
+    private final Path file;
+    private final long maxBytes;
+    private final LinkedHashMap<String, List<String>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * loads the cache from the file, if it exists
+     */
+    public RuleResultCache(Path file, long maxBytes) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        if (Files.isRegularFile(file)) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                if (in.readInt() == FORMAT_VERSION) {
+                    int entryCount = in.readInt();
+                    for (int i = 0; i < entryCount; i++) {
+                        String key = StateStrings.read(in);
+                        int messageCount = in.readInt();
+                        List<String> messages = new ArrayList<>(messageCount);
+                        for (int j = 0; j < messageCount; j++) {
+                            messages.add(StateStrings.read(in));
+                        }
+                        put(key, messages);
+                    }
+                }
+            } catch (IOException e) {
+                // a corrupt cache only costs evaluation
+                entries.clear();
+                size = 0;
+            }
+        }
+    }
+
+    /**
+     * evaluates the rules, keyed like {@code ArchRulesService.getRules()}, reusing cached results of class-local
+     * rules for classes which did not change
+     */
+    public Map<String, EvaluationResult> evaluate(
+            String libraryVersion,
+            Map<String, ArchRule> rules,
+            JavaClasses classes
+    ) {
+        Map<String, String> hashes = new HashMap<>();
+        Map<String, EvaluationResult> results = new LinkedHashMap<>();
+        rules.forEach((ruleKey, rule) -> {
+            if (!ClassLocalRules.isClassLocal(rule)) {
+                results.put(ruleKey, rule.evaluate(classes));
+                return;
+            }
+            Map<String, List<String>> hits = new LinkedHashMap<>();
+            Set<String> misses = new HashSet<>();
+            for (JavaClass javaClass : classes) {
+                String hash = hashes.computeIfAbsent(javaClass.getName(), it -> ClassHashes.withSupertypes(javaClass));
+                List<String> cached = hash.equals(ClassHashes.UNKNOWN)
+                        ? null
+                        : get(entryKey(ruleKey, libraryVersion, hash));
+                if (cached == null) {
+                    misses.add(javaClass.getName());
+                } else if (!cached.isEmpty()) {
+                    hits.put(javaClass.getName(), cached);
+                }
+            }
+            // also evaluated if nothing missed, since only an evaluation tells the rule's priority
+            JavaClasses notCached = classes.that(
+                    DescribedPredicate.describe("not cached", it -> misses.contains(it.getName())));
+            EvaluationResult result = Partitions.evaluate(rule, notCached);
+            if (result == null) {
+                if (hits.isEmpty()) {
+                    // whether the rule checks anything at all is only known from all classes
+                    result = rule.evaluate(classes);
+                } else {
+                    // the rule checked the classes it had cached violations for
+                    result = rule.allowEmptyShould(true).evaluate(notCached);
+                }
+            }
+            Map<String, List<String>> evaluated = Violations.byClass(result);
+            if (!evaluated.containsKey(Violations.UNATTRIBUTED)) {
+                for (String className : misses) {
+                    String hash = hashes.get(className);
+                    if (!ClassHashes.UNKNOWN.equals(hash)) {
+                        put(entryKey(ruleKey, libraryVersion, hash),
+                                evaluated.getOrDefault(className, Collections.emptyList()));
+                    }
+                }
+            }
+            result.add(Violations.restore(rule, result.getPriority(), classes, hits));
+            results.put(ruleKey, result);
+        });
+        return results;
+    }
+
+    /**
+     * writes the cache to its file, least recently used entries first
+     */
+    public synchronized void save() {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            // iterating does not count as access
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, List<String>> entry : entries.entrySet()) {
+                    StateStrings.write(out, entry.getKey());
+                    out.writeInt(entry.getValue().size());
+                    for (String message : entry.getValue()) {
+                        StateStrings.write(out, message);
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private synchronized @Nullable List<String> get(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, List<String> messages) {
+        List<String> previous = entries.put(key, messages);
+        if (previous != null) {
+            size -= sizeOf(key, previous);
+        }
+        size += sizeOf(key, messages);
+        Iterator<Map.Entry<String, List<String>>> eldest = entries.entrySet().iterator();
+        while (size > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, List<String>> entry = eldest.next();
+            size -= sizeOf(entry.getKey(), entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    private static long sizeOf(String key, List<String> messages) {
+        long size = ENTRY_OVERHEAD + key.length();
+        for (String message : messages) {
+            size += message.length() + 2;
+        }
+        return size;
+    }
+
+    private static String entryKey(String ruleKey, String libraryVersion, String classHash) {
+        return ruleKey + '\n' + libraryVersion + '\n' + classHash;
+    }
+}
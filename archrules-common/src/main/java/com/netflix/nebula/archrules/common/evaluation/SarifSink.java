@@ -0,0 +1,84 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.lang.Priority;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes violations as a SARIF 2.1.0 log, for code scanning tools.
+ * <p>
+ * Results are written as they arrive; only the rule descriptions are kept in memory, and are written as the tool's
+ * rules when the sink is closed. Priorities map to levels: HIGH is an error, MEDIUM a warning and LOW a note.
+ */
+@NullMarked
+public final class SarifSink implements ViolationSink {
+    private final BufferedWriter out;
+    private final Map<String, String> rules = new TreeMap<>();
+    private boolean first = true;
+
+    public SarifSink(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        out.write("{\"$schema\": \"https://json.schemastore.org/sarif-2.1.0.json\", \"version\": \"2.1.0\", "
+                + "\"runs\": [{\"results\": [");
+    }
+
+    @Override
+    public synchronized void violation(
+            String ruleKey,
+            String description,
+            Priority priority,
+            String className,
+            String message
+    ) {
+        rules.putIfAbsent(ruleKey, description);
+        try {
+            out.write(first ? "\n" : ",\n");
+            first = false;
+            out.write("{\"ruleId\": " + Json.quote(ruleKey)
+                    + ", \"level\": " + Json.quote(level(priority))
+                    + ", \"message\": {\"text\": " + Json.quote(message) + "}");
+            if (!className.isEmpty()) {
+                out.write(", \"locations\": [{\"logicalLocations\": [{\"fullyQualifiedName\": "
+                        + Json.quote(className) + ", \"kind\": \"type\"}]}]");
+            }
+            out.write("}");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.write("\n], \"tool\": {\"driver\": {\"name\": \"nebula-archrules\", \"rules\": [");
+        Iterator<Map.Entry<String, String>> entries = rules.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, String> rule = entries.next();
+            out.write("\n{\"id\": " + Json.quote(rule.getKey())
+                    + ", \"shortDescription\": {\"text\": " + Json.quote(rule.getValue()) + "}}");
+            out.write(entries.hasNext() ? "," : "");
+        }
+        out.write("\n]}}}]}\n");
+        out.close();
+    }
+
+    private static String level(Priority priority) {
+        switch (priority) {
+            case HIGH:
+                return "error";
+            case MEDIUM:
+                return "warning";
+            default:
+                return "note";
+        }
+    }
+}
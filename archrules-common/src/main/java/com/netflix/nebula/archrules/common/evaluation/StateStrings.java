@@ -0,0 +1,41 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Strings in state files, as an int length and UTF-8 bytes.
+ * <p>
+ * {@link DataOutput#writeUTF(String)} is limited to 65535 bytes, which violation messages listing many members
+ * can exceed.
+ */
+@NullMarked
+final class StateStrings {
+    /**
+     * longer strings are taken as corruption, rather than allocated
+     */
+    private static final int MAX_LENGTH = 64 * 1024 * 1024;
+
+    private StateStrings() {
+    }
+
+    static void write(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String read(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new IOException("invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,98 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.ViolationHandler;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evaluates rules and passes their violations to a {@link ViolationSink} instead of returning them.
+ * <p>
+ * {@link PartitionableRules Partitionable rules} are evaluated on chunks of classes, and each chunk's violations
+ * are passed on before the next chunk is evaluated, so memory use is bounded by the violations of one chunk,
+ * no matter how many violations a rule has in total. Other rules are evaluated against all classes at once.
+ */
+@NullMarked
+public final class StreamingEvaluator {
+    private final ViolationSink sink;
+    private final int chunkSize;
+
+    public StreamingEvaluator(ViolationSink sink) {
+        this(sink, 1024);
+    }
+
+    private StreamingEvaluator(ViolationSink sink, int chunkSize) {
+        this.sink = sink;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * how many classes partitionable rules are evaluated against at once; defaults to 1024
+     */
+    public StreamingEvaluator withChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        return new StreamingEvaluator(sink, chunkSize);
+    }
+
+    /**
+     * evaluates the rules, keyed like {@code ArchRulesService.getRules()}, in key order
+     *
+     * @return the number of violations per rule key
+     */
+    public Map<String, Long> evaluate(Map<String, ArchRule> rules, JavaClasses classes) {
+        List<String> keys = new ArrayList<>(rules.keySet());
+        keys.sort(null);
+        List<JavaClasses> chunks = null;
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String key : keys) {
+            ArchRule rule = rules.get(key);
+            long count = 0;
+            if (classes.size() > chunkSize && PartitionableRules.isPartitionable(rule)) {
+                if (chunks == null) {
+                    chunks = Partitions.ofSize(classes, chunkSize);
+                }
+                boolean checked = false;
+                for (JavaClasses chunk : chunks) {
+                    EvaluationResult result = Partitions.evaluate(rule, chunk);
+                    if (result != null) {
+                        checked = true;
+                        count += stream(key, rule, result);
+                    }
+                }
+                if (!checked) {
+                    // fails on an empty should like it would unpartitioned, unless the rule allows it
+                    count = stream(key, rule, rule.evaluate(classes));
+                }
+            } else {
+                count = stream(key, rule, rule.evaluate(classes));
+            }
+            counts.put(key, count);
+        }
+        return counts;
+    }
+
+    private long stream(String key, ArchRule rule, EvaluationResult result) {
+        AtomicLong count = new AtomicLong();
+        result.handleViolations(new ViolationHandler<Object>() {
+            @Override
+            public void handle(Collection<Object> violatingObjects, String message) {
+                String className = violatingObjects.size() == 1
+                        ? Violations.classNameOf(violatingObjects.iterator().next())
+                        : Violations.UNATTRIBUTED;
+                sink.violation(key, rule.getDescription(), result.getPriority(), className, message);
+                count.incrementAndGet();
+            }
+        });
+        return count.get();
+    }
+}
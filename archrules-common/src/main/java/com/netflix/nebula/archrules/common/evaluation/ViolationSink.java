@@ -0,0 +1,21 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.lang.Priority;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.Closeable;
+
+/**
+ * Receives violations one at a time, e.g. to write them to a file as they are found
+ * instead of keeping all of them in memory. Implementations must be thread-safe.
+ */
+@NullMarked
+public interface ViolationSink extends Closeable {
+    /**
+     * @param ruleKey     the rule's key in {@code ArchRulesService.getRules()}
+     * @param description the rule's description
+     * @param className   the class the violation was reported for, or an empty string if unknown
+     * @param message     the violation message
+     */
+    void violation(String ruleKey, String description, Priority priority, String className, String message);
+}
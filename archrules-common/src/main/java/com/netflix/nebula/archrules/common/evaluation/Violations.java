@@ -0,0 +1,91 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaMember;
+import com.tngtech.archunit.core.domain.JavaParameter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import com.tngtech.archunit.lang.ViolationHandler;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between evaluation results and violation messages grouped by the class they were reported for.
+ */
+@NullMarked
+final class Violations {
+    /**
+     * the group of violations which cannot be attributed to a single class
+     */
+    static final String UNATTRIBUTED = "";
+
+    private Violations() {
+    }
+
+    static Map<String, List<String>> byClass(EvaluationResult result) {
+        Map<String, List<String>> violations = new LinkedHashMap<>();
+        result.handleViolations(new ViolationHandler<Object>() {
+            @Override
+            public void handle(Collection<Object> violatingObjects, String message) {
+                String className = violatingObjects.size() == 1
+                        ? classNameOf(violatingObjects.iterator().next())
+                        : UNATTRIBUTED;
+                violations.computeIfAbsent(className, it -> new ArrayList<>()).add(message);
+            }
+        });
+        return violations;
+    }
+
+    /**
+     * the class whose own structure or code produced the violation, or {@link #UNATTRIBUTED}
+     */
+    static String classNameOf(Object violatingObject) {
+        if (violatingObject instanceof JavaClass) {
+            return ((JavaClass) violatingObject).getName();
+        }
+        if (violatingObject instanceof JavaMember) {
+            return ((JavaMember) violatingObject).getOwner().getName();
+        }
+        if (violatingObject instanceof JavaAccess) {
+            return ((JavaAccess<?>) violatingObject).getOriginOwner().getName();
+        }
+        if (violatingObject instanceof Dependency) {
+            return ((Dependency) violatingObject).getOriginClass().getName();
+        }
+        if (violatingObject instanceof JavaParameter) {
+            return ((JavaParameter) violatingObject).getOwner().getOwner().getName();
+        }
+        return UNATTRIBUTED;
+    }
+
+    /**
+     * rebuilds a result from stored violations, reporting each against its class where the class is still imported;
+     * the field, method or access which originally violated the rule is not restored
+     */
+    static EvaluationResult restore(
+            ArchRule rule,
+            Priority priority,
+            JavaClasses classes,
+            Map<String, List<String>> violations
+    ) {
+        ConditionEvents events = ConditionEvents.Factory.create();
+        violations.forEach((className, messages) -> {
+            Object correspondingObject = classes.contain(className) ? classes.get(className) : className;
+            for (String message : messages) {
+                events.add(SimpleConditionEvent.violated(correspondingObject, message));
+            }
+        });
+        return new EvaluationResult(rule, events, priority);
+    }
+}
@@ -0,0 +1,394 @@
+package com.netflix.nebula.archrules.common.graph;
+
+import com.netflix.nebula.archrules.common.LazyConditionEvent;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.AccessTarget;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A compact view of the dependencies and accesses of a set of classes, for rules which look at every edge of the
+ * dependency graph.
+ * <p>
+ * Classes, packages and accessed members are interned to int ids, and the edges of each class are stored in
+ * compressed sparse row arrays: the edges of origin {@code o} are {@code firstEdge(o)} (inclusive) to
+ * {@code endEdge(o)} (exclusive), first its dependencies, then its accesses, of only the kinds the graph is built
+ * for. Each edge is a target class id, an {@link EdgeKind} byte and, for accesses, a member id.
+ * {@link EdgePredicate}s are evaluated over these ids, and predicates on classes and members are evaluated at most
+ * once per id. Only violations go back to ArchUnit's
+ * {@link Dependency} and {@link JavaAccess} objects, to render their descriptions.
+ * <p>
+ * The origin classes have the ids {@code 0} to {@code originCount() - 1}; their targets follow. A graph is not
+ * safe to use from several threads, like the conditions it is built for.
+ */
+@NullMarked
+public final class DependencyGraph {
+    private final JavaClass[] classes;
+    private final int originCount;
+    private final int[] packages;
+    private final AccessTarget[] members;
+    private final int[] rows;
+    private final int[] accessRows;
+    private final int[] targets;
+    private final byte[] kinds;
+    private final int[] targetMembers;
+    private final Map<JavaClass, Integer> ids;
+    private final Set<EdgeKind> edgeKinds;
+    private final Map<Object, Memo> memos = new IdentityHashMap<>();
+
+    private DependencyGraph(Builder builder, int originCount, Set<EdgeKind> edgeKinds) {
+        this.classes = builder.classes.toArray(new JavaClass[0]);
+        this.originCount = originCount;
+        this.packages = Arrays.copyOf(builder.packages, classes.length);
+        this.members = builder.members.toArray(new AccessTarget[0]);
+        this.rows = builder.rows;
+        this.accessRows = builder.accessRows;
+        this.targets = Arrays.copyOf(builder.targets, builder.edgeCount);
+        this.kinds = Arrays.copyOf(builder.kinds, builder.edgeCount);
+        this.targetMembers = Arrays.copyOf(builder.targetMembers, builder.edgeCount);
+        this.ids = builder.classIds;
+        this.edgeKinds = edgeKinds;
+    }
+
+    /**
+     * builds the graph of the dependencies and accesses of the classes
+     */
+    public static DependencyGraph of(Collection<JavaClass> origins) {
+        return of(origins, EnumSet.allOf(EdgeKind.class));
+    }
+
+    /**
+     * builds the graph of the edges of the kinds only; dependencies and accesses are not walked if none of their
+     * kinds are needed
+     */
+    public static DependencyGraph of(Collection<JavaClass> origins, Set<EdgeKind> edgeKinds) {
+        boolean dependencies = edgeKinds.contains(EdgeKind.DEPENDENCY);
+        boolean accesses = edgeKinds.stream().anyMatch(EdgeKind::isAccess);
+        Builder builder = new Builder();
+        for (JavaClass origin : origins) {
+            builder.classId(origin);
+        }
+        int originCount = builder.classes.size();
+        builder.rows = new int[originCount + 1];
+        builder.accessRows = new int[originCount];
+        for (int origin = 0; origin < originCount; origin++) {
+            JavaClass javaClass = builder.classes.get(origin);
+            builder.rows[origin] = builder.edgeCount;
+            if (dependencies) {
+                for (Dependency dependency : javaClass.getDirectDependenciesFromSelf()) {
+                    builder.addEdge(builder.classId(dependency.getTargetClass()), EdgeKind.DEPENDENCY, -1);
+                }
+            }
+            builder.accessRows[origin] = builder.edgeCount;
+            if (accesses) {
+                for (JavaAccess<?> access : javaClass.getAccessesFromSelf()) {
+                    EdgeKind kind = EdgeKind.of(access);
+                    if (edgeKinds.contains(kind)) {
+                        builder.addEdge(builder.classId(access.getTargetOwner()), kind,
+                                builder.memberId(access.getTarget()));
+                    }
+                }
+            }
+        }
+        builder.rows[originCount] = builder.edgeCount;
+        return new DependencyGraph(builder, originCount, edgeKinds);
+    }
+
+    public int classCount() {
+        return classes.length;
+    }
+
+    public int originCount() {
+        return originCount;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int memberCount() {
+        return members.length;
+    }
+
+    /**
+     * the id of the class, or -1 if it is neither an origin nor a target of this graph
+     */
+    public int idOf(JavaClass javaClass) {
+        Integer id = ids.get(javaClass);
+        return id == null ? -1 : id;
+    }
+
+    public JavaClass javaClass(int classId) {
+        return classes[classId];
+    }
+
+    /**
+     * the id of the class's package; classes in the same package have the same id
+     */
+    public int packageOf(int classId) {
+        return packages[classId];
+    }
+
+    public int firstEdge(int origin) {
+        return rows[origin];
+    }
+
+    public int endEdge(int origin) {
+        return rows[origin + 1];
+    }
+
+    /**
+     * the target class of the edge; for accesses, the owner of the accessed member
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    public EdgeKind kind(int edge) {
+        return EdgeKind.of(kinds[edge]);
+    }
+
+    /**
+     * the id of the accessed member, or -1 for dependencies
+     */
+    public int member(int edge) {
+        return targetMembers[edge];
+    }
+
+    public AccessTarget accessTarget(int memberId) {
+        return members[memberId];
+    }
+
+    /**
+     * the predicate's result for the class, evaluated once per predicate instance and class
+     */
+    public boolean matches(DescribedPredicate<? super JavaClass> predicate, int classId) {
+        return memo(predicate, classes.length).test(classId, () -> predicate.test(classes[classId]));
+    }
+
+    /**
+     * the predicate's result for the member, evaluated once per predicate instance and member
+     */
+    public boolean memberMatches(DescribedPredicate<? super AccessTarget> predicate, int memberId) {
+        return memo(predicate, members.length).test(memberId, () -> predicate.test(members[memberId]));
+    }
+
+    /**
+     * the ArchUnit object of the edge, a {@link Dependency} or a {@link JavaAccess}; found by walking the origin's
+     * dependencies or accesses again, so only meant for rendering violations
+     */
+    public Object edgeObject(int edge) {
+        int origin = originOf(edge);
+        JavaClass javaClass = classes[origin];
+        boolean access = edge >= accessRows[origin];
+        int position = edge - (access ? accessRows[origin] : rows[origin]);
+        if (access) {
+            for (JavaAccess<?> candidate : javaClass.getAccessesFromSelf()) {
+                if (edgeKinds.contains(EdgeKind.of(candidate)) && position-- == 0) {
+                    return candidate;
+                }
+            }
+        } else {
+            for (Dependency candidate : javaClass.getDirectDependenciesFromSelf()) {
+                if (position-- == 0) {
+                    return candidate;
+                }
+            }
+        }
+        throw new IllegalStateException("edge " + edge + " of " + javaClass.getName() + " no longer exists");
+    }
+
+    /**
+     * the description of the edge's ArchUnit object, like ArchUnit's own conditions report it
+     */
+    public String describe(int edge) {
+        Object edgeObject = edgeObject(edge);
+        return edgeObject instanceof Dependency
+                ? ((Dependency) edgeObject).getDescription()
+                : ((JavaAccess<?>) edgeObject).getDescription();
+    }
+
+    private int originOf(int edge) {
+        int low = 0;
+        int high = originCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (rows[middle] <= edge) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private Memo memo(Object predicate, int size) {
+        return memos.computeIfAbsent(predicate, it -> new Memo(size));
+    }
+
+    public static class Conditions {
+        /**
+         * like {@code haveAnyDependenciesThat}, with the predicate evaluated over the graph of the classes checked
+         */
+        public static ArchCondition<JavaClass> haveAnyDependenciesThat(EdgePredicate predicate) {
+            return new AnyEdgeCondition("have any dependencies that " + predicate.getDescription(),
+                    EdgePredicate.ofKind(EdgeKind.DEPENDENCY).and(predicate), EnumSet.of(EdgeKind.DEPENDENCY));
+        }
+
+        /**
+         * like {@code accessTargetWhere}, with the predicate evaluated over the graph of the classes checked
+         */
+        public static ArchCondition<JavaClass> accessTargetWhere(EdgePredicate predicate) {
+            return new AnyEdgeCondition("access target where " + predicate.getDescription(),
+                    EdgePredicate.accesses().and(predicate), EnumSet.complementOf(EnumSet.of(EdgeKind.DEPENDENCY)));
+        }
+
+        /**
+         * matches classes with any edge matching the predicate
+         */
+        public static ArchCondition<JavaClass> haveAnyEdgesThat(EdgePredicate predicate) {
+            return new AnyEdgeCondition("have any edges that " + predicate.getDescription(), predicate,
+                    EnumSet.allOf(EdgeKind.class));
+        }
+    }
+
+    /**
+     * Builds the graph of all classes to check in {@code init}, with only the edge kinds the predicate can match,
+     * and reports each matching edge by its ArchUnit
+     * object's description. The graph is kept per thread, since partitions of a rule may be evaluated in parallel.
+     */
+    private static final class AnyEdgeCondition extends ArchCondition<JavaClass> {
+        private final EdgePredicate predicate;
+        private final Set<EdgeKind> edgeKinds;
+        private final ThreadLocal<DependencyGraph> graphs = new ThreadLocal<>();
+
+        AnyEdgeCondition(String description, EdgePredicate predicate, Set<EdgeKind> edgeKinds) {
+            super("%s", description);
+            this.predicate = predicate;
+            this.edgeKinds = edgeKinds;
+        }
+
+        @Override
+        public void init(Collection<JavaClass> allObjectsToTest) {
+            graphs.set(DependencyGraph.of(allObjectsToTest, edgeKinds));
+        }
+
+        @Override
+        public void check(JavaClass item, ConditionEvents events) {
+            DependencyGraph graph = graphs.get();
+            int origin = graph == null ? -1 : graph.idOf(item);
+            if (origin < 0 || origin >= graph.originCount()) {
+                graph = DependencyGraph.of(Collections.singleton(item), edgeKinds);
+                origin = 0;
+            }
+            DependencyGraph checked = graph;
+            boolean matched = false;
+            for (int edge = graph.firstEdge(origin); edge < graph.endEdge(origin); edge++) {
+                if (predicate.test(graph, origin, edge)) {
+                    int matchingEdge = edge;
+                    events.add(LazyConditionEvent.satisfied(item, () -> checked.describe(matchingEdge)));
+                    matched = true;
+                }
+            }
+            if (!matched) {
+                events.add(LazyConditionEvent.violated(item, "%s does not %s", item.getDescription(),
+                        getDescription()));
+            }
+        }
+
+        @Override
+        public void finish(ConditionEvents events) {
+            graphs.remove();
+        }
+    }
+
+    /**
+     * predicate results by id: {@code known} marks evaluated ids, {@code values} their results
+     */
+    private static final class Memo {
+        private final BitSet known;
+        private final BitSet values;
+
+        Memo(int size) {
+            this.known = new BitSet(size);
+            this.values = new BitSet(size);
+        }
+
+        boolean test(int id, BooleanSupplier evaluation) {
+            if (!known.get(id)) {
+                known.set(id);
+                if (evaluation.getAsBoolean()) {
+                    values.set(id);
+                }
+            }
+            return values.get(id);
+        }
+    }
+
+    private static final class Builder {
+        private final List<JavaClass> classes = new ArrayList<>();
+        private final Map<JavaClass, Integer> classIds = new IdentityHashMap<>();
+        private final Map<String, Integer> packageIds = new HashMap<>();
+        private int[] packages = new int[64];
+        private final List<AccessTarget> members = new ArrayList<>();
+        private final Map<String, Integer> memberIds = new HashMap<>();
+        private int[] rows = new int[0];
+        private int[] accessRows = new int[0];
+        private int[] targets = new int[256];
+        private byte[] kinds = new byte[256];
+        private int[] targetMembers = new int[256];
+        private int edgeCount;
+
+        int classId(JavaClass javaClass) {
+            @Nullable Integer id = classIds.get(javaClass);
+            if (id == null) {
+                id = classes.size();
+                classIds.put(javaClass, id);
+                classes.add(javaClass);
+                if (id == packages.length) {
+                    packages = Arrays.copyOf(packages, id * 2);
+                }
+                packages[id] = packageIds.computeIfAbsent(javaClass.getPackage().getName(),
+                        it -> packageIds.size());
+            }
+            return id;
+        }
+
+        int memberId(AccessTarget target) {
+            return memberIds.computeIfAbsent(target.getFullName(), it -> {
+                members.add(target);
+                return members.size() - 1;
+            });
+        }
+
+        void addEdge(int target, EdgeKind kind, int member) {
+            if (edgeCount == targets.length) {
+                targets = Arrays.copyOf(targets, edgeCount * 2);
+                kinds = Arrays.copyOf(kinds, edgeCount * 2);
+                targetMembers = Arrays.copyOf(targetMembers, edgeCount * 2);
+            }
+            targets[edgeCount] = target;
+            kinds[edgeCount] = (byte) kind.ordinal();
+            targetMembers[edgeCount] = member;
+            edgeCount++;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.netflix.nebula.archrules.common.graph;
+
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaConstructorCall;
+import com.tngtech.archunit.core.domain.JavaConstructorReference;
+import com.tngtech.archunit.core.domain.JavaFieldAccess;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.domain.JavaMethodReference;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * The kind of an edge of a {@link DependencyGraph}, stored as one byte per edge.
+ */
+@NullMarked
+public enum EdgeKind {
+    /**
+     * any dependency of the class, as in {@code JavaClass.getDirectDependenciesFromSelf()}
+     */
+    DEPENDENCY,
+    FIELD_ACCESS,
+    METHOD_CALL,
+    CONSTRUCTOR_CALL,
+    METHOD_REFERENCE,
+    CONSTRUCTOR_REFERENCE;
+
+    private static final EdgeKind[] VALUES = values();
+
+    /**
+     * @return true for the kinds of {@code JavaClass.getAccessesFromSelf()}
+     */
+    public boolean isAccess() {
+        return this != DEPENDENCY;
+    }
+
+    static EdgeKind of(JavaAccess<?> access) {
+        if (access instanceof JavaFieldAccess) {
+            return FIELD_ACCESS;
+        }
+        if (access instanceof JavaMethodCall) {
+            return METHOD_CALL;
+        }
+        if (access instanceof JavaConstructorCall) {
+            return CONSTRUCTOR_CALL;
+        }
+        if (access instanceof JavaMethodReference) {
+            return METHOD_REFERENCE;
+        }
+        if (access instanceof JavaConstructorReference) {
+            return CONSTRUCTOR_REFERENCE;
+        }
+        throw new IllegalArgumentException("unknown kind of access: " + access.getClass().getName());
+    }
+
+    static EdgeKind of(byte ordinal) {
+        return VALUES[ordinal];
+    }
+}
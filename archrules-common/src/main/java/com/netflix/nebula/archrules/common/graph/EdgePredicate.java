@@ -0,0 +1,147 @@
+package com.netflix.nebula.archrules.common.graph;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.AccessTarget;
+import com.tngtech.archunit.core.domain.JavaClass;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.EnumSet;
+
+/**
+ * A described predicate on the edges of a {@link DependencyGraph}, evaluated over ids.
+ * <p>
+ * Descriptions combine like those of {@link DescribedPredicate}, so a condition built from edge predicates reads
+ * like the equivalent condition on ArchUnit's dependencies and accesses.
+ */
+@NullMarked
+public abstract class EdgePredicate {
+    private final String description;
+
+    protected EdgePredicate(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @param origin the origin class of the edge
+     * @param edge   the edge, between {@code graph.firstEdge(origin)} and {@code graph.endEdge(origin)}
+     */
+    public abstract boolean test(DependencyGraph graph, int origin, int edge);
+
+    public EdgePredicate and(EdgePredicate other) {
+        EdgePredicate self = this;
+        return new EdgePredicate(description + " and " + other.getDescription()) {
+            @Override
+            public boolean test(DependencyGraph graph, int origin, int edge) {
+                return self.test(graph, origin, edge) && other.test(graph, origin, edge);
+            }
+        };
+    }
+
+    public EdgePredicate or(EdgePredicate other) {
+        EdgePredicate self = this;
+        return new EdgePredicate(description + " or " + other.getDescription()) {
+            @Override
+            public boolean test(DependencyGraph graph, int origin, int edge) {
+                return self.test(graph, origin, edge) || other.test(graph, origin, edge);
+            }
+        };
+    }
+
+    public EdgePredicate as(String description) {
+        EdgePredicate self = this;
+        return new EdgePredicate(description) {
+            @Override
+            public boolean test(DependencyGraph graph, int origin, int edge) {
+                return self.test(graph, origin, edge);
+            }
+        };
+    }
+
+    public static EdgePredicate not(EdgePredicate predicate) {
+        return negate("not " + predicate.getDescription(), predicate);
+    }
+
+    public static EdgePredicate doNot(EdgePredicate predicate) {
+        return negate("do not " + predicate.getDescription(), predicate);
+    }
+
+    public static EdgePredicate ofKind(EdgeKind first, EdgeKind... rest) {
+        EnumSet<EdgeKind> kinds = EnumSet.of(first, rest);
+        return new EdgePredicate("of kind " + kinds) {
+            @Override
+            public boolean test(DependencyGraph graph, int origin, int edge) {
+                return kinds.contains(graph.kind(edge));
+            }
+        };
+    }
+
+    /**
+     * field accesses, calls and references
+     */
+    public static EdgePredicate accesses() {
+        return new EdgePredicate("accesses") {
+            @Override
+            public boolean test(DependencyGraph graph, int origin, int edge) {
+                return graph.kind(edge).isAccess();
+            }
+        };
+    }
+
+    /**
+     * the origin and the target class reside in the same package;
+     * like {@code Dependency.Predicates.resideInSamePackage()}
+     */
+    public static EdgePredicate resideInSamePackage() {
+        return new EdgePredicate("reside in same package") {
+            @Override
+            public boolean test(DependencyGraph graph, int origin, int edge) {
+                return graph.packageOf(origin) == graph.packageOf(graph.target(edge));
+            }
+        };
+    }
+
+    /**
+     * the target class matches; evaluated once per class
+     */
+    public static EdgePredicate targetClass(DescribedPredicate<? super JavaClass> predicate) {
+        return new EdgePredicate("target " + predicate.getDescription()) {
+            @Override
+            public boolean test(DependencyGraph graph, int origin, int edge) {
+                return graph.matches(predicate, graph.target(edge));
+            }
+        };
+    }
+
+    /**
+     * the owner of the accessed member matches; evaluated once per class
+     */
+    public static EdgePredicate targetOwner(DescribedPredicate<? super JavaClass> predicate) {
+        return accesses().and(targetClass(predicate)).as("target owner " + predicate.getDescription());
+    }
+
+    /**
+     * the accessed member matches; evaluated once per member, never true for dependencies
+     */
+    public static EdgePredicate targetMember(DescribedPredicate<? super AccessTarget> predicate) {
+        return new EdgePredicate("target " + predicate.getDescription()) {
+            @Override
+            public boolean test(DependencyGraph graph, int origin, int edge) {
+                int member = graph.member(edge);
+                return member >= 0 && graph.memberMatches(predicate, member);
+            }
+        };
+    }
+
+    private static EdgePredicate negate(String description, EdgePredicate predicate) {
+        return new EdgePredicate(description) {
+            @Override
+            public boolean test(DependencyGraph graph, int origin, int edge) {
+                return !predicate.test(graph, origin, edge);
+            }
+        };
+    }
+}
@@ -0,0 +1,948 @@
+package com.netflix.nebula.archrules.common.graph;
+
+import com.netflix.nebula.archrules.common.DeprecationStatus;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.AccessTarget;
+import com.tngtech.archunit.core.domain.JavaAnnotation;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import com.tngtech.archunit.core.domain.JavaPackage;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * A read-only, memory-mapped snapshot of a {@link DependencyGraph} and the class model around it.
+ * <p>
+ * The file holds a string table, a fixed-size record per class (name, package, superclass, modifiers and
+ * deprecation status) with its interfaces and annotation types, a record per accessed member (owner, names and
+ * deprecation status), and the graph's edge arrays. {@link #open(Path)} maps the file instead of reading it, so
+ * queries decode only the records they touch, heap use does not grow with the classpath, and several rule runs
+ * can share one snapshot through the OS page cache. Ids are those of the {@code DependencyGraph} the snapshot was
+ * written from; supertypes which were not part of the graph follow its classes. Rules use a snapshot through
+ * predicates like {@link #assignableTo(String)}, which look classes up by name.
+ * <p>
+ * Snapshots of classes which are not imported, e.g. of the jars on a classpath, are written with a {@link Builder}
+ * from their class files. Such a snapshot describes the scanned classes only; other classes are known by the name
+ * of their edges' targets and supertypes, and predicates check them on their ArchUnit model. A snapshot
+ * {@link #attachTo(JavaClasses) attached} to an import answers the {@link Predicates} for its classes.
+ * <p>
+ * A snapshot is limited to 2 GB, the size of one mapped buffer. It is safe to use from several threads.
+ */
+@NullMarked
+public final class GraphSnapshot {
+    private static final int MAGIC = 0x4e414752;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_INTS = 20;
+    private static final int CLASS_RECORD_INTS = 4;
+    private static final int MEMBER_RECORD_INTS = 4;
+    private static final int INTERFACE_FLAG = 1 << 16;
+    private static final int DESCRIBED_FLAG = 1 << 17;
+    private static final int DEPRECATION_SHIFT = 24;
+    private static final DeprecationStatus[] DEPRECATION_STATUSES = DeprecationStatus.values();
+    /**
+     * keyed by the default package of the import, like the attached {@code ReferenceIndex}
+     */
+    private static final Map<JavaPackage, GraphSnapshot> ATTACHED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ByteBuffer buffer;
+    private final int classCount;
+    private final int originCount;
+    private final int memberCount;
+    private final int edgeCount;
+    private final int stringOffsets;
+    private final int stringBytes;
+    private final int classRecords;
+    private final int sortedClasses;
+    private final int interfaceRows;
+    private final int interfaces;
+    private final int annotationRows;
+    private final int annotations;
+    private final int memberRecords;
+    private final int edgeRows;
+    private final int edgeTargets;
+    private final int edgeMembers;
+    private final int edgeKinds;
+
+    private GraphSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_INTS * 4 || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("not a class graph snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("unsupported class graph snapshot version " + buffer.getInt(4));
+        }
+        int stringCount = buffer.getInt(8);
+        this.classCount = buffer.getInt(12);
+        this.originCount = buffer.getInt(16);
+        this.memberCount = buffer.getInt(20);
+        this.edgeCount = buffer.getInt(24);
+        this.stringOffsets = buffer.getInt(28);
+        this.stringBytes = buffer.getInt(32);
+        this.classRecords = buffer.getInt(36);
+        this.sortedClasses = buffer.getInt(40);
+        this.interfaceRows = buffer.getInt(44);
+        this.interfaces = buffer.getInt(48);
+        this.annotationRows = buffer.getInt(52);
+        this.annotations = buffer.getInt(56);
+        this.memberRecords = buffer.getInt(60);
+        this.edgeRows = buffer.getInt(64);
+        this.edgeTargets = buffer.getInt(68);
+        this.edgeMembers = buffer.getInt(72);
+        this.edgeKinds = buffer.getInt(76);
+        if (stringCount < 0 || classCount < 0 || originCount < 0 || originCount > classCount || memberCount < 0
+                || edgeCount < 0) {
+            throw new IllegalArgumentException("corrupt class graph snapshot: negative counts");
+        }
+        // sections which others are sized by come first, so that the sizes read from them are in bounds
+        checkSection("string offsets", stringOffsets, stringCount + 1L, 4);
+        checkSection("strings", stringBytes, intAt(stringOffsets, stringCount), 1);
+        checkSection("classes", classRecords, classCount, CLASS_RECORD_INTS * 4);
+        checkSection("sorted classes", sortedClasses, classCount, 4);
+        checkSection("interface rows", interfaceRows, classCount + 1L, 4);
+        checkSection("interfaces", interfaces, intAt(interfaceRows, classCount), 4);
+        checkSection("annotation rows", annotationRows, classCount + 1L, 4);
+        checkSection("annotations", annotations, intAt(annotationRows, classCount), 4);
+        checkSection("members", memberRecords, memberCount, MEMBER_RECORD_INTS * 4);
+        checkSection("edge rows", edgeRows, originCount + 1L, 4);
+        checkSection("edge targets", edgeTargets, edgeCount, 4);
+        checkSection("edge members", edgeMembers, edgeCount, 4);
+        checkSection("edge kinds", edgeKinds, edgeCount, 1);
+    }
+
+    private void checkSection(String name, int offset, long count, int size) {
+        if (offset < HEADER_INTS * 4 || count < 0 || offset + count * size > buffer.limit()) {
+            throw new IllegalArgumentException("corrupt class graph snapshot: " + name + " out of bounds");
+        }
+    }
+
+    /**
+     * maps the snapshot file read-only
+     *
+     * @throws IllegalArgumentException if the file is not a snapshot of this format version, or its header points
+     *                                  outside of the file
+     */
+    public static GraphSnapshot open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new GraphSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * writes the graph and the class model around it to the file, replacing it atomically
+     */
+    public static void write(DependencyGraph graph, Path file) {
+        Builder builder = new Builder();
+        for (int origin = 0; origin < graph.originCount(); origin++) {
+            builder.addOrigin(graph.javaClass(origin).getName());
+        }
+        // supertypes of targets are not part of the graph, but needed for assignability
+        List<JavaClass> classes = new ArrayList<>();
+        for (int classId = 0; classId < graph.classCount(); classId++) {
+            classes.add(graph.javaClass(classId));
+        }
+        Set<String> described = new HashSet<>();
+        for (int i = 0; i < classes.size(); i++) {
+            JavaClass javaClass = classes.get(i);
+            if (described.add(javaClass.getName())) {
+                describe(builder, javaClass);
+                javaClass.getRawSuperclass().ifPresent(classes::add);
+                classes.addAll(javaClass.getRawInterfaces());
+            }
+        }
+        for (int memberId = 0; memberId < graph.memberCount(); memberId++) {
+            AccessTarget target = graph.accessTarget(memberId);
+            builder.describeMember(target.getFullName(), DeprecationStatus.of(target));
+        }
+        for (int origin = 0; origin < graph.originCount(); origin++) {
+            String originName = graph.javaClass(origin).getName();
+            for (int edge = graph.firstEdge(origin); edge < graph.endEdge(origin); edge++) {
+                String targetName = graph.javaClass(graph.target(edge)).getName();
+                if (graph.kind(edge).isAccess()) {
+                    AccessTarget member = graph.accessTarget(graph.member(edge));
+                    builder.addAccess(originName, graph.kind(edge), targetName, member.getName(),
+                            member.getFullName());
+                } else {
+                    builder.addDependency(originName, targetName);
+                }
+            }
+        }
+        builder.write(file);
+    }
+
+    private static void describe(Builder builder, JavaClass javaClass) {
+        List<String> interfaceNames = new ArrayList<>();
+        for (JavaClass rawInterface : javaClass.getRawInterfaces()) {
+            interfaceNames.add(rawInterface.getName());
+        }
+        List<String> annotationTypeNames = new ArrayList<>();
+        for (JavaAnnotation<JavaClass> annotation : javaClass.getAnnotations()) {
+            annotationTypeNames.add(annotation.getRawType().getName());
+        }
+        builder.describe(javaClass.getName(), javaClass.getPackageName(),
+                javaClass.getRawSuperclass().map(JavaClass::getName).orElse(null), interfaceNames,
+                javaClass.getModifiers(), javaClass.isInterface(), DeprecationStatus.of(javaClass),
+                annotationTypeNames);
+    }
+
+    /**
+     * builds the graph of the classes and writes its snapshot
+     */
+    public static void write(Collection<JavaClass> classes, Path file) {
+        write(DependencyGraph.of(classes), file);
+    }
+
+    /**
+     * collects the classes of a snapshot by name, e.g. from their class files
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * makes this the snapshot used by the {@link Predicates} for the classes of the import, e.g. by the import of
+     * the classes the snapshot was written from; views of the import, like {@code classes.that(...)}, share it
+     */
+    public void attachTo(JavaClasses classes) {
+        ATTACHED.put(classes.getDefaultPackage(), this);
+    }
+
+    /**
+     * the snapshot attached to the import of the class, or null
+     */
+    public static @Nullable GraphSnapshot of(JavaClass javaClass) {
+        JavaPackage root = javaClass.getPackage();
+        for (Optional<JavaPackage> parent = root.getParent(); parent.isPresent(); parent = root.getParent()) {
+            root = parent.get();
+        }
+        return ATTACHED.get(root);
+    }
+
+    public int classCount() {
+        return classCount;
+    }
+
+    /**
+     * the classes the graph was built from have the ids {@code 0} to {@code originCount() - 1}
+     */
+    public int originCount() {
+        return originCount;
+    }
+
+    public int memberCount() {
+        return memberCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * the id of the class, or -1 if it is not in the snapshot; a binary search over the names
+     */
+    public int idOf(String className) {
+        byte[] name = className.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = classCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int classId = intAt(sortedClasses, middle);
+            int comparison = compareString(classInt(classId, 0), name);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return classId;
+            }
+        }
+        return -1;
+    }
+
+    public String className(int classId) {
+        return string(classInt(classId, 0));
+    }
+
+    public String packageName(int classId) {
+        return string(classInt(classId, 1));
+    }
+
+    /**
+     * the id of the class's package name; classes in the same package have the same id
+     */
+    public int packageOf(int classId) {
+        return classInt(classId, 1);
+    }
+
+    /**
+     * the id of the raw superclass, or -1
+     */
+    public int superclass(int classId) {
+        return classInt(classId, 2);
+    }
+
+    /**
+     * the ids of the raw interfaces
+     */
+    public int[] interfaces(int classId) {
+        int start = intAt(interfaceRows, classId);
+        int[] result = new int[intAt(interfaceRows, classId + 1) - start];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = intAt(interfaces, start + i);
+        }
+        return result;
+    }
+
+    /**
+     * whether the snapshot has the model of the class; other classes are only known by name, as the target of an
+     * edge or a supertype, and have no supertypes, modifiers or annotations in the snapshot
+     */
+    public boolean isDescribed(int classId) {
+        return (classInt(classId, 3) & DESCRIBED_FLAG) != 0;
+    }
+
+    public boolean isInterface(int classId) {
+        return (classInt(classId, 3) & INTERFACE_FLAG) != 0;
+    }
+
+    public boolean hasModifier(int classId, JavaModifier modifier) {
+        return modifier.ordinal() < 16 && (classInt(classId, 3) & (1 << modifier.ordinal())) != 0;
+    }
+
+    public DeprecationStatus deprecationStatus(int classId) {
+        return DEPRECATION_STATUSES[classInt(classId, 3) >>> DEPRECATION_SHIFT];
+    }
+
+    /**
+     * checks the class's own annotations, like {@code isAnnotatedWith(String)}
+     */
+    public boolean isAnnotatedWith(int classId, String annotationTypeName) {
+        byte[] name = annotationTypeName.getBytes(StandardCharsets.UTF_8);
+        for (int i = intAt(annotationRows, classId); i < intAt(annotationRows, classId + 1); i++) {
+            if (compareString(intAt(annotations, i), name) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * walks the supertypes in the snapshot, like {@code isAssignableTo(String)}; the supertypes of classes the
+     * snapshot does not describe are unknown
+     */
+    public boolean isAssignableTo(int classId, String typeName) {
+        return Boolean.TRUE.equals(assignability(classId, typeName));
+    }
+
+    public int memberOwner(int memberId) {
+        return memberInt(memberId, 0);
+    }
+
+    public String memberName(int memberId) {
+        return string(memberInt(memberId, 1));
+    }
+
+    /**
+     * the member's full name, like {@code AccessTarget.getFullName()}
+     */
+    public String memberFullName(int memberId) {
+        return string(memberInt(memberId, 2));
+    }
+
+    public DeprecationStatus memberDeprecationStatus(int memberId) {
+        return DEPRECATION_STATUSES[memberInt(memberId, 3)];
+    }
+
+    public int firstEdge(int origin) {
+        return intAt(edgeRows, origin);
+    }
+
+    public int endEdge(int origin) {
+        return intAt(edgeRows, origin + 1);
+    }
+
+    public int target(int edge) {
+        return intAt(edgeTargets, edge);
+    }
+
+    public EdgeKind kind(int edge) {
+        return EdgeKind.of(buffer.get(edgeKinds + edge));
+    }
+
+    /**
+     * the id of the accessed member, or -1 for dependencies
+     */
+    public int member(int edge) {
+        return intAt(edgeMembers, edge);
+    }
+
+    /**
+     * like {@code JavaClass.Predicates.assignableTo(String)}, answered from the snapshot by the class's name;
+     * classes whose supertypes the snapshot does not all describe are checked on their ArchUnit model
+     */
+    public DescribedPredicate<JavaClass> assignableTo(String typeName) {
+        return new DescribedPredicate<JavaClass>("assignable to " + typeName) {
+            @Override
+            public boolean test(JavaClass javaClass) {
+                int classId = idOf(javaClass.getName());
+                Boolean assignable = classId >= 0 ? assignability(classId, typeName) : null;
+                return assignable != null ? assignable : javaClass.isAssignableTo(typeName);
+            }
+        };
+    }
+
+    /**
+     * whether the class is deprecated, answered from the snapshot by the class's name; classes which the snapshot
+     * does not describe are checked on their ArchUnit model
+     */
+    public DescribedPredicate<JavaClass> deprecated() {
+        return new DescribedPredicate<JavaClass>("deprecated") {
+            @Override
+            public boolean test(JavaClass javaClass) {
+                return deprecationStatusOf(javaClass).isDeprecated();
+            }
+        };
+    }
+
+    private DeprecationStatus deprecationStatusOf(JavaClass javaClass) {
+        int classId = idOf(javaClass.getName());
+        return classId >= 0 && isDescribed(classId) ? deprecationStatus(classId) : DeprecationStatus.of(javaClass);
+    }
+
+    /**
+     * whether the class is assignable to the type, or null if that depends on supertypes the snapshot does not
+     * describe
+     */
+    private @Nullable Boolean assignability(int classId, String typeName) {
+        boolean[] undescribed = new boolean[1];
+        if (isAssignableTo(classId, idOf(typeName), new boolean[classCount], undescribed)) {
+            return true;
+        }
+        return undescribed[0] ? null : false;
+    }
+
+    private boolean isAssignableTo(int classId, int target, boolean[] visited, boolean[] undescribed) {
+        if (classId < 0 || visited[classId]) {
+            return false;
+        }
+        if (classId == target) {
+            return true;
+        }
+        visited[classId] = true;
+        if (!isDescribed(classId)) {
+            undescribed[0] = true;
+            return false;
+        }
+        if (isAssignableTo(superclass(classId), target, visited, undescribed)) {
+            return true;
+        }
+        for (int rawInterface : interfaces(classId)) {
+            if (isAssignableTo(rawInterface, target, visited, undescribed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int classInt(int classId, int field) {
+        return buffer.getInt(classRecords + (classId * CLASS_RECORD_INTS + field) * 4);
+    }
+
+    private int memberInt(int memberId, int field) {
+        return buffer.getInt(memberRecords + (memberId * MEMBER_RECORD_INTS + field) * 4);
+    }
+
+    private int intAt(int section, int index) {
+        return buffer.getInt(section + index * 4);
+    }
+
+    private String string(int stringId) {
+        int start = intAt(stringOffsets, stringId);
+        byte[] bytes = new byte[intAt(stringOffsets, stringId + 1) - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(stringBytes + start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * compares a stored string with UTF-8 bytes, unsigned byte by byte, without decoding it
+     */
+    private int compareString(int stringId, byte[] other) {
+        int start = stringBytes + intAt(stringOffsets, stringId);
+        int length = intAt(stringOffsets, stringId + 1) - intAt(stringOffsets, stringId);
+        for (int i = 0; i < Math.min(length, other.length); i++) {
+            int difference = (buffer.get(start + i) & 0xff) - (other[i] & 0xff);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - other.length;
+    }
+
+    private static int compareUtf8(byte[] left, byte[] right) {
+        for (int i = 0; i < Math.min(left.length, right.length); i++) {
+            int difference = (left[i] & 0xff) - (right[i] & 0xff);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return left.length - right.length;
+    }
+
+    /**
+     * Predicates answered from the snapshot {@link #attachTo(JavaClasses) attached} to the import of the class, for
+     * classes it describes, and from the class's ArchUnit model otherwise. A snapshot scanned from the class files
+     * of the classpath knows the annotations of library classes which ArchUnit did not import, so rules need not
+     * import them to check their deprecation.
+     */
+    public static class Predicates {
+        /**
+         * like {@code CanBeAnnotated.Predicates.deprecated()}
+         */
+        public static DescribedPredicate<JavaClass> deprecatedClass() {
+            return new DescribedPredicate<JavaClass>("deprecated") {
+                @Override
+                public boolean test(JavaClass javaClass) {
+                    return deprecationStatusOfClass(javaClass).isDeprecated();
+                }
+            };
+        }
+
+        /**
+         * like {@code CanBeAnnotated.Predicates.deprecatedForRemoval()}
+         */
+        public static DescribedPredicate<JavaClass> deprecatedClassForRemoval() {
+            return new DescribedPredicate<JavaClass>("deprecated for removal") {
+                @Override
+                public boolean test(JavaClass javaClass) {
+                    return deprecationStatusOfClass(javaClass) == DeprecationStatus.FOR_REMOVAL;
+                }
+            };
+        }
+
+        private static DeprecationStatus deprecationStatusOfClass(JavaClass javaClass) {
+            GraphSnapshot snapshot = of(javaClass);
+            return snapshot != null ? snapshot.deprecationStatusOf(javaClass) : DeprecationStatus.of(javaClass);
+        }
+    }
+
+    /**
+     * Collects the classes, members and edges of a snapshot by name. The origins, the classes whose edges are added,
+     * get the first ids in the order they are added, followed by the other described classes in the order they are
+     * described, and then by the classes only known by name, in the order they are first named.
+     */
+    public static final class Builder {
+        private final List<byte[]> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<ClassEntry> classes = new ArrayList<>();
+        private final Map<String, Integer> classIds = new HashMap<>();
+        private final IntArray origins = new IntArray();
+        private final IntArray described = new IntArray();
+        private final IntArray memberRecords = new IntArray();
+        private final Map<String, Integer> memberIds = new HashMap<>();
+        private final Map<String, DeprecationStatus> memberStatuses = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * adds a class whose edges the snapshot holds
+         *
+         * @throws IllegalArgumentException if the class was already added as an origin
+         */
+        public Builder addOrigin(String className) {
+            ClassEntry entry = classes.get(classId(className));
+            if (entry.edges != null) {
+                throw new IllegalArgumentException("origin added twice: " + className);
+            }
+            entry.edges = new Edges();
+            origins.add(classId(className));
+            return this;
+        }
+
+        /**
+         * adds the model of a class; the names are ArchUnit's, e.g. {@code java.lang.String[]} is
+         * {@code [Ljava.lang.String;}
+         */
+        public Builder describe(
+                String className,
+                String packageName,
+                @Nullable String superclassName,
+                Collection<String> interfaceNames,
+                Set<JavaModifier> modifiers,
+                boolean isInterface,
+                DeprecationStatus deprecationStatus,
+                Collection<String> annotationTypeNames
+        ) {
+            int classId = classId(className);
+            ClassEntry entry = classes.get(classId);
+            if ((entry.flags & DESCRIBED_FLAG) == 0) {
+                described.add(classId);
+            }
+            entry.packageName = stringId(packageName);
+            entry.superclass = superclassName == null ? -1 : classId(superclassName);
+            entry.interfaces = new IntArray(interfaceNames.size());
+            for (String interfaceName : interfaceNames) {
+                entry.interfaces.add(classId(interfaceName));
+            }
+            entry.annotations = new IntArray(annotationTypeNames.size());
+            for (String annotationTypeName : annotationTypeNames) {
+                entry.annotations.add(stringId(annotationTypeName));
+            }
+            int flags = DESCRIBED_FLAG;
+            for (JavaModifier modifier : modifiers) {
+                if (modifier.ordinal() < 16) {
+                    flags |= 1 << modifier.ordinal();
+                }
+            }
+            if (isInterface) {
+                flags |= INTERFACE_FLAG;
+            }
+            entry.flags = flags | deprecationStatus.ordinal() << DEPRECATION_SHIFT;
+            return this;
+        }
+
+        /**
+         * sets the deprecation status of the member with the full name, like {@code AccessTarget.getFullName()},
+         * e.g. {@code java.lang.String.valueOf(int)}; members are not deprecated unless described
+         */
+        public Builder describeMember(String memberFullName, DeprecationStatus deprecationStatus) {
+            if (deprecationStatus.isDeprecated()) {
+                memberStatuses.put(memberFullName, deprecationStatus);
+            } else {
+                memberStatuses.remove(memberFullName);
+            }
+            return this;
+        }
+
+        /**
+         * adds a dependency edge of an origin
+         */
+        public Builder addDependency(String originName, String targetName) {
+            edgesOf(originName).add(classId(targetName), -1, EdgeKind.DEPENDENCY);
+            return this;
+        }
+
+        /**
+         * adds an access edge of an origin to a member, named like {@code AccessTarget.getName()} and
+         * {@code AccessTarget.getFullName()}
+         */
+        public Builder addAccess(
+                String originName,
+                EdgeKind kind,
+                String ownerName,
+                String memberName,
+                String memberFullName
+        ) {
+            if (!kind.isAccess()) {
+                throw new IllegalArgumentException("not an access: " + kind);
+            }
+            Edges edges = edgesOf(originName);
+            int owner = classId(ownerName);
+            int memberId = memberIds.computeIfAbsent(memberFullName, it -> {
+                memberRecords.add(owner);
+                memberRecords.add(stringId(memberName));
+                memberRecords.add(stringId(memberFullName));
+                return memberIds.size();
+            });
+            edges.add(owner, memberId, kind);
+            return this;
+        }
+
+        /**
+         * writes the snapshot to the file, replacing it atomically
+         */
+        public void write(Path file) {
+            int classCount = classes.size();
+            int originCount = origins.size;
+            // origins, then described classes, then the rest, each in the order they were added
+            int[] order = new int[classCount];
+            int[] ids = new int[classCount];
+            Arrays.fill(ids, -1);
+            int next = 0;
+            for (IntArray group : Arrays.asList(origins, described)) {
+                for (int i = 0; i < group.size; i++) {
+                    if (ids[group.values[i]] < 0) {
+                        ids[group.values[i]] = next;
+                        order[next++] = group.values[i];
+                    }
+                }
+            }
+            for (int classId = 0; classId < classCount; classId++) {
+                if (ids[classId] < 0) {
+                    ids[classId] = next;
+                    order[next++] = classId;
+                }
+            }
+
+            int[] classRecords = new int[classCount * CLASS_RECORD_INTS];
+            int[] interfaceRows = new int[classCount + 1];
+            int[] annotationRows = new int[classCount + 1];
+            IntArray interfaces = new IntArray();
+            IntArray annotations = new IntArray();
+            for (int classId = 0; classId < classCount; classId++) {
+                ClassEntry entry = classes.get(order[classId]);
+                int record = classId * CLASS_RECORD_INTS;
+                classRecords[record] = entry.name;
+                classRecords[record + 1] = entry.packageName >= 0
+                        ? entry.packageName
+                        : stringId(packageOf(new String(strings.get(entry.name), StandardCharsets.UTF_8)));
+                classRecords[record + 2] = entry.superclass >= 0 ? ids[entry.superclass] : -1;
+                classRecords[record + 3] = entry.flags;
+                interfaceRows[classId] = interfaces.size;
+                for (int i = 0; i < entry.interfaces.size; i++) {
+                    interfaces.add(ids[entry.interfaces.values[i]]);
+                }
+                annotationRows[classId] = annotations.size;
+                for (int i = 0; i < entry.annotations.size; i++) {
+                    annotations.add(entry.annotations.values[i]);
+                }
+            }
+            interfaceRows[classCount] = interfaces.size;
+            annotationRows[classCount] = annotations.size;
+
+            int memberCount = memberIds.size();
+            int[] members = new int[memberCount * MEMBER_RECORD_INTS];
+            for (int memberId = 0; memberId < memberCount; memberId++) {
+                int record = memberId * MEMBER_RECORD_INTS;
+                int fullName = memberRecords.values[memberId * 3 + 2];
+                members[record] = ids[memberRecords.values[memberId * 3]];
+                members[record + 1] = memberRecords.values[memberId * 3 + 1];
+                members[record + 2] = fullName;
+                members[record + 3] = memberStatuses.getOrDefault(
+                        new String(strings.get(fullName), StandardCharsets.UTF_8), DeprecationStatus.NONE).ordinal();
+            }
+
+            Integer[] byName = new Integer[classCount];
+            for (int classId = 0; classId < classCount; classId++) {
+                byName[classId] = classId;
+            }
+            Arrays.sort(byName, Comparator.comparing(
+                    (Integer classId) -> strings.get(classRecords[classId * CLASS_RECORD_INTS]),
+                    GraphSnapshot::compareUtf8));
+
+            int[] edgeRows = new int[originCount + 1];
+            int edgeCount = 0;
+            for (int origin = 0; origin < originCount; origin++) {
+                edgeRows[origin] = edgeCount;
+                edgeCount += edgesOf(order[origin]).targets.size;
+            }
+            edgeRows[originCount] = edgeCount;
+            int stringCount = strings.size();
+            long stringLength = 0;
+            for (byte[] string : strings) {
+                stringLength += string.length;
+            }
+
+            long stringOffsets = HEADER_INTS * 4L;
+            long stringBytes = stringOffsets + (stringCount + 1) * 4L;
+            long classSection = align(stringBytes + stringLength);
+            long sortedSection = classSection + classRecords.length * 4L;
+            long interfaceRowSection = sortedSection + classCount * 4L;
+            long interfaceSection = interfaceRowSection + (classCount + 1) * 4L;
+            long annotationRowSection = interfaceSection + interfaces.size * 4L;
+            long annotationSection = annotationRowSection + (classCount + 1) * 4L;
+            long memberSection = annotationSection + annotations.size * 4L;
+            long edgeRowSection = memberSection + members.length * 4L;
+            long edgeTargetSection = edgeRowSection + (originCount + 1) * 4L;
+            long edgeMemberSection = edgeTargetSection + edgeCount * 4L;
+            long edgeKindSection = edgeMemberSection + edgeCount * 4L;
+            long size = edgeKindSection + edgeCount;
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("class graph snapshot would exceed 2 GB: " + size + " bytes");
+            }
+
+            try {
+                Path directory = file.toAbsolutePath().getParent();
+                Files.createDirectories(directory);
+                Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(temp), 1 << 16))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    for (long value : new long[]{stringCount, classCount, originCount, memberCount, edgeCount,
+                            stringOffsets, stringBytes, classSection, sortedSection, interfaceRowSection,
+                            interfaceSection, annotationRowSection, annotationSection, memberSection,
+                            edgeRowSection, edgeTargetSection, edgeMemberSection, edgeKindSection}) {
+                        out.writeInt((int) value);
+                    }
+                    int offset = 0;
+                    for (byte[] string : strings) {
+                        out.writeInt(offset);
+                        offset += string.length;
+                    }
+                    out.writeInt(offset);
+                    for (byte[] string : strings) {
+                        out.write(string);
+                    }
+                    for (long i = stringBytes + stringLength; i < classSection; i++) {
+                        out.writeByte(0);
+                    }
+                    writeInts(out, classRecords, classRecords.length);
+                    for (Integer classId : byName) {
+                        out.writeInt(classId);
+                    }
+                    writeInts(out, interfaceRows, interfaceRows.length);
+                    writeInts(out, interfaces.values, interfaces.size);
+                    writeInts(out, annotationRows, annotationRows.length);
+                    writeInts(out, annotations.values, annotations.size);
+                    writeInts(out, members, members.length);
+                    writeInts(out, edgeRows, edgeRows.length);
+                    for (int origin = 0; origin < originCount; origin++) {
+                        IntArray targets = edgesOf(order[origin]).targets;
+                        for (int i = 0; i < targets.size; i++) {
+                            out.writeInt(ids[targets.values[i]]);
+                        }
+                    }
+                    for (int origin = 0; origin < originCount; origin++) {
+                        Edges edges = edgesOf(order[origin]);
+                        writeInts(out, edges.members.values, edges.members.size);
+                    }
+                    for (int origin = 0; origin < originCount; origin++) {
+                        Edges edges = edgesOf(order[origin]);
+                        for (int i = 0; i < edges.kinds.size; i++) {
+                            out.writeByte(edges.kinds.values[i]);
+                        }
+                    }
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private int classId(String className) {
+            Integer id = classIds.get(className);
+            if (id == null) {
+                id = classes.size();
+                classIds.put(className, id);
+                classes.add(new ClassEntry(stringId(className)));
+            }
+            return id;
+        }
+
+        private Edges edgesOf(String originName) {
+            Integer id = classIds.get(originName);
+            if (id == null || classes.get(id).edges == null) {
+                throw new IllegalArgumentException("not an origin: " + originName);
+            }
+            return edgesOf(id);
+        }
+
+        private Edges edgesOf(int classId) {
+            return Objects.requireNonNull(classes.get(classId).edges);
+        }
+
+        private int stringId(String string) {
+            return stringIds.computeIfAbsent(string, it -> {
+                strings.add(it.getBytes(StandardCharsets.UTF_8));
+                return strings.size() - 1;
+            });
+        }
+
+        /**
+         * the package of a class only known by name, like ArchUnit's; arrays are in the package of their component
+         * type, and primitives in {@code java.lang}
+         */
+        private static String packageOf(String className) {
+            String componentName = className;
+            if (className.startsWith("[")) {
+                String component = className.substring(className.lastIndexOf('[') + 1);
+                if (!component.startsWith("L") || !component.endsWith(";")) {
+                    return "java.lang";
+                }
+                componentName = component.substring(1, component.length() - 1);
+            }
+            int lastDot = componentName.lastIndexOf('.');
+            return lastDot < 0 ? "" : componentName.substring(0, lastDot);
+        }
+
+        private static void writeInts(DataOutputStream out, int[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                out.writeInt(values[i]);
+            }
+        }
+
+        /**
+         * int sections start at a multiple of 4
+         */
+        private static long align(long offset) {
+            return (offset + 3) & ~3L;
+        }
+    }
+
+    private static final class ClassEntry {
+        private final int name;
+        private int packageName = -1;
+        private int superclass = -1;
+        private IntArray interfaces = new IntArray(0);
+        private IntArray annotations = new IntArray(0);
+        private int flags;
+        private @Nullable Edges edges;
+
+        ClassEntry(int name) {
+            this.name = name;
+        }
+    }
+
+    private static final class Edges {
+        private final IntArray targets = new IntArray(8);
+        private final IntArray members = new IntArray(8);
+        private final IntArray kinds = new IntArray(8);
+
+        void add(int target, int member, EdgeKind kind) {
+            targets.add(target);
+            members.add(member);
+            kinds.add(kind.ordinal());
+        }
+    }
+
+    private static final class IntArray {
+        private int[] values;
+        private int size;
+
+        IntArray() {
+            this(64);
+        }
+
+        IntArray(int capacity) {
+            values = new int[capacity];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(4, size * 2));
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * A set of strings which answers "might contain" with no false negatives and about 1% false positives.
+ * <p>
+ * Uses 10 bits per string and 7 probes derived from {@link String#hashCode()}, which is specified, so filters
+ * written by one JVM can be read by another.
+ */
+@NullMarked
+final class BloomFilter {
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int PROBES = 7;
+
+    /**
+     * contains everything; used where no filter is known
+     */
+    static final BloomFilter ALL = new BloomFilter(new long[0]);
+
+    private final long[] words;
+
+    private BloomFilter(long[] words) {
+        this.words = words;
+    }
+
+    static BloomFilter of(Collection<String> entries) {
+        int bits = Math.max(64, entries.size() * BITS_PER_ENTRY);
+        BloomFilter filter = new BloomFilter(new long[(bits + 63) / 64]);
+        for (String entry : entries) {
+            filter.add(entry);
+        }
+        return filter;
+    }
+
+    boolean mightContain(String entry) {
+        if (words.length == 0) {
+            return true;
+        }
+        long bits = words.length * 64L;
+        long hash = mix(entry.hashCode());
+        int first = (int) hash;
+        int step = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            long bit = Math.floorMod(first + (long) i * step, bits);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(String entry) {
+        long bits = words.length * 64L;
+        long hash = mix(entry.hashCode());
+        int first = (int) hash;
+        int step = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            long bit = Math.floorMod(first + (long) i * step, bits);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * spreads the hash over 64 bits, whose halves are the first probe and the step of double hashing; without
+     * mixing, the probes of small filters only depend on the low bits of {@link String#hashCode()}
+     */
+    private static long mix(int hash) {
+        long mixed = hash * 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    static BloomFilter read(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("invalid filter length " + length);
+        }
+        long[] words = new long[length];
+        for (int i = 0; i < length; i++) {
+            words[i] = in.readLong();
+        }
+        return length == 0 ? ALL : new BloomFilter(words);
+    }
+}
@@ -0,0 +1,566 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.netflix.nebula.archrules.common.DeprecationStatus;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The header of a class file: its name, supertypes and constant pool strings, read without loading or importing
+ * the class, and the annotations and deprecation of the class and its members. Names are in internal form, e.g.
+ * {@code java/lang/Object}.
+ */
+@NullMarked
+final class ClassFileInfo {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String JAVA_DEPRECATED = "Ljava/lang/Deprecated;";
+    private static final String KOTLIN_DEPRECATED = "Lkotlin/Deprecated;";
+    private static final String KOTLIN_DEPRECATED_SINCE_KOTLIN = "Lkotlin/DeprecatedSinceKotlin;";
+
+    private final String name;
+    private final int accessFlags;
+    private final @Nullable String superName;
+    private final List<String> interfaces;
+    private final List<String> classReferences;
+    private final List<String> memberReferences;
+    private final List<String> strings;
+    private final List<Member> accessedMembers;
+    private final List<String> annotationTypes;
+    private final DeprecationStatus deprecationStatus;
+    private final List<Member> deprecatedMembers;
+    private final Set<String> declarationTypes;
+    private final boolean signature;
+
+    private ClassFileInfo(
+            String name,
+            int accessFlags,
+            @Nullable String superName,
+            List<String> interfaces,
+            List<String> classReferences,
+            List<String> memberReferences,
+            List<String> strings,
+            List<Member> accessedMembers,
+            List<String> annotationTypes,
+            DeprecationStatus deprecationStatus,
+            List<Member> deprecatedMembers,
+            Set<String> declarationTypes,
+            boolean signature
+    ) {
+        this.name = name;
+        this.accessFlags = accessFlags;
+        this.superName = superName;
+        this.interfaces = interfaces;
+        this.classReferences = classReferences;
+        this.memberReferences = memberReferences;
+        this.strings = strings;
+        this.accessedMembers = accessedMembers;
+        this.annotationTypes = annotationTypes;
+        this.deprecationStatus = deprecationStatus;
+        this.deprecatedMembers = deprecatedMembers;
+        this.declarationTypes = declarationTypes;
+        this.signature = signature;
+    }
+
+    /**
+     * reads the header of the class file
+     *
+     * @throws IOException if the bytes are not a class file
+     */
+    static ClassFileInfo read(byte[] classFile) throws IOException {
+        return read(ByteBuffer.wrap(classFile));
+    }
+
+    /**
+     * reads the header of the class file from the buffer's position, e.g. of a memory-mapped file
+     *
+     * @throws IOException if the bytes are not a class file
+     */
+    static ClassFileInfo read(ByteBuffer classFile) throws IOException {
+        try {
+            return parse(classFile.duplicate().order(ByteOrder.BIG_ENDIAN));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("truncated class file", e);
+        }
+    }
+
+    private static ClassFileInfo parse(ByteBuffer in) throws IOException {
+        if (in.getInt() != MAGIC) {
+            throw new IOException("not a class file");
+        }
+        in.getShort(); // minor version
+        in.getShort(); // major version
+        int poolSize = unsignedShort(in);
+        @Nullable String[] utf8 = new String[poolSize];
+        int[] classNameIndex = new int[poolSize];
+        // the class and the name-and-type of member references, and the name and descriptor of name-and-types
+        int[] ownerIndex = new int[poolSize];
+        int[] nameIndex = new int[poolSize];
+        int[] descriptorIndex = new int[poolSize];
+        int[] integers = new int[poolSize];
+        byte[] tags = new byte[poolSize];
+        for (int i = 1; i < poolSize; i++) {
+            int tag = in.get() & 0xFF;
+            tags[i] = (byte) tag;
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = utf8(in);
+                    break;
+                case 7: // Class
+                    classNameIndex[i] = unsignedShort(in);
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.getShort();
+                    break;
+                case 15: // MethodHandle
+                    in.get();
+                    in.getShort();
+                    break;
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                    ownerIndex[i] = unsignedShort(in);
+                    nameIndex[i] = unsignedShort(in);
+                    break;
+                case 12: // NameAndType
+                    nameIndex[i] = unsignedShort(in);
+                    descriptorIndex[i] = unsignedShort(in);
+                    break;
+                case 3: // Integer
+                    integers[i] = in.getInt();
+                    break;
+                case 4: // Float
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.getInt();
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.getLong();
+                    i++;
+                    break;
+                default:
+                    throw new IOException("unknown constant pool tag " + tag);
+            }
+        }
+        List<String> classReferences = new ArrayList<>();
+        List<String> memberReferences = new ArrayList<>();
+        List<String> strings = new ArrayList<>();
+        List<Member> accessedMembers = new ArrayList<>();
+        for (int i = 1; i < poolSize; i++) {
+            if (classNameIndex[i] != 0) {
+                classReferences.add(utf8(utf8, classNameIndex[i]));
+            }
+            if (ownerIndex[i] != 0) {
+                int nameAndType = nameIndex[i] < poolSize ? nameIndex[i] : 0;
+                String owner = utf8(utf8, classNameIndex[ownerIndex[i]]);
+                String memberName = utf8(utf8, nameIndex[nameAndType]);
+                memberReferences.add(owner + '#' + memberName);
+                accessedMembers.add(new Member(owner, memberName, utf8(utf8, descriptorIndex[nameAndType]),
+                        tags[i] == 9, DeprecationStatus.NONE));
+            }
+            if (utf8[i] != null) {
+                strings.add(utf8[i]);
+            }
+        }
+        int accessFlags = unsignedShort(in);
+        String name = utf8(utf8, classNameIndex[unsignedShort(in)]);
+        int superIndex = unsignedShort(in);
+        String superName = superIndex == 0 ? null : utf8(utf8, classNameIndex[superIndex]);
+        int interfaceCount = unsignedShort(in);
+        List<String> interfaces = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaces.add(utf8(utf8, classNameIndex[unsignedShort(in)]));
+        }
+
+        List<Member> deprecatedMembers = new ArrayList<>();
+        Set<String> declarationTypes = new HashSet<>();
+        for (int kind = 0; kind < 2; kind++) { // fields, then methods
+            int memberCount = unsignedShort(in);
+            for (int i = 0; i < memberCount; i++) {
+                in.getShort(); // access flags
+                String memberName = utf8(utf8, unsignedShort(in));
+                String descriptor = utf8(utf8, unsignedShort(in));
+                addDescriptorTypes(descriptor, declarationTypes);
+                DeprecationStatus status = DeprecationStatus.NONE;
+                int attributeCount = unsignedShort(in);
+                for (int j = 0; j < attributeCount; j++) {
+                    String attribute = utf8(utf8, unsignedShort(in));
+                    int end = attributeEnd(in);
+                    if (isAnnotations(attribute)) {
+                        status = status.max(annotations(in, utf8, integers, declarationTypes));
+                    }
+                    in.position(end);
+                }
+                if (status.isDeprecated()) {
+                    deprecatedMembers.add(new Member(name, memberName, descriptor, kind == 0, status));
+                }
+            }
+        }
+
+        List<String> annotationTypes = new ArrayList<>();
+        DeprecationStatus deprecationStatus = DeprecationStatus.NONE;
+        boolean signature = false;
+        int attributeCount = unsignedShort(in);
+        for (int i = 0; i < attributeCount; i++) {
+            String attribute = utf8(utf8, unsignedShort(in));
+            int end = attributeEnd(in);
+            if (isAnnotations(attribute)) {
+                deprecationStatus = deprecationStatus.max(annotations(in, utf8, integers, annotationTypes));
+            } else if (attribute.equals("Signature")) {
+                signature = true;
+            } else if (attribute.equals("InnerClasses")) {
+                // member classes have their declared modifiers only here; ArchUnit reads them for member classes
+                int classCount = unsignedShort(in);
+                for (int j = 0; j < classCount; j++) {
+                    int inner = unsignedShort(in);
+                    int outer = unsignedShort(in);
+                    in.getShort(); // simple name
+                    int innerFlags = unsignedShort(in);
+                    if (inner != 0 && outer != 0 && utf8(utf8, classNameIndex[inner]).equals(name)) {
+                        accessFlags = innerFlags;
+                    }
+                }
+            }
+            in.position(end);
+        }
+        declarationTypes.addAll(annotationTypes);
+        return new ClassFileInfo(name, accessFlags, superName, interfaces, classReferences, memberReferences,
+                strings, accessedMembers, annotationTypes, deprecationStatus, deprecatedMembers, declarationTypes,
+                signature);
+    }
+
+    private static boolean isAnnotations(String attribute) {
+        return attribute.equals("RuntimeVisibleAnnotations") || attribute.equals("RuntimeInvisibleAnnotations");
+    }
+
+    private static int attributeEnd(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("truncated class file");
+        }
+        return in.position() + length;
+    }
+
+    /**
+     * reads an annotations attribute, adding the annotation types to the collection
+     *
+     * @return the strongest deprecation the annotations declare
+     */
+    private static DeprecationStatus annotations(
+            ByteBuffer in,
+            @Nullable String[] utf8,
+            int[] integers,
+            Collection<String> types
+    ) throws IOException {
+        DeprecationStatus status = DeprecationStatus.NONE;
+        int count = unsignedShort(in);
+        for (int i = 0; i < count; i++) {
+            String type = utf8(utf8, unsignedShort(in));
+            addDescriptorTypes(type, types);
+            status = status.max(annotation(in, type, utf8, integers));
+        }
+        return status;
+    }
+
+    /**
+     * reads the element values of an annotation, classified like {@link DeprecationStatus#of}
+     */
+    private static DeprecationStatus annotation(
+            ByteBuffer in,
+            String type,
+            @Nullable String[] utf8,
+            int[] integers
+    ) throws IOException {
+        DeprecationStatus status = type.equals(JAVA_DEPRECATED) || type.equals(KOTLIN_DEPRECATED)
+                || type.equals(KOTLIN_DEPRECATED_SINCE_KOTLIN) ? DeprecationStatus.DEPRECATED : DeprecationStatus.NONE;
+        int pairCount = unsignedShort(in);
+        for (int i = 0; i < pairCount; i++) {
+            String element = utf8(utf8, unsignedShort(in));
+            int tag = in.get() & 0xFF;
+            if (tag == 'Z' && element.equals("forRemoval") && type.equals(JAVA_DEPRECATED)) {
+                int index = unsignedShort(in);
+                if (index < integers.length && integers[index] != 0) {
+                    status = DeprecationStatus.FOR_REMOVAL;
+                }
+            } else if (tag == 'e' && element.equals("level") && type.equals(KOTLIN_DEPRECATED)) {
+                in.getShort(); // enum type
+                if (!utf8(utf8, unsignedShort(in)).equals("WARNING")) {
+                    status = DeprecationStatus.KOTLIN_LEVEL;
+                }
+            } else {
+                skipElementValue(in, tag, utf8, integers);
+            }
+        }
+        return status;
+    }
+
+    private static void skipElementValue(ByteBuffer in, int tag, @Nullable String[] utf8, int[] integers)
+            throws IOException {
+        switch (tag) {
+            case 'B':
+            case 'C':
+            case 'D':
+            case 'F':
+            case 'I':
+            case 'J':
+            case 'S':
+            case 'Z':
+            case 's':
+            case 'c':
+                in.getShort();
+                break;
+            case 'e':
+                in.getInt();
+                break;
+            case '@':
+                annotation(in, utf8(utf8, unsignedShort(in)), utf8, integers);
+                break;
+            case '[':
+                int count = unsignedShort(in);
+                for (int i = 0; i < count; i++) {
+                    skipElementValue(in, in.get() & 0xFF, utf8, integers);
+                }
+                break;
+            default:
+                throw new IOException("unknown element value tag " + tag);
+        }
+    }
+
+    private static int unsignedShort(ByteBuffer in) {
+        return in.getShort() & 0xFFFF;
+    }
+
+    /**
+     * decodes a modified UTF-8 constant; names are almost always ASCII, which is decoded directly
+     */
+    private static String utf8(ByteBuffer in) throws IOException {
+        int length = unsignedShort(in);
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        for (byte b : bytes) {
+            if (b < 0) {
+                ByteBuffer encoded = ByteBuffer.allocate(length + 2);
+                encoded.putShort((short) length).put(bytes);
+                return new DataInputStream(new ByteArrayInputStream(encoded.array())).readUTF();
+            }
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static String utf8(@Nullable String[] utf8, int index) throws IOException {
+        String value = index > 0 && index < utf8.length ? utf8[index] : null;
+        if (value == null) {
+            throw new IOException("invalid constant pool reference " + index);
+        }
+        return value;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * the access flags of the class; for nested classes those of its {@code InnerClasses} entry, as declared
+     */
+    int getAccessFlags() {
+        return accessFlags;
+    }
+
+    @Nullable String getSuperName() {
+        return superName;
+    }
+
+    List<String> getInterfaces() {
+        return Collections.unmodifiableList(interfaces);
+    }
+
+    /**
+     * the classes named by the constant pool, including array descriptors such as {@code [Ljava/lang/String;}
+     */
+    List<String> getClassReferences() {
+        return Collections.unmodifiableList(classReferences);
+    }
+
+    /**
+     * the fields and methods referenced by the constant pool, as {@code owner#name}, e.g.
+     * {@code com/google/common/io/Files#createTempDir}
+     */
+    List<String> getMemberReferences() {
+        return Collections.unmodifiableList(memberReferences);
+    }
+
+    /**
+     * the types the class refers to anywhere in its constant pool: class entries (with array types reduced to their
+     * element type) and the types in descriptors and signatures, e.g. of fields, parameters and annotations
+     */
+    Set<String> getReferencedTypes() {
+        Set<String> types = new HashSet<>();
+        for (String classReference : classReferences) {
+            if (classReference.startsWith("[")) {
+                addDescriptorTypes(classReference, types);
+            } else {
+                types.add(classReference);
+            }
+        }
+        for (String string : strings) {
+            addDescriptorTypes(string, types);
+        }
+        return types;
+    }
+
+    /**
+     * adds the {@code Lsome/Type;} and {@code Lsome/Type<...>;} names in a descriptor or signature; other strings may
+     * add names which are not types, which is harmless for lookups by type name
+     */
+    private static void addDescriptorTypes(String descriptor, Collection<String> types) {
+        int start = descriptor.indexOf('L');
+        while (start >= 0) {
+            int end = start + 1;
+            boolean qualified = false;
+            while (end < descriptor.length() && isNameChar(descriptor.charAt(end))) {
+                qualified = qualified || descriptor.charAt(end) == '/';
+                end++;
+            }
+            if (qualified && end < descriptor.length()
+                    && (descriptor.charAt(end) == ';' || descriptor.charAt(end) == '<')) {
+                types.add(descriptor.substring(start + 1, end));
+                start = descriptor.indexOf('L', end);
+            } else {
+                start = descriptor.indexOf('L', start + 1);
+            }
+        }
+    }
+
+    private static boolean isNameChar(char c) {
+        return c != ';' && c != '<' && c != '>' && c != '(' && c != ')' && c != '[' && c != '.' && c != ':'
+                && !Character.isWhitespace(c);
+    }
+
+    /**
+     * whether the class has a generic signature, i.e. declares type parameters or extends generic types
+     */
+    boolean hasSignature() {
+        return signature;
+    }
+
+    /**
+     * the fields and methods referenced by the constant pool, by owner, name and descriptor
+     */
+    List<Member> getAccessedMembers() {
+        return Collections.unmodifiableList(accessedMembers);
+    }
+
+    /**
+     * the types of the class's own annotations, visible and invisible at runtime
+     */
+    List<String> getAnnotationTypes() {
+        return Collections.unmodifiableList(annotationTypes);
+    }
+
+    DeprecationStatus getDeprecationStatus() {
+        return deprecationStatus;
+    }
+
+    /**
+     * the fields and methods the class declares which are deprecated
+     */
+    List<Member> getDeprecatedMembers() {
+        return Collections.unmodifiableList(deprecatedMembers);
+    }
+
+    /**
+     * the types the class depends on: class entries (with array types reduced to their element type), the types of
+     * its fields and methods and its annotations; close to, but not exactly, ArchUnit's dependencies, which also
+     * include generic type arguments and do not include types only used in the constant pool
+     */
+    Set<String> getDependencies() {
+        Set<String> types = new HashSet<>(declarationTypes);
+        for (String classReference : classReferences) {
+            if (classReference.startsWith("[")) {
+                addDescriptorTypes(classReference, types);
+            } else {
+                types.add(classReference);
+            }
+        }
+        types.remove(name);
+        return types;
+    }
+
+    /**
+     * all strings of the constant pool, including names, descriptors and signatures
+     */
+    List<String> getStrings() {
+        return Collections.unmodifiableList(strings);
+    }
+
+    /**
+     * whether any constant pool string contains the internal name or package prefix, e.g. {@code com/google/common/}
+     */
+    boolean mentions(String internalName) {
+        for (String string : strings) {
+            if (string.contains(internalName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * a field or method, by its owner, name and descriptor, e.g. {@code java/lang/String}, {@code valueOf} and
+     * {@code (I)Ljava/lang/String;}
+     */
+    static final class Member {
+        private final String owner;
+        private final String name;
+        private final String descriptor;
+        private final boolean field;
+        private final DeprecationStatus deprecationStatus;
+
+        Member(String owner, String name, String descriptor, boolean field, DeprecationStatus deprecationStatus) {
+            this.owner = owner;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.field = field;
+            this.deprecationStatus = deprecationStatus;
+        }
+
+        String getOwner() {
+            return owner;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getDescriptor() {
+            return descriptor;
+        }
+
+        boolean isField() {
+            return field;
+        }
+
+        /**
+         * the deprecation of a declared member; accessed members are not resolved, so they are {@code NONE}
+         */
+        DeprecationStatus getDeprecationStatus() {
+            return deprecationStatus;
+        }
+    }
+}
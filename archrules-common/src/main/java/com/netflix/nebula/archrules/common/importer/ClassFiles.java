@@ -0,0 +1,113 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.tngtech.archunit.core.importer.Location;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads the class files of a class directory or jar without importing them.
+ */
+@NullMarked
+final class ClassFiles {
+    private ClassFiles() {
+    }
+
+    interface Visitor {
+        /**
+         * @param uri the class file's location as ArchUnit normalizes it
+         * @param classFile the class file, valid only during the call
+         */
+        void visit(String uri, ByteBuffer classFile) throws IOException;
+    }
+
+    /**
+     * visits every class file of the directory or jar
+     *
+     * @return whether the root is a directory or jar; other roots are not visited
+     */
+    static boolean scan(Path root, Visitor visitor) {
+        ReadBuffer buffer = new ReadBuffer();
+        try {
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> files = Files.walk(root)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        if (file.toString().endsWith(".class")) {
+                            try (InputStream in = Files.newInputStream(file)) {
+                                visitor.visit(uriOf(Location.of(file)), buffer.read(in));
+                            }
+                        }
+                    }
+                }
+                return true;
+            }
+            if (isJar(root)) {
+                String jarUri = "jar:" + root.toUri() + "!/";
+                try (ZipFile jar = new ZipFile(root.toFile())) {
+                    Enumeration<? extends ZipEntry> entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        ZipEntry entry = entries.nextElement();
+                        if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+                            Location location = Location.of(URI.create(jarUri + entry.getName()));
+                            try (InputStream in = jar.getInputStream(entry)) {
+                                visitor.visit(uriOf(location), buffer.read(in));
+                            }
+                        }
+                    }
+                }
+                return true;
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static boolean isJar(Path root) {
+        return Files.isRegularFile(root) && root.toString().endsWith(".jar");
+    }
+
+    /**
+     * the location of the class directory or jar; {@code Location.of(Path)} treats every path as a directory
+     */
+    static Location locationOf(Path root) {
+        return isJar(root) ? Location.of(URI.create("jar:" + root.toUri() + "!/")) : Location.of(root);
+    }
+
+    /**
+     * the location's URI as ArchUnit normalizes it, so that scanned and imported class files can be matched
+     */
+    static String uriOf(Location location) {
+        return location.asURI().toString();
+    }
+
+    /**
+     * reads class files into one growing array, so that a scan does not allocate per class
+     */
+    private static final class ReadBuffer {
+        private byte[] bytes = new byte[16 * 1024];
+
+        ByteBuffer read(InputStream in) throws IOException {
+            int length = 0;
+            int read;
+            while ((read = in.read(bytes, length, bytes.length - length)) != -1) {
+                length += read;
+                if (length == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+            }
+            return ByteBuffer.wrap(bytes, 0, length);
+        }
+    }
+}
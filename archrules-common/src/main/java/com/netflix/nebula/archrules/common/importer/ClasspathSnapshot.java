@@ -0,0 +1,185 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.netflix.nebula.archrules.common.graph.EdgeKind;
+import com.netflix.nebula.archrules.common.graph.GraphSnapshot;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes a {@link GraphSnapshot} of the class directories and jars on a classpath from the constant pools and
+ * annotations of their class files, without importing them.
+ * <p>
+ * Every scanned class is an origin of the snapshot and described with its supertypes, modifiers, annotations and
+ * deprecation, like ArchUnit models it. Edges are read from the constant pool, so each class has one edge per type
+ * or member it refers to rather than one per use: dependencies on the types named by its class entries and
+ * declarations, and accesses of the fields, methods and constructors it references, including those only
+ * referenced by method handles, and of synthetic accessors, which ArchUnit resolves to the member behind them.
+ * Accessed members are deprecated if the scanned class which declares them is; members inherited from a supertype
+ * are not resolved. When a class is on the classpath twice, the first copy wins.
+ */
+@NullMarked
+public final class ClasspathSnapshot {
+    private static final int ACC_INTERFACE = 0x0200;
+    /**
+     * the class access flags of the modifiers, as ArchUnit reads them; its {@code getModifiersForClass} is deprecated
+     */
+    private static final Map<JavaModifier, Integer> CLASS_MODIFIERS = new EnumMap<>(JavaModifier.class);
+
+    static {
+        CLASS_MODIFIERS.put(JavaModifier.PUBLIC, 0x0001);
+        CLASS_MODIFIERS.put(JavaModifier.PRIVATE, 0x0002);
+        CLASS_MODIFIERS.put(JavaModifier.PROTECTED, 0x0004);
+        CLASS_MODIFIERS.put(JavaModifier.STATIC, 0x0008);
+        CLASS_MODIFIERS.put(JavaModifier.FINAL, 0x0010);
+        CLASS_MODIFIERS.put(JavaModifier.ABSTRACT, 0x0400);
+        CLASS_MODIFIERS.put(JavaModifier.SYNTHETIC, 0x1000);
+    }
+
+    private ClasspathSnapshot() {
+    }
+
+    /**
+     * scans the class directories and jars and writes their snapshot to the file, replacing it atomically
+     */
+    public static void write(Collection<Path> classpath, Path file) {
+        GraphSnapshot.Builder builder = GraphSnapshot.builder();
+        Set<String> scanned = new HashSet<>();
+        for (Path root : classpath) {
+            ClassFiles.scan(root, (uri, classFile) -> {
+                ClassFileInfo info;
+                try {
+                    info = ClassFileInfo.read(classFile);
+                } catch (IOException e) {
+                    // unreadable classes are only known by the name of the edges to them
+                    return;
+                }
+                if (!info.getName().equals("module-info") && scanned.add(info.getName())) {
+                    add(builder, info);
+                }
+            });
+        }
+        builder.write(file);
+    }
+
+    private static void add(GraphSnapshot.Builder builder, ClassFileInfo info) {
+        String name = className(info.getName());
+        boolean isInterface = (info.getAccessFlags() & ACC_INTERFACE) != 0;
+        List<String> interfaceNames = new ArrayList<>();
+        for (String rawInterface : info.getInterfaces()) {
+            interfaceNames.add(className(rawInterface));
+        }
+        List<String> annotationTypeNames = new ArrayList<>();
+        for (String annotationType : info.getAnnotationTypes()) {
+            annotationTypeNames.add(className(annotationType));
+        }
+        // ArchUnit models interfaces without a superclass, unless it reads Object from their generic signature
+        @Nullable String superName = isInterface && !info.hasSignature() ? null : info.getSuperName();
+        builder.addOrigin(name).describe(name, packageName(name),
+                superName == null ? null : className(superName), interfaceNames,
+                modifiers(info.getAccessFlags()), isInterface, info.getDeprecationStatus(),
+                annotationTypeNames);
+        for (ClassFileInfo.Member member : info.getDeprecatedMembers()) {
+            builder.describeMember(fullName(name, member), member.getDeprecationStatus());
+        }
+        for (String dependency : info.getDependencies()) {
+            builder.addDependency(name, className(dependency));
+        }
+        for (ClassFileInfo.Member member : info.getAccessedMembers()) {
+            String owner = className(member.getOwner());
+            EdgeKind kind = member.isField() ? EdgeKind.FIELD_ACCESS
+                    : member.getName().equals("<init>") ? EdgeKind.CONSTRUCTOR_CALL : EdgeKind.METHOD_CALL;
+            builder.addAccess(name, kind, owner, member.getName(), fullName(owner, member));
+        }
+    }
+
+    private static Set<JavaModifier> modifiers(int accessFlags) {
+        Set<JavaModifier> modifiers = EnumSet.noneOf(JavaModifier.class);
+        CLASS_MODIFIERS.forEach((modifier, flag) -> {
+            if ((accessFlags & flag) != 0) {
+                modifiers.add(modifier);
+            }
+        });
+        return modifiers;
+    }
+
+    /**
+     * the name of a class in internal form as ArchUnit names it, e.g. {@code java.util.Map$Entry} or, for arrays,
+     * {@code [Ljava.lang.String;}
+     */
+    private static String className(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    private static String packageName(String className) {
+        int lastDot = className.lastIndexOf('.');
+        return lastDot < 0 ? "" : className.substring(0, lastDot);
+    }
+
+    /**
+     * the member's name like {@code AccessTarget.getFullName()}, e.g. {@code java.lang.String.valueOf(int)}
+     */
+    private static String fullName(String owner, ClassFileInfo.Member member) {
+        if (member.isField()) {
+            return owner + '.' + member.getName();
+        }
+        StringBuilder fullName = new StringBuilder(owner).append('.').append(member.getName()).append('(');
+        String descriptor = member.getDescriptor();
+        int i = 1;
+        while (i < descriptor.length() && descriptor.charAt(i) != ')') {
+            int end = i;
+            while (end < descriptor.length() - 1 && descriptor.charAt(end) == '[') {
+                end++;
+            }
+            int semicolon = descriptor.indexOf(';', end);
+            end = descriptor.charAt(end) == 'L' && semicolon > 0 ? semicolon + 1 : end + 1;
+            if (i > 1) {
+                fullName.append(", ");
+            }
+            fullName.append(typeName(descriptor.substring(i, end)));
+            i = end;
+        }
+        return fullName.append(')').toString();
+    }
+
+    /**
+     * the name of a field descriptor's type, like {@code Class.getName()}; malformed descriptors are kept
+     */
+    private static String typeName(String descriptor) {
+        switch (descriptor.charAt(0)) {
+            case 'L':
+                return className(descriptor.substring(1, descriptor.length() - 1));
+            case '[':
+                return className(descriptor);
+            case 'Z':
+                return "boolean";
+            case 'B':
+                return "byte";
+            case 'C':
+                return "char";
+            case 'S':
+                return "short";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'F':
+                return "float";
+            case 'D':
+                return "double";
+            default:
+                return className(descriptor);
+        }
+    }
+}
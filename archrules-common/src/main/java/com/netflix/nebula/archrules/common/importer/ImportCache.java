@@ -0,0 +1,160 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.ImportOption;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reuses imports of jars which rarely change (e.g. the Gradle API, Guava, Spring), and keeps a directory for what is
+ * derived from them at import time, such as the {@link ReferenceIndex}'s filters, keyed by content.
+ * <p>
+ * Jars are keyed by the SHA-256 of their content. The hashes are kept in an index file in the cache directory,
+ * keyed by path, size and modification time, so that unchanged jars are not re-hashed either.
+ * <p>
+ * {@link #importJars(Collection, ImportOption...)} keeps each import in memory, softly referenced and shared by all
+ * caches of the JVM, and returns it again for jars of the same content. In a long-lived process like the Gradle
+ * daemon, a build whose jars did not change therefore skips parsing their bytecode. ArchUnit's class model has no
+ * public constructors, so imports cannot be rehydrated from disk, and a new process imports the jars once.
+ */
+@NullMarked
+public final class ImportCache {
+    private static final String INDEX_FILE = "jar-hashes.properties";
+    /**
+     * keyed by the import options' classes and the jars' content hashes, in order
+     */
+    private static final Map<String, SoftReference<JavaClasses>> IMPORTS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final Properties index = new Properties();
+    private boolean indexChanged;
+
+    public ImportCache(Path directory) {
+        this.directory = directory;
+        Path indexFile = directory.resolve(INDEX_FILE);
+        if (Files.isRegularFile(indexFile)) {
+            try (InputStream in = Files.newInputStream(indexFile)) {
+                index.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                // a corrupt index only costs re-hashing
+                index.clear();
+            }
+        }
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    /**
+     * imports the jars, or returns an earlier import of jars with the same content and import options; the options
+     * are told apart by their classes, so options of the same class have to behave the same
+     */
+    public JavaClasses importJars(Collection<Path> jars, ImportOption... importOptions) {
+        String key = Arrays.stream(importOptions).map(it -> it.getClass().getName()).collect(Collectors.joining(","))
+                + "|" + String.join(",", contentHashes(jars));
+        SoftReference<JavaClasses> cached = IMPORTS.get(key);
+        JavaClasses classes = cached == null ? null : cached.get();
+        if (classes == null) {
+            classes = new ClassFileImporter()
+                    .withImportOptions(Arrays.asList(importOptions))
+                    .importLocations(jars.stream().map(ClassFiles::locationOf).collect(Collectors.toList()));
+            IMPORTS.values().removeIf(it -> it.get() == null);
+            IMPORTS.put(key, new SoftReference<>(classes));
+        }
+        return classes;
+    }
+
+    /**
+     * the SHA-256 of the jar's content, as hex
+     */
+    public String contentHash(Path jar) {
+        return contentHashes(Collections.singletonList(jar)).get(0);
+    }
+
+    /**
+     * the SHA-256 of each jar's content, as hex, in the order of the jars; the index file is written once,
+     * after all jars are hashed
+     */
+    public List<String> contentHashes(Collection<Path> jars) {
+        try {
+            List<String> hashes = new ArrayList<>(jars.size());
+            synchronized (index) {
+                for (Path jar : jars) {
+                    hashes.add(hashOf(jar));
+                }
+                writeIndex();
+            }
+            return hashes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String hashOf(Path jar) throws IOException {
+        String indexKey = jar.toAbsolutePath().normalize().toString();
+        String stamp = Files.size(jar) + ":" + Files.getLastModifiedTime(jar).toMillis();
+        String entry = index.getProperty(indexKey);
+        if (entry != null && entry.startsWith(stamp + ":")) {
+            return entry.substring(stamp.length() + 1);
+        }
+        String hash = hash(jar);
+        index.setProperty(indexKey, stamp + ":" + hash);
+        indexChanged = true;
+        return hash;
+    }
+
+    private void writeIndex() throws IOException {
+        if (!indexChanged) {
+            return;
+        }
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            index.store(out, null);
+        }
+        Files.move(temp, directory.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING);
+        indexChanged = false;
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,281 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaPackage;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Bloom filters of the types and members each class references, so that rules can rule out classes which cannot
+ * reference a name before walking their dependencies.
+ * <p>
+ * The index is built by scanning the constant pools of the class directories and jars on the classpath, without
+ * importing them. Filters of jars are stored in the {@link ImportCache}'s directory, keyed by the jar's content,
+ * so each jar is scanned once. Each class's filter answers "could this class reference X?" with no false negatives
+ * and about 1% false positives; each jar also has a filter of everything its classes reference.
+ * <p>
+ * Rules consult the index {@link #attachTo(JavaClasses) attached} to the import of the classes they check through
+ * {@link #prefiltered(DescribedPredicate, String...)} and {@link #prefiltered(ArchCondition, String...)}. An index
+ * is attached to one import and held only as long as it, so concurrent builds in one JVM each use their own. For
+ * classes of an import without an index, or classes the index does not know, every class might reference every
+ * name.
+ */
+@NullMarked
+public final class ReferenceIndex {
+    private static final int FORMAT_VERSION = 2;
+    /**
+     * keyed by the default package of the import, which every class of the import, including the targets of its
+     * dependencies, is nested in
+     */
+    private static final Map<JavaPackage, ReferenceIndex> ATTACHED =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, BloomFilter> classes;
+    private final Map<Path, BloomFilter> jars;
+
+    private ReferenceIndex(Map<String, BloomFilter> classes, Map<Path, BloomFilter> jars) {
+        this.classes = classes;
+        this.jars = jars;
+    }
+
+    /**
+     * scans the class directories and jars, without storing anything
+     */
+    public static ReferenceIndex build(Collection<Path> classpath) {
+        return build(null, classpath);
+    }
+
+    /**
+     * scans the class directories and jars, reusing and storing the filters of jars in the cache's directory
+     */
+    public static ReferenceIndex build(@Nullable ImportCache cache, Collection<Path> classpath) {
+        Map<String, BloomFilter> classes = new HashMap<>();
+        Map<Path, BloomFilter> jars = new HashMap<>();
+        Map<Path, String> hashes = new HashMap<>();
+        if (cache != null) {
+            List<Path> cachedJars = classpath.stream().filter(ClassFiles::isJar).collect(Collectors.toList());
+            List<String> contentHashes = cache.contentHashes(cachedJars);
+            for (int i = 0; i < cachedJars.size(); i++) {
+                hashes.put(cachedJars.get(i), contentHashes.get(i));
+            }
+        }
+        for (Path root : classpath) {
+            String hash = hashes.get(root);
+            Path stored = cache != null && hash != null
+                    ? cache.directory().resolve("references-" + hash + ".bin")
+                    : null;
+            JarFilters filters = stored == null ? null : JarFilters.read(stored);
+            if (filters == null) {
+                filters = JarFilters.scan(root);
+                if (stored != null) {
+                    filters.write(stored);
+                }
+            }
+            // a class on the classpath twice might reference whatever either copy references
+            filters.classes.forEach((name, filter) -> classes.merge(name, filter, (a, b) -> BloomFilter.ALL));
+            if (ClassFiles.isJar(root)) {
+                jars.put(root.toAbsolutePath().normalize(), filters.all);
+            }
+        }
+        return new ReferenceIndex(classes, jars);
+    }
+
+    /**
+     * makes this the index used by prefiltered predicates and conditions for the classes of the import, e.g. by the
+     * import of the classpath the index was built from; views of the import, like {@code classes.that(...)}, share it
+     */
+    public void attachTo(JavaClasses classes) {
+        ATTACHED.put(classes.getDefaultPackage(), this);
+    }
+
+    /**
+     * the index attached to the import of the class, or null
+     */
+    public static @Nullable ReferenceIndex of(JavaClass javaClass) {
+        JavaPackage root = javaClass.getPackage();
+        for (Optional<JavaPackage> parent = root.getParent(); parent.isPresent(); parent = root.getParent()) {
+            root = parent.get();
+        }
+        return ATTACHED.get(root);
+    }
+
+    /**
+     * whether the class, given by fully qualified name, might reference the type (e.g.
+     * {@code com.google.common.base.Optional}) or member (e.g. {@code org.gradle.api.plugins.PluginContainer#apply});
+     * true for classes not in the index
+     */
+    public boolean mightReference(String className, String name) {
+        BloomFilter filter = classes.get(className);
+        return filter == null || filter.mightContain(internalName(name));
+    }
+
+    /**
+     * whether any class of the jar might reference the type or member; true for jars not in the index
+     */
+    public boolean jarMightReference(Path jar, String name) {
+        BloomFilter filter = jars.get(jar.toAbsolutePath().normalize());
+        return filter == null || filter.mightContain(internalName(name));
+    }
+
+    /**
+     * whether the class might reference any of the types or members, according to the index attached to its import
+     */
+    public static boolean mightReferenceAny(JavaClass javaClass, String... names) {
+        ReferenceIndex index = of(javaClass);
+        if (index == null) {
+            return true;
+        }
+        for (String name : names) {
+            if (index.mightReference(javaClass.getName(), name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * the predicate, false without evaluating it for classes which cannot reference any of the types or members;
+     * for {@code that} clauses of rules which can only be violated by classes referencing one of the names.
+     * The description of the predicate is kept.
+     */
+    public static DescribedPredicate<JavaClass> prefiltered(
+            DescribedPredicate<? super JavaClass> predicate,
+            String... names
+    ) {
+        return new DescribedPredicate<JavaClass>("%s", predicate.getDescription()) {
+            @Override
+            public boolean test(JavaClass javaClass) {
+                return mightReferenceAny(javaClass, names) && predicate.test(javaClass);
+            }
+        };
+    }
+
+    /**
+     * the condition, not checked for classes which cannot reference any of the types or members; for conditions
+     * of {@code noClasses()} rules, which are only violated by classes referencing one of the names.
+     * The description of the condition is kept.
+     */
+    public static ArchCondition<JavaClass> prefiltered(ArchCondition<JavaClass> condition, String... names) {
+        return new ArchCondition<JavaClass>("%s", condition.getDescription()) {
+            @Override
+            public void init(Collection<JavaClass> allObjectsToTest) {
+                condition.init(allObjectsToTest);
+            }
+
+            @Override
+            public void check(JavaClass javaClass, ConditionEvents events) {
+                if (mightReferenceAny(javaClass, names)) {
+                    condition.check(javaClass, events);
+                }
+            }
+
+            @Override
+            public void finish(ConditionEvents events) {
+                condition.finish(events);
+            }
+        };
+    }
+
+    private static String internalName(String name) {
+        return name.replace('.', '/');
+    }
+
+    /**
+     * the filters of one class directory or jar
+     */
+    private static final class JarFilters {
+        private final Map<String, BloomFilter> classes;
+        private final BloomFilter all;
+
+        JarFilters(Map<String, BloomFilter> classes, BloomFilter all) {
+            this.classes = classes;
+            this.all = all;
+        }
+
+        static JarFilters scan(Path root) {
+            Map<String, BloomFilter> classes = new HashMap<>();
+            Set<String> all = new HashSet<>();
+            ClassFiles.scan(root, (uri, classFile) -> {
+                ClassFileInfo info;
+                try {
+                    info = ClassFileInfo.read(classFile);
+                } catch (IOException e) {
+                    // unreadable classes are not in the index, so they might reference anything
+                    return;
+                }
+                List<String> names = new ArrayList<>(info.getReferencedTypes());
+                names.addAll(info.getMemberReferences());
+                classes.put(info.getName().replace('/', '.'), BloomFilter.of(names));
+                all.addAll(names);
+            });
+            return new JarFilters(classes, BloomFilter.of(all));
+        }
+
+        /**
+         * the stored filters, or null if there are none or they cannot be read
+         */
+        static @Nullable JarFilters read(Path file) {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                if (in.readInt() != FORMAT_VERSION) {
+                    return null;
+                }
+                BloomFilter all = BloomFilter.read(in);
+                int classCount = in.readInt();
+                Map<String, BloomFilter> classes = new HashMap<>();
+                for (int i = 0; i < classCount; i++) {
+                    classes.put(in.readUTF(), BloomFilter.read(in));
+                }
+                return new JarFilters(classes, all);
+            } catch (IOException e) {
+                // corrupt filters only cost a scan
+                return null;
+            }
+        }
+
+        void write(Path file) {
+            try {
+                Path directory = file.toAbsolutePath().getParent();
+                Files.createDirectories(directory);
+                Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+                try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                    out.writeInt(FORMAT_VERSION);
+                    all.write(out);
+                    out.writeInt(classes.size());
+                    for (Map.Entry<String, BloomFilter> entry : classes.entrySet()) {
+                        out.writeUTF(entry.getKey());
+                        entry.getValue().write(out);
+                    }
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
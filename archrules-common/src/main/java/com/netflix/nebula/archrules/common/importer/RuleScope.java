@@ -0,0 +1,179 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.tngtech.archunit.lang.ArchRule;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Which classes a rule can report violations for, so that a {@link ScopedImport} can skip the others.
+ * <p>
+ * A class is in scope if it is a subtype of one of the {@link #subtypesOf(String...) supertypes}, its constant pool
+ * references one of the {@link #referencing(String...) packages}, {@link #referencingTypes(String...) types} or
+ * {@link #accessing(String, String) members}, or it is a subtype of such a class. With
+ * {@link #withReferencedClasses()}, classes referenced by such classes are in scope too, e.g. extension classes
+ * created by a plugin. A scope has to include every class the rule's {@code that()} clause can select; rules
+ * without a scope are assumed to need every class. The {@code package-info} class of each package with classes in
+ * scope is included as well, so that predicates on package annotations, like {@code @NullMarked}, keep working.
+ */
+@NullMarked
+public final class RuleScope {
+    private static final RuleScope EVERYTHING = new RuleScope(true, Collections.emptySet(),
+            Collections.emptySet(), Collections.emptySet(), false);
+    private static final Map<ArchRule, RuleScope> SCOPES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final boolean everything;
+    private final Set<String> supertypes;
+    /**
+     * internal names and package prefixes, e.g. {@code com/google/common/}, one of which the constant pool mentions
+     */
+    private final Set<String> mentions;
+    /**
+     * fields and methods as {@code owner#name}, one of which the constant pool references
+     */
+    private final Set<String> members;
+    private final boolean referencedClasses;
+
+    private RuleScope(
+            boolean everything,
+            Set<String> supertypes,
+            Set<String> mentions,
+            Set<String> members,
+            boolean referencedClasses
+    ) {
+        this.everything = everything;
+        this.supertypes = Collections.unmodifiableSet(supertypes);
+        this.mentions = Collections.unmodifiableSet(mentions);
+        this.members = Collections.unmodifiableSet(members);
+        this.referencedClasses = referencedClasses;
+    }
+
+    public static RuleScope everything() {
+        return EVERYTHING;
+    }
+
+    /**
+     * classes assignable to any of the types, given by fully qualified name
+     */
+    public static RuleScope subtypesOf(String... typeNames) {
+        return new RuleScope(false, new LinkedHashSet<>(Arrays.asList(typeNames)), Collections.emptySet(),
+                Collections.emptySet(), false);
+    }
+
+    /**
+     * classes which reference anything in or below any of the packages, e.g. {@code com.google.common}
+     */
+    public static RuleScope referencing(String... packageNames) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (String packageName : packageNames) {
+            prefixes.add(internalName(packageName) + "/");
+        }
+        return new RuleScope(false, Collections.emptySet(), prefixes, Collections.emptySet(), false);
+    }
+
+    /**
+     * classes which reference any of the types, given by fully qualified name, e.g. as a supertype, field type,
+     * annotation or call target; the scope of rules like "no classes should depend on X"
+     */
+    public static RuleScope referencingTypes(String... typeNames) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String typeName : typeNames) {
+            names.add(internalName(typeName));
+        }
+        return new RuleScope(false, Collections.emptySet(), names, Collections.emptySet(), false);
+    }
+
+    /**
+     * classes which call the method or access the field of the owner, given by fully qualified name;
+     * the scope of rules like "no classes should call X.y()"
+     */
+    public static RuleScope accessing(String ownerName, String memberName) {
+        return new RuleScope(false, Collections.emptySet(), Collections.emptySet(),
+                Collections.singleton(internalName(ownerName) + '#' + memberName), false);
+    }
+
+    /**
+     * classes in this scope or the other
+     */
+    public RuleScope or(RuleScope other) {
+        if (everything || other.everything) {
+            return EVERYTHING;
+        }
+        return new RuleScope(false, union(supertypes, other.supertypes), union(mentions, other.mentions),
+                union(members, other.members), referencedClasses || other.referencedClasses);
+    }
+
+    /**
+     * also the classes referenced by classes in this scope
+     */
+    public RuleScope withReferencedClasses() {
+        return everything ? this : new RuleScope(false, supertypes, mentions, members, true);
+    }
+
+    /**
+     * marks the rule with its scope; call this on the final rule, since {@code because} and similar methods
+     * return new rules
+     */
+    public static ArchRule scoped(ArchRule rule, RuleScope scope) {
+        SCOPES.put(rule, scope);
+        return rule;
+    }
+
+    /**
+     * the scope the rule was marked with, or {@link #everything()}
+     */
+    public static RuleScope of(ArchRule rule) {
+        return SCOPES.getOrDefault(rule, EVERYTHING);
+    }
+
+    /**
+     * the union of the rules' scopes
+     */
+    public static RuleScope of(Collection<ArchRule> rules) {
+        if (rules.isEmpty()) {
+            return EVERYTHING;
+        }
+        RuleScope union = null;
+        for (ArchRule rule : rules) {
+            RuleScope scope = of(rule);
+            union = union == null ? scope : union.or(scope);
+        }
+        return union;
+    }
+
+    boolean isEverything() {
+        return everything;
+    }
+
+    Set<String> getSupertypes() {
+        return supertypes;
+    }
+
+    Set<String> getMentions() {
+        return mentions;
+    }
+
+    Set<String> getMembers() {
+        return members;
+    }
+
+    boolean includesReferencedClasses() {
+        return referencedClasses;
+    }
+
+    private static Set<String> union(Set<String> first, Set<String> second) {
+        Set<String> union = new LinkedHashSet<>(first);
+        union.addAll(second);
+        return union;
+    }
+
+    private static String internalName(String name) {
+        return name.replace('.', '/');
+    }
+}
@@ -0,0 +1,224 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.core.importer.Location;
+import com.tngtech.archunit.lang.ArchRule;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports only the classes which are in the {@link RuleScope scope} of the rules being evaluated.
+ * <p>
+ * The class directories and jars are pre-scanned by reading each class file's header (name, supertypes and
+ * constant pool), which is much cheaper than ArchUnit's import. Jars and directories without any class in scope
+ * are not imported at all, and within the others this import option excludes the classes out of scope.
+ * The {@code package-info} classes of the packages with classes in scope are always imported, so that package
+ * annotations are seen.
+ * If any rule has no scope, every class is imported.
+ */
+@NullMarked
+public final class ScopedImport implements ImportOption {
+    private static final String PACKAGE_INFO = "/package-info";
+
+    private final Set<Location> locations;
+    private final Set<String> scanned;
+    private final Set<String> inScope;
+
+    private ScopedImport(Set<Location> locations, Set<String> scanned, Set<String> inScope) {
+        this.locations = locations;
+        this.scanned = scanned;
+        this.inScope = inScope;
+    }
+
+    /**
+     * scans the class directories and jars for the classes in the scope of any of the rules
+     */
+    public static ScopedImport scan(Collection<ArchRule> rules, Collection<Path> classpath) {
+        return scan(RuleScope.of(rules), classpath);
+    }
+
+    public static ScopedImport scan(RuleScope scope, Collection<Path> classpath) {
+        if (scope.isEverything()) {
+            Set<Location> locations = classpath.stream().map(ClassFiles::locationOf)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            return new ScopedImport(locations, Collections.emptySet(), Collections.emptySet());
+        }
+        List<ScannedClass> classes = new ArrayList<>();
+        List<Path> roots = new ArrayList<>(classpath);
+        Set<Path> unscannable = new HashSet<>();
+        for (int root = 0; root < roots.size(); root++) {
+            final int index = root;
+            if (!ClassFiles.scan(roots.get(root),
+                    (uri, classFile) -> classes.add(ScannedClass.of(scope, uri, index, classFile)))) {
+                unscannable.add(roots.get(root));
+            }
+        }
+        Set<ScannedClass> inScope = inScope(scope, classes);
+
+        Set<Integer> rootsInScope = new HashSet<>();
+        inScope.forEach(it -> rootsInScope.add(it.root));
+        Set<Location> locations = new LinkedHashSet<>();
+        for (int root = 0; root < roots.size(); root++) {
+            if (rootsInScope.contains(root) || unscannable.contains(roots.get(root))) {
+                locations.add(ClassFiles.locationOf(roots.get(root)));
+            }
+        }
+        return new ScopedImport(locations,
+                classes.stream().map(it -> it.uri).collect(Collectors.toSet()),
+                inScope.stream().map(it -> it.uri).collect(Collectors.toSet()));
+    }
+
+    /**
+     * the class directories and jars which contain classes in scope
+     */
+    public Set<Location> getLocations() {
+        return Collections.unmodifiableSet(locations);
+    }
+
+    /**
+     * whether the class file is in scope; classes which were not scanned are always included
+     */
+    @Override
+    public boolean includes(Location location) {
+        String uri = ClassFiles.uriOf(location);
+        return inScope.contains(uri) || !scanned.contains(uri);
+    }
+
+    /**
+     * imports the classes in scope
+     */
+    public JavaClasses importClasses() {
+        return new ClassFileImporter().withImportOption(this).importLocations(locations);
+    }
+
+    int classesInScope() {
+        return inScope.size();
+    }
+
+    private static Set<ScannedClass> inScope(RuleScope scope, List<ScannedClass> classes) {
+        Map<String, List<ScannedClass>> byName = new HashMap<>();
+        Map<String, List<ScannedClass>> subtypes = new HashMap<>();
+        for (ScannedClass scannedClass : classes) {
+            byName.computeIfAbsent(scannedClass.name, it -> new ArrayList<>()).add(scannedClass);
+            for (String supertype : scannedClass.supertypes) {
+                subtypes.computeIfAbsent(supertype, it -> new ArrayList<>()).add(scannedClass);
+            }
+        }
+        Set<ScannedClass> inScope = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<String> supertypes = new ArrayDeque<>();
+        for (String supertype : scope.getSupertypes()) {
+            supertypes.add(internalName(supertype));
+        }
+        // subtypes of classes in scope are in scope too, e.g. tasks extending a task of the same build
+        for (ScannedClass scannedClass : classes) {
+            if (scannedClass.direct) {
+                inScope.add(scannedClass);
+                supertypes.add(scannedClass.name);
+            }
+        }
+        Set<String> visited = new HashSet<>(supertypes);
+        while (!supertypes.isEmpty()) {
+            for (ScannedClass subtype : subtypes.getOrDefault(supertypes.poll(), Collections.emptyList())) {
+                inScope.add(subtype);
+                if (visited.add(subtype.name)) {
+                    supertypes.add(subtype.name);
+                }
+            }
+        }
+        if (scope.includesReferencedClasses()) {
+            for (ScannedClass scannedClass : new ArrayList<>(inScope)) {
+                for (String reference : scannedClass.references) {
+                    inScope.addAll(byName.getOrDefault(reference, Collections.emptyList()));
+                }
+            }
+        }
+        // package annotations, e.g. @NullMarked, are read from package-info, which references nothing in scope
+        Set<String> packages = new HashSet<>();
+        inScope.forEach(it -> packages.add(packageOf(it.name)));
+        for (String packageName : packages) {
+            inScope.addAll(byName.getOrDefault(packageName + PACKAGE_INFO, Collections.emptyList()));
+        }
+        return inScope;
+    }
+
+    private static String packageOf(String internalName) {
+        return internalName.substring(0, Math.max(internalName.lastIndexOf('/'), 0));
+    }
+
+    private static String internalName(String name) {
+        return name.replace('.', '/');
+    }
+
+    /**
+     * what the scan keeps of a class file; the constant pool strings are only looked at while scanning
+     */
+    private static final class ScannedClass {
+        private final String uri;
+        private final int root;
+        private final String name;
+        private final List<String> supertypes;
+        private final List<String> references;
+        /**
+         * in scope on its own, because its constant pool references the scope's names or it could not be read
+         */
+        private final boolean direct;
+
+        private ScannedClass(
+                String uri,
+                int root,
+                String name,
+                List<String> supertypes,
+                List<String> references,
+                boolean direct
+        ) {
+            this.uri = uri;
+            this.root = root;
+            this.name = name;
+            this.supertypes = supertypes;
+            this.references = references;
+            this.direct = direct;
+        }
+
+        static ScannedClass of(RuleScope scope, String uri, int root, ByteBuffer classFile) {
+            ClassFileInfo info;
+            try {
+                info = ClassFileInfo.read(classFile);
+            } catch (IOException e) {
+                return new ScannedClass(uri, root, uri, Collections.emptyList(), Collections.emptyList(), true);
+            }
+            List<String> supertypes = new ArrayList<>(info.getInterfaces());
+            String superName = info.getSuperName();
+            if (superName != null) {
+                supertypes.add(superName);
+            }
+            boolean direct = false;
+            for (String mention : scope.getMentions()) {
+                direct = direct || info.mentions(mention);
+            }
+            for (String member : scope.getMembers()) {
+                direct = direct || info.getMemberReferences().contains(member);
+            }
+            return new ScannedClass(uri, root, info.getName(), supertypes,
+                    scope.includesReferencedClasses() ? info.getClassReferences() : Collections.emptyList(),
+                    direct);
+        }
+    }
+}
@@ -5,10 +5,18 @@ import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.core.domain.Dependency;
 import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
+import java.util.AbstractCollection;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.function.Function;
 
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
@@ -16,33 +24,43 @@ import static com.tngtech.archunit.base.DescribedPredicate.alwaysFalse;
 
 /**
  * Duplicate of {@link AnyDependencyCondition}.
+ * <p>
+ * Unlike the original, the relevant dependencies are not copied into a new set for every class.
+ * They are streamed from {@code javaClassToRelevantDependencies}, the ignore predicate is applied inline,
+ * and the condition predicate is evaluated exactly once per dependency.
+ * Dependencies are only de-duplicated if the source collection is not already a {@link Set}.
+ * With {@link #stopAtFirstMatch()}, evaluation of a class ends at its first matching dependency.
  * @deprecated Can be removed once <a href="https://github.com/TNG/ArchUnit/pull/1580">haveDependenciesThat</a> is merged.
  */
 @Deprecated
 @NullMarked
-public final class NebulaAnyDependencyCondition extends AnyAttributeMatchesCondition<Dependency> {
+public final class NebulaAnyDependencyCondition
+        extends AnyAttributeMatchesCondition<NebulaAnyDependencyCondition.EvaluatedDependency> {
     private final DescribedPredicate<? super Dependency> conditionPredicate;
     private final Function<JavaClass, ? extends Collection<Dependency>> javaClassToRelevantDependencies;
     private final DescribedPredicate<Dependency> ignorePredicate;
+    private final boolean stopAtFirstMatch;
 
     public NebulaAnyDependencyCondition(
             String description,
             DescribedPredicate<? super Dependency> predicate,
             Function<JavaClass, ? extends Collection<Dependency>> javaClassToRelevantDependencies) {
 
-        this(description, predicate, javaClassToRelevantDependencies, alwaysFalse());
+        this(description, predicate, javaClassToRelevantDependencies, alwaysFalse(), false);
     }
 
     private NebulaAnyDependencyCondition(
             String description,
             DescribedPredicate<? super Dependency> conditionPredicate,
             Function<JavaClass, ? extends Collection<Dependency>> javaClassToRelevantDependencies,
-            DescribedPredicate<Dependency> ignorePredicate) {
+            DescribedPredicate<Dependency> ignorePredicate,
+            boolean stopAtFirstMatch) {
 
-        super(description, new DependencyCondition(conditionPredicate));
+        super(description, new EvaluatedDependencyCondition(conditionPredicate));
         this.conditionPredicate = conditionPredicate;
         this.javaClassToRelevantDependencies = javaClassToRelevantDependencies;
         this.ignorePredicate = ignorePredicate;
+        this.stopAtFirstMatch = stopAtFirstMatch;
     }
 
     @PublicAPI(usage = ACCESS)
@@ -50,7 +68,24 @@ public final class NebulaAnyDependencyCondition extends AnyAttributeMatchesCondi
         return new NebulaAnyDependencyCondition(getDescription(),
                 conditionPredicate,
                 javaClassToRelevantDependencies,
-                this.ignorePredicate.or(ignorePredicate));
+                this.ignorePredicate.or(ignorePredicate),
+                stopAtFirstMatch);
+    }
+
+    /**
+     * Stops evaluating a class once one matching dependency is found.
+     * <p>
+     * Use this when only the existence of a match matters.
+     * A violation of {@code noClasses().should(...)} then reports only the first matching dependency of each class,
+     * instead of all of them.
+     */
+    @PublicAPI(usage = ACCESS)
+    public NebulaAnyDependencyCondition stopAtFirstMatch() {
+        return new NebulaAnyDependencyCondition(getDescription(),
+                conditionPredicate,
+                javaClassToRelevantDependencies,
+                ignorePredicate,
+                true);
     }
 
     @Override
@@ -60,17 +95,105 @@ public final class NebulaAnyDependencyCondition extends AnyAttributeMatchesCondi
                 String.format(description, args),
                 conditionPredicate,
                 javaClassToRelevantDependencies,
-                ignorePredicate);
+                ignorePredicate,
+                stopAtFirstMatch);
     }
 
     @Override
-    Collection<Dependency> relevantAttributes(JavaClass javaClass) {
-        Collection<Dependency> result = new HashSet<>();
-        for (Dependency dependency : javaClassToRelevantDependencies.apply(javaClass)) {
-            if (!ignorePredicate.test(dependency)) {
-                result.add(dependency);
+    Collection<EvaluatedDependency> relevantAttributes(JavaClass javaClass) {
+        Collection<Dependency> dependencies = javaClassToRelevantDependencies.apply(javaClass);
+        return new AbstractCollection<EvaluatedDependency>() {
+            @Override
+            public Iterator<EvaluatedDependency> iterator() {
+                return new EvaluatingIterator(dependencies);
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (Iterator<EvaluatedDependency> it = iterator(); it.hasNext(); it.next()) {
+                    size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Lazily filters, de-duplicates and evaluates the dependencies of one class
+     */
+    private final class EvaluatingIterator implements Iterator<EvaluatedDependency> {
+        private final Iterator<Dependency> source;
+        @Nullable
+        private final Set<Dependency> seen;
+        @Nullable
+        private EvaluatedDependency next;
+        private boolean matched;
+
+        EvaluatingIterator(Collection<Dependency> dependencies) {
+            this.source = dependencies.iterator();
+            this.seen = dependencies instanceof Set ? null : new HashSet<>();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
             }
+            if (stopAtFirstMatch && matched) {
+                return false;
+            }
+            while (source.hasNext()) {
+                Dependency dependency = source.next();
+                if (ignorePredicate.test(dependency)) {
+                    continue;
+                }
+                if (seen != null && !seen.add(dependency)) {
+                    continue;
+                }
+                boolean matches = conditionPredicate.test(dependency);
+                matched |= matches;
+                next = new EvaluatedDependency(dependency, matches);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public EvaluatedDependency next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            EvaluatedDependency result = next;
+            next = null;
+            return result;
+        }
+    }
+
+    /**
+     * A dependency together with the result of the condition predicate, so that the predicate is evaluated once
+     */
+    static final class EvaluatedDependency {
+        private final Dependency dependency;
+        private final boolean matches;
+
+        EvaluatedDependency(Dependency dependency, boolean matches) {
+            this.dependency = dependency;
+            this.matches = matches;
+        }
+    }
+
+    /**
+     * Equivalent of {@link DependencyCondition} for dependencies which have already been evaluated
+     */
+    private static final class EvaluatedDependencyCondition extends ArchCondition<EvaluatedDependency> {
+        EvaluatedDependencyCondition(DescribedPredicate<? super Dependency> conditionPredicate) {
+            super(conditionPredicate.getDescription());
+        }
+
+        @Override
+        public void check(EvaluatedDependency item, ConditionEvents events) {
+            events.add(new SimpleConditionEvent(item.dependency, item.matches, item.dependency.getDescription()));
         }
-        return result;
     }
 }
@@ -0,0 +1,77 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.netflix.nebula.archrules.common.Util.scanClass;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AssignabilityIndexTest {
+
+    @Test
+    public void test_matchesArchUnit() {
+        final var typeNames = Stream.of(Child.class, Base.class, Runnable.class, Comparable.class, Serializable.class,
+                        Object.class, String.class, AssignabilityIndexTest.class)
+                .map(Class::getName)
+                .toArray(String[]::new);
+        for (Class<?> clazz : new Class<?>[]{Child.class, Base.class, AssignabilityIndexTest.class}) {
+            JavaClass javaClass = scanClass(clazz);
+            for (String typeName : typeNames) {
+                assertThat(AssignabilityIndex.isAssignableTo(javaClass, typeName))
+                        .as("%s assignable to %s", clazz.getSimpleName(), typeName)
+                        .isEqualTo(javaClass.isAssignableTo(typeName));
+            }
+        }
+    }
+
+    @Test
+    public void test_assignableToAny() {
+        final var predicate = AssignabilityIndex.assignableToAny(String.class.getName(), Runnable.class.getName());
+        assertThat(predicate.test(scanClass(Child.class))).isTrue();
+        assertThat(predicate.test(scanClass(AssignabilityIndexTest.class))).isFalse();
+        assertThat(predicate.getDescription())
+                .isEqualTo("assignable to any of [java.lang.String, java.lang.Runnable]");
+        assertThat(AssignabilityIndex.assignableToAny(Runnable.class.getName()).getDescription())
+                .isEqualTo("assignable to java.lang.Runnable");
+    }
+
+    @Test
+    public void test_separateImports() {
+        final var predicate = AssignabilityIndex.assignableToAny(Runnable.class.getName());
+        final var classes = new ClassFileImporter().importClasses(Child.class, Base.class);
+        final var other = new ClassFileImporter().importClasses(AssignabilityIndexTest.class, Child.class);
+
+        assertThat(predicate.test(classes.get(Child.class))).isTrue();
+        assertThat(predicate.test(other.get(AssignabilityIndexTest.class))).isFalse();
+        assertThat(predicate.test(other.get(Child.class))).isTrue();
+        assertThat(predicate.test(classes.get(Base.class))).isTrue();
+    }
+
+    @Test
+    public void test_concurrentEvaluation() {
+        final var predicate = AssignabilityIndex.assignableToAny(Serializable.class.getName());
+        JavaClass child = scanClass(Child.class);
+
+        boolean allMatch = IntStream.range(0, 1000).parallel().allMatch(i -> predicate.test(child));
+
+        assertThat(allMatch).isTrue();
+    }
+
+    static class Base implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    static class Child extends Base implements Comparable<Child>, Serializable {
+        @Override
+        public int compareTo(Child o) {
+            return 0;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.netflix.nebula.archrules.common;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static com.netflix.nebula.archrules.common.CanBeAnnotated.Predicates.annotatedWithAny;
 import static com.netflix.nebula.archrules.common.Util.scanClass;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,6 +32,24 @@ class CanBeAnnotatedTest {
         assertThat(rule.getDescription()).startsWith("annotated with any [");
     }
 
+    @Test
+    public void test_annotatedWithAny_iterable() {
+        final var rule = annotatedWithAny(List.of(SomeAnnotation.class.getName(), AnotherAnnotation.class.getName()));
+        assertThat(rule.test(scanClass(Annotated1.class))).isTrue();
+        assertThat(rule.test(scanClass(Annotated2.class))).isTrue();
+        assertThat(rule.test(scanClass(Usage.class))).isFalse();
+        assertThat(rule.getDescription()).isEqualTo("annotated with any [" + SomeAnnotation.class.getName() + ", " +
+                                                    AnotherAnnotation.class.getName() + "]");
+    }
+
+    @Test
+    public void test_annotatedWithAny_empty() {
+        final var rule = annotatedWithAny();
+        assertThat(rule.test(scanClass(Annotated1.class))).isTrue();
+        assertThat(rule.test(scanClass(Usage.class))).isFalse();
+        assertThat(rule.getDescription()).isEqualTo("annotated with any []");
+    }
+
     @Deprecated
     static class JavaDeprecatedClass {
     }
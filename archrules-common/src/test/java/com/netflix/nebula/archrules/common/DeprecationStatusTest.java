@@ -0,0 +1,83 @@
+package com.netflix.nebula.archrules.common;
+
+import org.junit.jupiter.api.Test;
+
+import static com.netflix.nebula.archrules.common.Util.scanClass;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeprecationStatusTest {
+
+    @Test
+    public void test_none() {
+        assertThat(DeprecationStatus.of(scanClass(NotDeprecated.class))).isEqualTo(DeprecationStatus.NONE);
+        assertThat(DeprecationStatus.NONE.isDeprecated()).isFalse();
+    }
+
+    @Test
+    public void test_javaDeprecated() {
+        assertThat(DeprecationStatus.of(scanClass(JavaDeprecated.class))).isEqualTo(DeprecationStatus.DEPRECATED);
+    }
+
+    @Test
+    public void test_javaDeprecatedForRemoval() {
+        assertThat(DeprecationStatus.of(scanClass(JavaDeprecatedForRemoval.class)))
+                .isEqualTo(DeprecationStatus.FOR_REMOVAL);
+    }
+
+    @Test
+    public void test_kotlinDeprecated() {
+        assertThat(DeprecationStatus.of(scanClass(KotlinDeprecated.class))).isEqualTo(DeprecationStatus.DEPRECATED);
+        assertThat(DeprecationStatus.of(scanClass(DeprecatedSinceKotlin.class)))
+                .isEqualTo(DeprecationStatus.DEPRECATED);
+    }
+
+    @Test
+    public void test_kotlinDeprecatedWithLevel() {
+        assertThat(DeprecationStatus.of(scanClass(KotlinDeprecatedError.class)))
+                .isEqualTo(DeprecationStatus.KOTLIN_LEVEL);
+    }
+
+    @Test
+    public void test_strongestStatusWins() {
+        assertThat(DeprecationStatus.of(scanClass(DeprecatedEverywhere.class)))
+                .isEqualTo(DeprecationStatus.FOR_REMOVAL);
+    }
+
+    @Test
+    public void test_method() {
+        assertThat(DeprecationStatus.of(scanClass(NotDeprecated.class).getMethod("deprecatedMethod")))
+                .isEqualTo(DeprecationStatus.DEPRECATED);
+    }
+
+    @SuppressWarnings("unused")
+    static class NotDeprecated {
+        @Deprecated
+        void deprecatedMethod() {
+        }
+    }
+
+    @Deprecated
+    static class JavaDeprecated {
+    }
+
+    @Deprecated(forRemoval = true)
+    static class JavaDeprecatedForRemoval {
+    }
+
+    @kotlin.Deprecated(message = "deprecated")
+    static class KotlinDeprecated {
+    }
+
+    @kotlin.DeprecatedSinceKotlin
+    static class DeprecatedSinceKotlin {
+    }
+
+    @kotlin.Deprecated(message = "deprecated", level = kotlin.DeprecationLevel.ERROR)
+    static class KotlinDeprecatedError {
+    }
+
+    @Deprecated(forRemoval = true)
+    @kotlin.Deprecated(message = "deprecated", level = kotlin.DeprecationLevel.HIDDEN)
+    static class DeprecatedEverywhere {
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 
 import static com.netflix.nebula.archrules.common.Dependency.Predicates.resideInSamePackage;
 import static com.netflix.nebula.archrules.common.JavaClass.Conditions.haveAnyDependenciesThat;
+import static com.netflix.nebula.archrules.common.JavaClass.Conditions.haveAtLeastOneDependencyThat;
 import static com.netflix.nebula.archrules.common.JavaClass.Predicates.nullSafe;
 import static com.netflix.nebula.archrules.common.JavaClass.Predicates.resideInAPackageThat;
 import static com.netflix.nebula.archrules.common.Util.scanClass;
@@ -37,6 +38,33 @@ public class JavaClassTest {
         assertThat(result.hasViolation()).isFalse();
     }
 
+    @Test
+    public void test_atLeastOne_same() {
+        final var rule = ArchRuleDefinition.noClasses().should(haveAtLeastOneDependencyThat(resideInSamePackage()))
+                .because("because");
+        EvaluationResult result = rule.evaluate(scanClasses(JavaClassTest.TwoSameUsages.class));
+        assertThat(result.hasViolation()).isTrue();
+        assertThat(result.getFailureReport().getDetails()).hasSize(1);
+        assertThat(result.getFailureReport().toString())
+                .contains("no classes should have at least one dependency that reside in same package");
+    }
+
+    @Test
+    public void test_any_reportsAllMatches() {
+        final var rule = ArchRuleDefinition.noClasses().should(haveAnyDependenciesThat(resideInSamePackage()))
+                .because("because");
+        EvaluationResult result = rule.evaluate(scanClasses(JavaClassTest.TwoSameUsages.class));
+        assertThat(result.getFailureReport().getDetails().size()).isGreaterThan(1);
+    }
+
+    @Test
+    public void test_atLeastOne_other() {
+        final var rule = ArchRuleDefinition.noClasses().should(haveAtLeastOneDependencyThat(resideInSamePackage()))
+                .because("because");
+        EvaluationResult result = rule.evaluate(scanClasses(JavaClassTest.OtherUsage.class));
+        assertThat(result.hasViolation()).isFalse();
+    }
+
     @Test
     public void test_resideInPackageAnnotatedWith_true() {
         assertThat(JavaClass.Predicates.resideInPackageAnnotatedWith(Deprecated.class)
@@ -104,4 +132,10 @@ public class JavaClassTest {
     static class SameUsage {
         DependencyTest.OtherUsage samePackage;
     }
+
+    @SuppressWarnings("unused")
+    static class TwoSameUsages {
+        DependencyTest.OtherUsage samePackage;
+        DependencyTest.SameUsage anotherSamePackage;
+    }
 }
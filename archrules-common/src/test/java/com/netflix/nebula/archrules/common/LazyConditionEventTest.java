@@ -0,0 +1,47 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyConditionEventTest {
+    @Test
+    public void test_messageRenderedOnlyForReport() {
+        final var rendered = new AtomicInteger();
+        final var condition = new ArchCondition<JavaClass>("be lazy") {
+            @Override
+            public void check(JavaClass item, ConditionEvents events) {
+                events.add(LazyConditionEvent.violated(item, () -> {
+                    rendered.incrementAndGet();
+                    return item.getSimpleName() + " is not lazy";
+                }));
+            }
+        };
+
+        final var result = ArchRuleDefinition.classes().should(condition)
+                .evaluate(new ClassFileImporter().importClasses(LazyConditionEventTest.class));
+
+        assertThat(result.hasViolation()).isTrue();
+        assertThat(rendered).hasValue(0);
+        assertThat(result.getFailureReport().getDetails()).containsExactly("LazyConditionEventTest is not lazy");
+        assertThat(result.getFailureReport().getDetails()).containsExactly("LazyConditionEventTest is not lazy");
+        assertThat(rendered).hasValue(1);
+    }
+
+    @Test
+    public void test_format() {
+        final var event = LazyConditionEvent.violated(this, "%s has %d violations", "rule", 2);
+
+        assertThat(event.isViolation()).isTrue();
+        assertThat(event.getDescriptionLines()).containsExactly("rule has 2 violations");
+        assertThat(event.invert().isViolation()).isFalse();
+        assertThat(event.invert().getDescriptionLines()).containsExactly("rule has 2 violations");
+    }
+}
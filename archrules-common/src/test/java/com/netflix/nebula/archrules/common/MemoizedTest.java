@@ -0,0 +1,93 @@
+package com.netflix.nebula.archrules.common;
+
+import com.netflix.nebula.archrules.common.other.ClassInOtherPackage;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaPackage;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.netflix.nebula.archrules.common.Util.scanClasses;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MemoizedTest {
+
+    @Test
+    public void test_evaluatedOncePerPackage() {
+        final var invocations = new AtomicInteger();
+        final DescribedPredicate<JavaPackage> predicate = Memoized.of(countingPredicate(invocations));
+        JavaClasses classes = scanClasses(MemoizedTest.class, DependencyTest.class, ClassInOtherPackage.class);
+
+        classes.forEach(it -> predicate.test(it.getPackage()));
+        classes.forEach(it -> predicate.test(it.getPackage()));
+
+        assertThat(invocations.get()).isEqualTo(2);
+        assertThat(predicate.getDescription()).isEqualTo("counting");
+    }
+
+    @Test
+    public void test_evaluatedOncePerClass() {
+        final var invocations = new AtomicInteger();
+        final DescribedPredicate<com.tngtech.archunit.core.domain.JavaClass> predicate =
+                Memoized.of(countingPredicate(invocations));
+        JavaClasses classes = scanClasses(MemoizedTest.class, DependencyTest.class, ClassInOtherPackage.class);
+
+        classes.forEach(predicate::test);
+        classes.forEach(predicate::test);
+
+        assertThat(invocations.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void test_separateImportsAreEvaluatedSeparately() {
+        final var invocations = new AtomicInteger();
+        final DescribedPredicate<JavaPackage> predicate = Memoized.of(countingPredicate(invocations));
+
+        predicate.test(scanClasses(MemoizedTest.class).get(MemoizedTest.class).getPackage());
+        predicate.test(scanClasses(MemoizedTest.class).get(MemoizedTest.class).getPackage());
+
+        assertThat(invocations.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void test_concurrentEvaluation() {
+        final var invocations = new AtomicInteger();
+        final DescribedPredicate<JavaPackage> predicate = Memoized.of(countingPredicate(invocations));
+        JavaPackage javaPackage = scanClasses(MemoizedTest.class).get(MemoizedTest.class).getPackage();
+
+        boolean allTrue = IntStream.range(0, 1000).parallel().allMatch(i -> predicate.test(javaPackage));
+
+        assertThat(allTrue).isTrue();
+        assertThat(invocations.get()).isBetween(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    public void test_notWrappedTwice() {
+        final DescribedPredicate<JavaPackage> predicate = Memoized.of(countingPredicate(new AtomicInteger()));
+        assertThat(Memoized.of(predicate)).isSameAs(predicate);
+    }
+
+    @Test
+    public void test_profiledNotWrappedTwice() {
+        final DescribedPredicate<JavaPackage> predicate =
+                PredicateProfiler.profile(Memoized.of(countingPredicate(new AtomicInteger())));
+        assertThat(Memoized.of(predicate)).isSameAs(predicate);
+    }
+
+    @Test
+    public void test_nullSafeIsShared() {
+        assertThat(JavaClass.Predicates.nullSafe()).isSameAs(JavaClass.Predicates.nullSafe());
+    }
+
+    private static DescribedPredicate<Object> countingPredicate(AtomicInteger invocations) {
+        return new DescribedPredicate<>("counting") {
+            @Override
+            public boolean test(Object input) {
+                invocations.incrementAndGet();
+                return true;
+            }
+        };
+    }
+}
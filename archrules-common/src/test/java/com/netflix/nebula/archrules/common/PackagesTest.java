@@ -0,0 +1,27 @@
+package com.netflix.nebula.archrules.common;
+
+import com.netflix.nebula.archrules.common.other.ClassInOtherPackage;
+import org.junit.jupiter.api.Test;
+
+import static com.netflix.nebula.archrules.common.Util.scanClass;
+import static com.netflix.nebula.archrules.common.Util.scanClasses;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PackagesTest {
+
+    @Test
+    public void test_sameImport() {
+        final var classes = scanClasses(PackagesTest.class, DependencyTest.class, ClassInOtherPackage.class);
+        assertThat(Packages.samePackage(classes.get(PackagesTest.class), classes.get(DependencyTest.class)))
+                .isTrue();
+        assertThat(Packages.samePackage(classes.get(PackagesTest.class), classes.get(ClassInOtherPackage.class)))
+                .isFalse();
+    }
+
+    @Test
+    public void test_crossImport() {
+        assertThat(Packages.samePackage(scanClass(PackagesTest.class), scanClass(DependencyTest.class))).isTrue();
+        assertThat(Packages.samePackage(scanClass(PackagesTest.class), scanClass(ClassInOtherPackage.class)))
+                .isFalse();
+    }
+}
@@ -0,0 +1,116 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PredicatePlanTest {
+
+    @Test
+    public void test_allOf() {
+        DescribedPredicate<Integer> plan = PredicatePlan.allOf(even(), positive());
+        assertThat(plan.test(2)).isTrue();
+        assertThat(plan.test(1)).isFalse();
+        assertThat(plan.test(-2)).isFalse();
+        assertThat(plan.getDescription()).isEqualTo("even and positive");
+    }
+
+    @Test
+    public void test_anyOf() {
+        DescribedPredicate<Integer> plan = PredicatePlan.anyOf(even(), positive());
+        assertThat(plan.test(2)).isTrue();
+        assertThat(plan.test(1)).isTrue();
+        assertThat(plan.test(-1)).isFalse();
+        assertThat(plan.getDescription()).isEqualTo("even or positive");
+    }
+
+    @Test
+    public void test_nestedPlansAreFlattened() {
+        DescribedPredicate<Integer> nested = PredicatePlan.allOf(even(), positive());
+        PredicatePlan.Plan<Integer> plan =
+                (PredicatePlan.Plan<Integer>) PredicatePlan.<Integer>allOf(nested, PredicatePlan.anyOf(even(), positive()));
+
+        assertThat(plan.evaluationOrder()).containsExactly("even", "positive", "even or positive");
+        assertThat(plan.getDescription()).isEqualTo("even and positive and even or positive");
+    }
+
+    @Test
+    public void test_decisiveClausesMoveFirst() {
+        final var undecisiveInvocations = new AtomicInteger();
+        PredicatePlan.Plan<Integer> plan = (PredicatePlan.Plan<Integer>) PredicatePlan.<Integer>allOf(
+                counting("always true", true, undecisiveInvocations),
+                counting("always false", false, new AtomicInteger()));
+
+        IntStream.range(0, 20_000).forEach(plan::test);
+        assertThat(plan.evaluationOrder()).containsExactly("always false", "always true");
+
+        undecisiveInvocations.set(0);
+        boolean anyMatch = IntStream.range(0, 1_000).anyMatch(plan::test);
+        assertThat(anyMatch).isFalse();
+        assertThat(undecisiveInvocations.get()).isLessThan(200);
+        assertThat(plan.getDescription()).isEqualTo("always true and always false");
+    }
+
+    @Test
+    public void test_samplesProbeOneClauseTheyDidNotReach() {
+        final var laterInvocations = new AtomicInteger();
+        DescribedPredicate<Integer> plan = PredicatePlan.allOf(
+                counting("always false", false, new AtomicInteger()),
+                counting("always true", true, laterInvocations));
+
+        IntStream.range(0, 64_000).forEach(plan::test);
+
+        // only the ~1000 samples run the later clause, which never decides
+        assertThat(laterInvocations.get()).isPositive().isLessThan(2_000);
+        assertThat(plan.test(1)).isFalse();
+    }
+
+    @Test
+    public void test_cheapDecisiveClauseOvertakesExpensiveDecisiveClause() {
+        PredicatePlan.Plan<Integer> plan = (PredicatePlan.Plan<Integer>) PredicatePlan.<Integer>allOf(
+                DescribedPredicate.describe("expensive", (Integer it) -> {
+                    long start = System.nanoTime();
+                    while (System.nanoTime() - start < 20_000) {
+                        Thread.onSpinWait();
+                    }
+                    return false;
+                }),
+                DescribedPredicate.describe("cheap", (Integer it) -> false));
+
+        IntStream.range(0, 20_000).forEach(plan::test);
+
+        assertThat(plan.evaluationOrder()).containsExactly("cheap", "expensive");
+        assertThat(plan.getDescription()).isEqualTo("expensive and cheap");
+    }
+
+    @Test
+    public void test_concurrentEvaluation() {
+        DescribedPredicate<Integer> plan = PredicatePlan.allOf(even(), positive());
+
+        long matches = IntStream.range(-50_000, 50_000).parallel().filter(plan::test).count();
+
+        assertThat(matches).isEqualTo(24_999);
+    }
+
+    private static DescribedPredicate<Integer> even() {
+        return DescribedPredicate.describe("even", it -> it % 2 == 0);
+    }
+
+    private static DescribedPredicate<Integer> positive() {
+        return DescribedPredicate.describe("positive", it -> it > 0);
+    }
+
+    private static DescribedPredicate<Object> counting(String description, boolean result, AtomicInteger invocations) {
+        return new DescribedPredicate<>(description) {
+            @Override
+            public boolean test(Object input) {
+                invocations.incrementAndGet();
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.netflix.nebula.archrules.common;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PredicateProfilerTest {
+
+    @Test
+    public void test_disabledByDefault() {
+        final DescribedPredicate<Integer> predicate = DescribedPredicate.describe("even", it -> it % 2 == 0);
+        assertThat(PredicateProfiler.isEnabled()).isFalse();
+        assertThat(PredicateProfiler.profiled(predicate)).isSameAs(predicate);
+    }
+
+    @Test
+    public void test_nestedNodesAreReportedAsTree() {
+        final DescribedPredicate<Integer> inner = PredicateProfiler.profile(
+                DescribedPredicate.describe("profiler test inner 100%%", it -> it % 2 == 0));
+        final DescribedPredicate<Integer> outer = PredicateProfiler.profile(
+                DescribedPredicate.describe("profiler test outer", it -> it > 5 && inner.test(it)));
+        final ArchCondition<Integer> condition = PredicateProfiler.profile(
+                new ArchCondition<Integer>("profiler test condition") {
+                    @Override
+                    public void check(Integer item, ConditionEvents events) {
+                        events.add(new SimpleConditionEvent(item, outer.test(item), "checked"));
+                    }
+                });
+
+        final ConditionEvents events = ConditionEvents.Factory.create();
+        IntStream.range(0, 10).forEach(it -> condition.check(it, events));
+
+        final String report = PredicateProfiler.report();
+        assertThat(report)
+                .contains("10, - profiler test condition")
+                .contains("10, 20.0% profiler test outer")
+                .contains("4, 50.0% profiler test inner 100%");
+        assertThat(indentOf(report, "profiler test condition")).isLessThan(indentOf(report, "profiler test outer"));
+        assertThat(indentOf(report, "profiler test outer")).isLessThan(indentOf(report, "profiler test inner"));
+    }
+
+    private static int indentOf(String report, String description) {
+        return report.lines()
+                .filter(it -> it.contains(description))
+                .findFirst()
+                .map(it -> it.length() - it.stripLeading().length())
+                .orElse(-1);
+    }
+}
@@ -0,0 +1,75 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CappedEvaluatorTest {
+    private final JavaClasses classes = new ClassFileImporter()
+            .importPackages("com.tngtech.archunit.core.domain");
+
+    private final ArchRule noJavaNames = ArchRuleDefinition.noClasses().should().haveSimpleNameStartingWith("Java");
+
+    @Test
+    public void test_failFastSkipsRemainingClasses() {
+        final var results = CappedEvaluator.failFast().evaluate(Map.of(
+                "no java names", PartitionableRules.partitionable(noJavaNames),
+                "no evil names", ArchRuleDefinition.noClasses().should().haveSimpleNameEndingWith("Evil")), classes);
+
+        final var violated = results.get("no java names");
+        assertThat(violated.getViolations()).hasSize(1);
+        assertThat(violated.isTruncated()).isTrue();
+        assertThat(violated.getSkippedClasses()).isPositive().isLessThan(classes.size());
+        assertThat(violated.getReport()).contains("evaluation stopped after 1 violation, ")
+                .contains("classes were not evaluated");
+
+        final var passed = results.get("no evil names");
+        assertThat(passed.hasViolation()).isFalse();
+        assertThat(passed.isTruncated()).isFalse();
+        assertThat(passed.getReport()).isEmpty();
+    }
+
+    @Test
+    public void test_capOnRuleWhichIsNotPartitionable() {
+        final var result = CappedEvaluator.stopAfter(3).evaluate(Map.of("no java names", noJavaNames), classes)
+                .get("no java names");
+
+        assertThat(result.getViolations()).hasSize(3);
+        assertThat(result.isTruncated()).isTrue();
+        assertThat(result.getSkippedClasses()).isZero();
+        assertThat(result.getReport()).endsWith("evaluation stopped after 3 violations" + System.lineSeparator());
+    }
+
+    @Test
+    public void test_partitionedRulesKeepFailOnEmptyShould() {
+        final ArchRule matchesOneClass = PartitionableRules.partitionable(ArchRuleDefinition.classes()
+                .that().haveFullyQualifiedName("com.tngtech.archunit.core.domain.JavaClasses").should().bePublic());
+        final ArchRule matchesNothing = PartitionableRules.partitionable(ArchRuleDefinition.classes()
+                .that().haveSimpleName("DoesNotExist").should().bePublic());
+
+        assertThat(CappedEvaluator.failFast().evaluate(Map.of("one", matchesOneClass), classes).get("one")
+                .hasViolation()).isFalse();
+        assertThatThrownBy(() -> CappedEvaluator.failFast().evaluate(Map.of("none", matchesNothing), classes))
+                .hasMessageContaining("failed to check any classes");
+    }
+
+    @Test
+    public void test_belowCap() {
+        final var full = noJavaNames.evaluate(classes);
+        final int count = full.getFailureReport().getDetails().size();
+
+        final var result = CappedEvaluator.stopAfter(count + 1)
+                .evaluate(Map.of("no java names", PartitionableRules.partitionable(noJavaNames)), classes)
+                .get("no java names");
+
+        assertThat(result.getViolations()).containsExactlyInAnyOrderElementsOf(full.getFailureReport().getDetails());
+        assertThat(result.isTruncated()).isFalse();
+    }
+}
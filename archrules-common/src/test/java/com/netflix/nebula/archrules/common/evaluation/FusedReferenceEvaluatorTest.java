@@ -0,0 +1,100 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.banned;
+import static com.tngtech.archunit.base.DescribedPredicate.not;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideInAPackage;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FusedReferenceEvaluatorTest {
+    private final JavaClasses classes = new ClassFileImporter()
+            .importPackages("com.tngtech.archunit.core.domain");
+
+    private final ArchRule noJavaMethods = ArchRuleDefinition.priority(Priority.HIGH)
+            .noClasses()
+            .should().dependOnClassesThat().haveFullyQualifiedName("com.tngtech.archunit.core.domain.JavaMethod");
+    private final ArchRule onlyCoreOfArchUnit = ArchRuleDefinition.noClasses()
+            .should().dependOnClassesThat(resideInAPackage("com.tngtech.archunit..")
+                    .and(not(resideInAPackage("com.tngtech.archunit.core.."))));
+    private final ArchRule noStringFormat = ArchRuleDefinition.noClasses()
+            .should().accessTargetWhere(DescribedPredicate.describe("String.format", (JavaAccess<?> access) ->
+                    access.getTargetOwner().isEquivalentTo(String.class) && access.getName().equals("format")));
+    private final ArchRule noEvilNames = ArchRuleDefinition.priority(Priority.LOW)
+            .noClasses()
+            .should().dependOnClassesThat().haveFullyQualifiedName("com.example.Evil")
+            .allowEmptyShould(true);
+
+    @Test
+    public void test_sameReportsAsDirectEvaluation() {
+        final var rules = Map.of(
+                "no java methods", banned(noJavaMethods,
+                        BannedReferences.types("com.tngtech.archunit.core.domain.JavaMethod")),
+                "only core of archunit", banned(onlyCoreOfArchUnit,
+                        BannedReferences.packages("com.tngtech.archunit").excluding("com.tngtech.archunit.core")),
+                "no string format", banned(noStringFormat, BannedReferences.member("java.lang.String", "format")),
+                "no evil names", banned(noEvilNames, BannedReferences.types("com.example.Evil")),
+                "not banned", ArchRuleDefinition.noClasses().should().haveSimpleNameStartingWith("Java"));
+
+        final var results = new FusedReferenceEvaluator().evaluate(rules, classes);
+
+        assertThat(results).containsOnlyKeys(rules.keySet());
+        rules.forEach((key, rule) -> {
+            final var expected = rule.evaluate(classes);
+            final var actual = results.get(key);
+            assertThat(actual.getFailureReport().getDetails())
+                    .as(key)
+                    .containsExactlyInAnyOrderElementsOf(expected.getFailureReport().getDetails());
+            assertThat(actual.getPriority()).as(key).isEqualTo(expected.getPriority());
+        });
+        assertThat(results.get("no java methods").hasViolation()).isTrue();
+        assertThat(results.get("only core of archunit").hasViolation()).isTrue();
+        assertThat(results.get("no string format").hasViolation()).isTrue();
+        assertThat(results.get("no evil names").hasViolation()).isFalse();
+        assertThat(results.get("no evil names").getPriority()).isEqualTo(Priority.LOW);
+    }
+
+    @Test
+    public void test_exclusionOnlyAppliesToItsOwnRule() {
+        final var wholePackage = ArchRuleDefinition.noClasses()
+                .should().dependOnClassesThat().resideInAPackage("com.tngtech.archunit..");
+        final var rules = Map.of(
+                "whole package", banned(wholePackage, BannedReferences.packages("com.tngtech.archunit")),
+                "only core of archunit", banned(onlyCoreOfArchUnit,
+                        BannedReferences.packages("com.tngtech.archunit").excluding("com.tngtech.archunit.core")));
+
+        final var results = new FusedReferenceEvaluator().evaluate(rules, classes);
+
+        assertThat(results.get("whole package").getFailureReport().getDetails())
+                .containsExactlyInAnyOrderElementsOf(wholePackage.evaluate(classes).getFailureReport().getDetails());
+        assertThat(results.get("only core of archunit").getFailureReport().getDetails())
+                .containsExactlyInAnyOrderElementsOf(
+                        onlyCoreOfArchUnit.evaluate(classes).getFailureReport().getDetails());
+    }
+
+    @Test
+    public void test_fusedRulesKeepFailOnEmptyShould() {
+        final ArchRule noHits = banned(ArchRuleDefinition.noClasses()
+                        .should().dependOnClassesThat().haveFullyQualifiedName("com.example.Evil"),
+                BannedReferences.types("com.example.Evil"));
+        final ArchRule matchesNothing = banned(ArchRuleDefinition.noClasses()
+                        .that().haveSimpleName("DoesNotExist")
+                        .should().dependOnClassesThat().haveFullyQualifiedName("com.example.Evil"),
+                BannedReferences.types("com.example.Evil"));
+        final var evaluator = new FusedReferenceEvaluator();
+
+        assertThat(evaluator.evaluate(Map.of("no hits", noHits), classes).get("no hits").hasViolation()).isFalse();
+        assertThatThrownBy(() -> evaluator.evaluate(Map.of("none", matchesNothing), classes))
+                .hasMessageContaining("failed to check any classes");
+    }
+}
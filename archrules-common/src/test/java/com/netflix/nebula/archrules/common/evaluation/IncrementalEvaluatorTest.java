@@ -0,0 +1,127 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IncrementalEvaluatorTest {
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger checkedClasses = new AtomicInteger();
+
+    @Test
+    public void test_unchangedClassesAreNotReevaluated() {
+        final var evaluator = new IncrementalEvaluator(tempDir.resolve("state.bin"));
+        final var rules = Map.of("rule", rule());
+
+        final var first = evaluator.evaluate(rules, new ClassFileImporter()
+                .importClasses(Plugin.class, Extension.class, IndependentBad.class));
+        assertThat(checkedClasses.get()).isEqualTo(3);
+        assertThat(first.get("rule").getFailureReport().getDetails())
+                .containsExactly(IndependentBad.class.getName() + " is bad");
+
+        checkedClasses.set(0);
+        final var second = evaluator.evaluate(rules, new ClassFileImporter()
+                .importClasses(Plugin.class, Extension.class, IndependentBad.class));
+        assertThat(checkedClasses.get()).isZero();
+        assertThat(second.get("rule").getFailureReport().getDetails())
+                .containsExactly(IndependentBad.class.getName() + " is bad");
+    }
+
+    @Test
+    public void test_neighboursOfRemovedClassesAreReevaluated() {
+        final var evaluator = new IncrementalEvaluator(tempDir.resolve("state.bin"));
+        final var rules = Map.of("rule", rule());
+        evaluator.evaluate(rules, new ClassFileImporter()
+                .importClasses(Plugin.class, Extension.class, IndependentBad.class));
+
+        checkedClasses.set(0);
+        final var result = evaluator.evaluate(rules, new ClassFileImporter()
+                .importClasses(Plugin.class, IndependentBad.class));
+
+        assertThat(checkedClasses.get()).isEqualTo(1);
+        assertThat(result.get("rule").getFailureReport().getDetails())
+                .containsExactly(IndependentBad.class.getName() + " is bad");
+    }
+
+    @Test
+    public void test_changedRuleIsEvaluatedInFull() {
+        final var evaluator = new IncrementalEvaluator(tempDir.resolve("state.bin"));
+        evaluator.evaluate(Map.of("rule", rule()), new ClassFileImporter()
+                .importClasses(Plugin.class, Extension.class, IndependentBad.class));
+
+        checkedClasses.set(0);
+        evaluator.evaluate(Map.of("rule", rule().because("reasons")), new ClassFileImporter()
+                .importClasses(Plugin.class, Extension.class, IndependentBad.class));
+
+        assertThat(checkedClasses.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void test_corruptStateIsIgnored() throws Exception {
+        final var stateFile = tempDir.resolve("state.bin");
+        java.nio.file.Files.write(stateFile, new byte[]{0, 0, 0, 1, 42});
+
+        final var result = new IncrementalEvaluator(stateFile).evaluate(Map.of("rule", rule()),
+                new ClassFileImporter().importClasses(Plugin.class, IndependentBad.class));
+
+        assertThat(checkedClasses.get()).isEqualTo(2);
+        assertThat(result.get("rule").hasViolation()).isTrue();
+    }
+
+    @Test
+    public void test_longMessagesAreKept() {
+        final var evaluator = new IncrementalEvaluator(tempDir.resolve("state.bin"));
+        final var message = "x".repeat(100_000);
+        final ArchRule rule = ArchRuleDefinition.classes().should(new ArchCondition<JavaClass>("be short") {
+            @Override
+            public void check(JavaClass item, ConditionEvents events) {
+                checkedClasses.incrementAndGet();
+                events.add(SimpleConditionEvent.violated(item, message));
+            }
+        });
+        final var rules = Map.of("rule", rule);
+        evaluator.evaluate(rules, new ClassFileImporter().importClasses(IndependentBad.class));
+
+        checkedClasses.set(0);
+        final var result = evaluator.evaluate(rules, new ClassFileImporter().importClasses(IndependentBad.class));
+
+        assertThat(checkedClasses.get()).isZero();
+        assertThat(result.get("rule").getFailureReport().getDetails()).containsExactly(message);
+    }
+
+    private ArchRule rule() {
+        return ArchRuleDefinition.classes().should(new ArchCondition<JavaClass>("not be bad") {
+            @Override
+            public void check(JavaClass item, ConditionEvents events) {
+                checkedClasses.incrementAndGet();
+                if (item.getSimpleName().endsWith("Bad")) {
+                    events.add(SimpleConditionEvent.violated(item, item.getName() + " is bad"));
+                }
+            }
+        });
+    }
+
+    static class Plugin {
+        Extension extension = new Extension();
+    }
+
+    static class Extension {
+    }
+
+    static class IndependentBad {
+    }
+}
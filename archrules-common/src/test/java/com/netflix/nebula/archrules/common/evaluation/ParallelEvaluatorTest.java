@@ -0,0 +1,77 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.netflix.nebula.archrules.common.Dependency.Predicates.resideInSamePackage;
+import static com.netflix.nebula.archrules.common.JavaClass.Conditions.haveAtLeastOneDependencyThat;
+import static com.netflix.nebula.archrules.common.JavaClass.Predicates.nullSafe;
+import static com.tngtech.archunit.lang.conditions.ArchConditions.be;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelEvaluatorTest {
+    private final JavaClasses classes = new ClassFileImporter()
+            .importPackages("com.netflix.nebula.archrules.common");
+
+    @Test
+    public void test_sameResultsAsSequential() {
+        final Map<String, ArchRule> rules = Map.of(
+                "null safe", ArchRuleDefinition.classes().should(be(nullSafe())),
+                "no tests", ArchRuleDefinition.noClasses().should().haveSimpleNameEndingWith("Test"),
+                "same package", ArchRuleDefinition.noClasses()
+                        .should(haveAtLeastOneDependencyThat(resideInSamePackage())));
+        final var pool = new ForkJoinPool(4);
+
+        for (int i = 0; i < 5; i++) {
+            final var parallel = new ParallelEvaluator(pool).evaluate(rules, classes);
+
+            assertThat(parallel.keySet()).containsExactly("no tests", "null safe", "same package");
+            parallel.forEach((key, result) -> assertThat(result.getFailureReport().getDetails())
+                    .isEqualTo(rules.get(key).evaluate(classes).getFailureReport().getDetails()));
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void test_partitionedRulesKeepTheirResults() {
+        final ArchRule sequential = ArchRuleDefinition.noClasses()
+                .should(haveAtLeastOneDependencyThat(resideInSamePackage()));
+        final Map<String, ArchRule> rules = Map.of(
+                "same package", PartitionableRules.partitionable(sequential),
+                "count", ArchRuleDefinition.classes().should().containNumberOfElements(
+                        DescribedPredicate.describe("all", it -> it == classes.size())));
+        final var pool = new ForkJoinPool(4);
+
+        final var results = new ParallelEvaluator(pool).withPartitionsPerRule(4).evaluate(rules, classes);
+
+        assertThat(results.get("same package").getFailureReport().getDetails())
+                .isEqualTo(sequential.evaluate(classes).getFailureReport().getDetails());
+        assertThat(results.get("count").hasViolation()).isFalse();
+        pool.shutdown();
+    }
+
+    @Test
+    public void test_partitionedRulesKeepFailOnEmptyShould() {
+        final ArchRule matchesOneClass = PartitionableRules.partitionable(ArchRuleDefinition.classes()
+                .that().haveFullyQualifiedName(ParallelEvaluator.class.getName()).should().bePublic());
+        final ArchRule matchesNothing = PartitionableRules.partitionable(ArchRuleDefinition.classes()
+                .that().haveSimpleName("DoesNotExist").should().bePublic());
+        final var pool = new ForkJoinPool(4);
+        final var evaluator = new ParallelEvaluator(pool).withPartitionsPerRule(4);
+
+        assertThat(evaluator.evaluate(Map.of("one", matchesOneClass), classes).get("one").hasViolation()).isFalse();
+        assertThatThrownBy(() -> evaluator.evaluate(Map.of("none", matchesNothing), classes))
+                .hasMessageContaining("failed to check any classes");
+        assertThat(evaluator.evaluate(Map.of("none", matchesNothing.allowEmptyShould(true)), classes)
+                .get("none").hasViolation()).isFalse();
+        pool.shutdown();
+    }
+}
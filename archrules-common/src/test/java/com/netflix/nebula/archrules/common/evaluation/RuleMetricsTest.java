@@ -0,0 +1,80 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RuleMetricsTest {
+    @TempDir
+    Path tempDir;
+
+    private final JavaClasses classes = new ClassFileImporter().importClasses(Good.class, SomethingBad.class);
+
+    @Test
+    public void test_metricsAreWritten() throws IOException {
+        final var metrics = new RuleMetrics();
+        final var rules = metrics.instrument(Map.of(
+                "bad \"names\"", ArchRuleDefinition.noClasses().should().haveSimpleNameEndingWith("Bad")));
+
+        final var result = rules.get("bad \"names\"").evaluate(classes);
+        rules.get("bad \"names\"").because("reasons").evaluate(classes);
+        metrics.writeJson(tempDir.resolve("metrics.json"));
+
+        assertThat(result.hasViolation()).isTrue();
+        assertThat(Files.readString(tempDir.resolve("metrics.json")))
+                .contains("\"key\": \"bad \\\"names\\\"\"")
+                .contains("\"description\": \"no classes should have simple name ending with 'Bad'\"")
+                .contains("\"evaluations\": 2")
+                .contains("\"classes\": 4")
+                .contains("\"violations\": -1")
+                .containsPattern("\"wallNanos\": [1-9]");
+    }
+
+    @Test
+    public void test_violationsAreCountedWhenReported() throws IOException {
+        final var metrics = new RuleMetrics();
+        final var rules = metrics.instrument(Map.of(
+                "bad", ArchRuleDefinition.noClasses().should().haveSimpleNameEndingWith("Bad"),
+                "good", ArchRuleDefinition.noClasses().should().haveSimpleNameEndingWith("Good")
+                        .because("there are no good classes")));
+
+        assertThatThrownBy(() -> rules.get("bad").check(classes)).hasMessageContaining(SomethingBad.class.getName());
+        assertThatThrownBy(() -> rules.get("bad").check(classes)).hasMessageContaining(SomethingBad.class.getName());
+        rules.get("good").evaluate(new ClassFileImporter().importClasses(SomethingBad.class));
+        metrics.writeJson(tempDir.resolve("metrics.json"));
+
+        assertThat(Files.readString(tempDir.resolve("metrics.json")))
+                .containsPattern("\"key\": \"bad\".*\"violations\": 2}")
+                .containsPattern("\"key\": \"good\".*\"violations\": 0}");
+    }
+
+    @Test
+    public void test_markersAreKept() {
+        final ArchRule partitionable = PartitionableRules.partitionable(ArchRuleDefinition.noClasses()
+                .should().haveSimpleNameEndingWith("Bad"));
+        final ArchRule classLocal = ClassLocalRules.classLocal(ArchRuleDefinition.noFields()
+                .should().beStatic());
+
+        final var rules = new RuleMetrics().instrument(Map.of("a", partitionable, "b", classLocal));
+
+        assertThat(PartitionableRules.isPartitionable(rules.get("a"))).isTrue();
+        assertThat(ClassLocalRules.isClassLocal(rules.get("b"))).isTrue();
+    }
+
+    static class Good {
+    }
+
+    static class SomethingBad {
+    }
+}
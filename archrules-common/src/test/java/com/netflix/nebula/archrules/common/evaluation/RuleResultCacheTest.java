@@ -0,0 +1,147 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.netflix.nebula.archrules.common.evaluation.ClassLocalRules.classLocal;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RuleResultCacheTest {
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger checkedClasses = new AtomicInteger();
+    private final JavaClasses classes = new ClassFileImporter().importClasses(Good.class, SomethingBad.class);
+
+    @Test
+    public void test_cachedAcrossInstances() {
+        final var rules = Map.of("rule", classLocal(rule()));
+        final var first = new RuleResultCache(tempDir.resolve("cache.bin"), 1024 * 1024);
+        assertThat(first.evaluate("1.0", rules, classes).get("rule").getFailureReport().getDetails())
+                .containsExactly(SomethingBad.class.getName() + " is bad");
+        first.save();
+        assertThat(checkedClasses.get()).isEqualTo(2);
+
+        checkedClasses.set(0);
+        final var second = new RuleResultCache(tempDir.resolve("cache.bin"), 1024 * 1024);
+        final var result = second.evaluate("1.0", rules, classes).get("rule");
+
+        assertThat(checkedClasses.get()).isZero();
+        assertThat(result.getFailureReport().getDetails())
+                .containsExactly(SomethingBad.class.getName() + " is bad");
+    }
+
+    @Test
+    public void test_libraryVersionIsPartOfTheKey() {
+        final var rules = Map.of("rule", classLocal(rule()));
+        final var cache = new RuleResultCache(tempDir.resolve("cache.bin"), 1024 * 1024);
+        cache.evaluate("1.0", rules, classes);
+
+        checkedClasses.set(0);
+        cache.evaluate("1.1", rules, classes);
+
+        assertThat(checkedClasses.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void test_otherRulesAreAlwaysEvaluated() {
+        final var rules = Map.of("rule", rule());
+        final var cache = new RuleResultCache(tempDir.resolve("cache.bin"), 1024 * 1024);
+        cache.evaluate("1.0", rules, classes);
+        cache.evaluate("1.0", rules, classes);
+
+        assertThat(checkedClasses.get()).isEqualTo(4);
+        assertThat(cache.entryCount()).isZero();
+    }
+
+    @Test
+    public void test_leastRecentlyUsedEntriesAreEvicted() {
+        final var rules = Map.of("a", classLocal(rule()), "b", classLocal(rule()));
+        final var cache = new RuleResultCache(tempDir.resolve("cache.bin"), 250);
+
+        cache.evaluate("1.0", rules, classes);
+
+        assertThat(cache.entryCount()).isBetween(1, 2);
+    }
+
+    @Test
+    public void test_longMessagesAreSaved() {
+        final var message = "x".repeat(100_000);
+        final ArchRule rule = ArchRuleDefinition.classes().should(new ArchCondition<JavaClass>("be short") {
+            @Override
+            public void check(JavaClass item, ConditionEvents events) {
+                checkedClasses.incrementAndGet();
+                events.add(SimpleConditionEvent.violated(item, message));
+            }
+        });
+        final var rules = Map.of("rule", classLocal(rule));
+        final var first = new RuleResultCache(tempDir.resolve("cache.bin"), 1024 * 1024);
+        first.evaluate("1.0", rules, classes);
+        first.save();
+
+        checkedClasses.set(0);
+        final var second = new RuleResultCache(tempDir.resolve("cache.bin"), 1024 * 1024);
+        final var result = second.evaluate("1.0", rules, classes).get("rule");
+
+        assertThat(checkedClasses.get()).isZero();
+        assertThat(result.getFailureReport().getDetails()).containsExactly(message, message);
+    }
+
+    @Test
+    public void test_rulesKeepFailOnEmptyShould() {
+        final var matchesNothing = ArchRuleDefinition.classes().that().haveSimpleName("DoesNotExist")
+                .should().notBePublic();
+        final var cache = new RuleResultCache(tempDir.resolve("cache.bin"), 1024 * 1024);
+
+        assertThatThrownBy(() -> cache.evaluate("1.0", Map.of("rule", classLocal(matchesNothing)), classes))
+                .hasMessageContaining("failed to check any classes");
+        final var allowed = Map.of("rule", classLocal(matchesNothing.allowEmptyShould(true)));
+        assertThat(cache.evaluate("1.0", allowed, classes).get("rule").hasViolation()).isFalse();
+        // fully cached
+        assertThat(cache.evaluate("1.0", allowed, classes).get("rule").hasViolation()).isFalse();
+    }
+
+    @Test
+    public void test_fullyCachedRulesDoNotFailOnEmptyShould() {
+        final var rules = Map.of("rule", classLocal(rule()));
+        final var cache = new RuleResultCache(tempDir.resolve("cache.bin"), 1024 * 1024);
+        cache.evaluate("1.0", rules, classes);
+
+        assertThat(cache.evaluate("1.0", rules, classes).get("rule").getFailureReport().getDetails())
+                .containsExactly(SomethingBad.class.getName() + " is bad");
+        final var good = new ClassFileImporter().importClasses(Good.class);
+        cache.evaluate("1.0", rules, good);
+        assertThat(cache.evaluate("1.0", rules, good).get("rule").hasViolation()).isFalse();
+    }
+
+    private ArchRule rule() {
+        return ArchRuleDefinition.classes().should(new ArchCondition<JavaClass>("not be bad") {
+            @Override
+            public void check(JavaClass item, ConditionEvents events) {
+                checkedClasses.incrementAndGet();
+                if (item.getSimpleName().endsWith("Bad")) {
+                    events.add(SimpleConditionEvent.violated(item, item.getName() + " is bad"));
+                }
+            }
+        });
+    }
+
+    static class Good {
+    }
+
+    static class SomethingBad {
+    }
+}
@@ -0,0 +1,93 @@
+package com.netflix.nebula.archrules.common.evaluation;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StreamingEvaluatorTest {
+    @TempDir
+    Path tempDir;
+
+    private final JavaClasses classes = new ClassFileImporter()
+            .importClasses(Good.class, SomethingBad.class, SomethingElseBad.class);
+
+    @Test
+    public void test_jsonLines() throws IOException {
+        final Map<String, Long> counts;
+        try (var sink = new JsonLinesSink(tempDir.resolve("violations.jsonl"))) {
+            counts = new StreamingEvaluator(sink).withChunkSize(1).evaluate(rules(), classes);
+        }
+
+        assertThat(counts).containsExactly(Map.entry("bad names", 2L), Map.entry("good names", 0L));
+        final var lines = Files.readAllLines(tempDir.resolve("violations.jsonl"));
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0))
+                .startsWith("{\"rule\": \"bad names\"")
+                .contains("\"priority\": \"HIGH\"")
+                .contains("\"class\": \"" + SomethingBad.class.getName() + "\"");
+        assertThat(lines.get(1)).contains("\"class\": \"" + SomethingElseBad.class.getName() + "\"");
+    }
+
+    @Test
+    public void test_sarif() throws IOException {
+        try (var sink = new SarifSink(tempDir.resolve("violations.sarif"))) {
+            new StreamingEvaluator(sink).evaluate(rules(), classes);
+        }
+
+        final var sarif = Files.readString(tempDir.resolve("violations.sarif"));
+        assertThat(sarif)
+                .startsWith("{\"$schema\": \"https://json.schemastore.org/sarif-2.1.0.json\", \"version\": \"2.1.0\"")
+                .contains("{\"ruleId\": \"bad names\", \"level\": \"error\"")
+                .contains("\"fullyQualifiedName\": \"" + SomethingElseBad.class.getName() + "\"")
+                .contains("{\"id\": \"bad names\", \"shortDescription\": {\"text\": \"no classes should have simple name ending with 'Bad'\"}}")
+                .endsWith("]}}}]}\n");
+        assertThat(sarif.split("\"ruleId\"")).hasSize(3);
+    }
+
+    @Test
+    public void test_chunkedRulesKeepFailOnEmptyShould() throws IOException {
+        final ArchRule inOneChunk = PartitionableRules.partitionable(ArchRuleDefinition.noClasses()
+                .that().haveSimpleName("SomethingBad").should().haveSimpleNameEndingWith("Bad"));
+        final ArchRule matchesNothing = PartitionableRules.partitionable(ArchRuleDefinition.noClasses()
+                .that().haveSimpleName("DoesNotExist").should().haveSimpleNameEndingWith("Bad"));
+
+        try (var sink = new JsonLinesSink(tempDir.resolve("violations.jsonl"))) {
+            final var evaluator = new StreamingEvaluator(sink).withChunkSize(1);
+
+            assertThat(evaluator.evaluate(Map.of("one chunk", inOneChunk), classes))
+                    .containsExactly(Map.entry("one chunk", 1L));
+            assertThatThrownBy(() -> evaluator.evaluate(Map.of("none", matchesNothing), classes))
+                    .hasMessageContaining("failed to check any classes");
+            assertThat(evaluator.evaluate(Map.of("none", matchesNothing.allowEmptyShould(true)), classes))
+                    .containsExactly(Map.entry("none", 0L));
+        }
+    }
+
+    private static Map<String, ArchRule> rules() {
+        return Map.of(
+                "bad names", PartitionableRules.partitionable(ArchRuleDefinition.priority(Priority.HIGH)
+                        .noClasses().should().haveSimpleNameEndingWith("Bad")),
+                "good names", ArchRuleDefinition.noClasses().should().haveSimpleNameEndingWith("Evil"));
+    }
+
+    static class Good {
+    }
+
+    static class SomethingBad {
+    }
+
+    static class SomethingElseBad {
+    }
+}
@@ -0,0 +1,130 @@
+package com.netflix.nebula.archrules.common.graph;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.netflix.nebula.archrules.common.graph.DependencyGraph.Conditions.accessTargetWhere;
+import static com.netflix.nebula.archrules.common.graph.DependencyGraph.Conditions.haveAnyDependenciesThat;
+import static com.netflix.nebula.archrules.common.graph.EdgePredicate.doNot;
+import static com.netflix.nebula.archrules.common.graph.EdgePredicate.resideInSamePackage;
+import static com.netflix.nebula.archrules.common.graph.EdgePredicate.targetClass;
+import static com.netflix.nebula.archrules.common.graph.EdgePredicate.targetOwner;
+import static com.tngtech.archunit.core.domain.Dependency.Predicates.dependencyTarget;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.simpleNameStartingWith;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DependencyGraphTest {
+    private final JavaClasses classes = new ClassFileImporter()
+            .importPackages("com.tngtech.archunit.core.importer");
+
+    @Test
+    public void test_edgesMatchDependenciesAndAccesses() {
+        final var graph = DependencyGraph.of(classes);
+
+        assertThat(graph.originCount()).isEqualTo(classes.size());
+        assertThat(graph.classCount()).isGreaterThan(graph.originCount());
+        int edges = 0;
+        for (JavaClass javaClass : classes) {
+            final int origin = graph.idOf(javaClass);
+            assertThat(graph.javaClass(origin)).isSameAs(javaClass);
+            final int end = graph.endEdge(origin);
+            assertThat(end - graph.firstEdge(origin)).isEqualTo(
+                    javaClass.getDirectDependenciesFromSelf().size() + javaClass.getAccessesFromSelf().size());
+            for (int edge = graph.firstEdge(origin); edge < end; edge++) {
+                final Object edgeObject = graph.edgeObject(edge);
+                final JavaClass target = graph.javaClass(graph.target(edge));
+                if (graph.kind(edge) == EdgeKind.DEPENDENCY) {
+                    assertThat(graph.member(edge)).isEqualTo(-1);
+                    assertThat(((Dependency) edgeObject).getTargetClass()).isSameAs(target);
+                } else {
+                    final var access = (JavaAccess<?>) edgeObject;
+                    assertThat(access.getTargetOwner()).isSameAs(target);
+                    assertThat(graph.accessTarget(graph.member(edge)).getFullName())
+                            .isEqualTo(access.getTarget().getFullName());
+                }
+            }
+            edges += end - graph.firstEdge(origin);
+        }
+        assertThat(graph.edgeCount()).isEqualTo(edges);
+    }
+
+    @Test
+    public void test_onlyRequestedKindsAreBuilt() {
+        final var dependencies = DependencyGraph.of(classes, EnumSet.of(EdgeKind.DEPENDENCY));
+        final var calls = DependencyGraph.of(classes, EnumSet.of(EdgeKind.METHOD_CALL));
+
+        assertThat(dependencies.memberCount()).isZero();
+        assertThat(dependencies.edgeCount()).isEqualTo(
+                classes.stream().mapToInt(it -> it.getDirectDependenciesFromSelf().size()).sum());
+        assertThat(calls.edgeCount()).isEqualTo(
+                classes.stream().mapToInt(it -> it.getMethodCallsFromSelf().size()).sum());
+        for (int edge = 0; edge < calls.edgeCount(); edge++) {
+            assertThat(calls.kind(edge)).isEqualTo(EdgeKind.METHOD_CALL);
+            final var call = (JavaMethodCall) calls.edgeObject(edge);
+            assertThat(call.getTarget().getFullName())
+                    .isEqualTo(calls.accessTarget(calls.member(edge)).getFullName());
+        }
+    }
+
+    @Test
+    public void test_sameViolationsAsDependencyCondition() {
+        final ArchRule onArchUnitObjects = ArchRuleDefinition.noClasses()
+                .should(com.netflix.nebula.archrules.common.JavaClass.Conditions.haveAnyDependenciesThat(
+                        DescribedPredicate.doNot(
+                                        com.netflix.nebula.archrules.common.Dependency.Predicates.resideInSamePackage())
+                                .and(dependencyTarget(simpleNameStartingWith("Java")))));
+        final ArchRule onGraph = ArchRuleDefinition.noClasses()
+                .should(haveAnyDependenciesThat(doNot(resideInSamePackage())
+                        .and(targetClass(simpleNameStartingWith("Java")))));
+
+        final var expected = onArchUnitObjects.evaluate(classes);
+        final var actual = onGraph.evaluate(classes);
+
+        assertThat(actual.hasViolation()).isTrue();
+        assertThat(actual.getFailureReport().getDetails())
+                .containsExactlyInAnyOrderElementsOf(expected.getFailureReport().getDetails());
+        assertThat(onGraph.getDescription()).isEqualTo(onArchUnitObjects.getDescription());
+    }
+
+    @Test
+    public void test_accessesAreReportedByTheirDescription() {
+        final ArchRule onArchUnitObjects = ArchRuleDefinition.noClasses()
+                .should().accessTargetWhere(JavaAccess.Predicates.targetOwner(simpleNameStartingWith("JavaClass")));
+        final ArchRule onGraph = ArchRuleDefinition.noClasses()
+                .should(accessTargetWhere(targetOwner(simpleNameStartingWith("JavaClass"))));
+
+        assertThat(onGraph.evaluate(classes).getFailureReport().getDetails())
+                .isNotEmpty()
+                .containsExactlyInAnyOrderElementsOf(onArchUnitObjects.evaluate(classes).getFailureReport().getDetails());
+    }
+
+    @Test
+    public void test_classPredicateIsEvaluatedOncePerClass() {
+        final var graph = DependencyGraph.of(classes);
+        final var evaluations = new AtomicInteger();
+        final var predicate = targetClass(DescribedPredicate.describe("counted", (JavaClass it) -> {
+            evaluations.incrementAndGet();
+            return false;
+        }));
+
+        for (int origin = 0; origin < graph.originCount(); origin++) {
+            for (int edge = graph.firstEdge(origin); edge < graph.endEdge(origin); edge++) {
+                predicate.test(graph, origin, edge);
+            }
+        }
+
+        assertThat(evaluations.get()).isPositive().isLessThanOrEqualTo(graph.classCount())
+                .isLessThan(graph.edgeCount());
+    }
+}
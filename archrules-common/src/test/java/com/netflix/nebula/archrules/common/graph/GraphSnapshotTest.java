@@ -0,0 +1,161 @@
+package com.netflix.nebula.archrules.common.graph;
+
+import com.netflix.nebula.archrules.common.DeprecationStatus;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GraphSnapshotTest {
+    private final JavaClasses classes = new ClassFileImporter()
+            .importPackages("com.tngtech.archunit.core.importer");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void test_snapshotMatchesGraph() {
+        final var graph = DependencyGraph.of(classes);
+        final var file = tempDir.resolve("graph.bin");
+        GraphSnapshot.write(graph, file);
+
+        final var snapshot = GraphSnapshot.open(file);
+
+        assertThat(snapshot.originCount()).isEqualTo(graph.originCount());
+        assertThat(snapshot.classCount()).isGreaterThanOrEqualTo(graph.classCount());
+        assertThat(snapshot.memberCount()).isEqualTo(graph.memberCount());
+        assertThat(snapshot.edgeCount()).isEqualTo(graph.edgeCount());
+        for (int classId = 0; classId < graph.classCount(); classId++) {
+            final JavaClass javaClass = graph.javaClass(classId);
+            assertThat(snapshot.className(classId)).isEqualTo(javaClass.getName());
+            assertThat(snapshot.packageName(classId)).isEqualTo(javaClass.getPackageName());
+            assertThat(snapshot.idOf(javaClass.getName())).isEqualTo(classId);
+            assertThat(snapshot.isInterface(classId)).isEqualTo(javaClass.isInterface());
+            assertThat(snapshot.hasModifier(classId, JavaModifier.PUBLIC))
+                    .isEqualTo(javaClass.getModifiers().contains(JavaModifier.PUBLIC));
+            assertThat(snapshot.deprecationStatus(classId)).isEqualTo(DeprecationStatus.of(javaClass));
+        }
+        for (int origin = 0; origin < graph.originCount(); origin++) {
+            assertThat(snapshot.firstEdge(origin)).isEqualTo(graph.firstEdge(origin));
+            assertThat(snapshot.endEdge(origin)).isEqualTo(graph.endEdge(origin));
+        }
+        for (int edge = 0; edge < graph.edgeCount(); edge++) {
+            assertThat(snapshot.target(edge)).isEqualTo(graph.target(edge));
+            assertThat(snapshot.kind(edge)).isEqualTo(graph.kind(edge));
+            assertThat(snapshot.member(edge)).isEqualTo(graph.member(edge));
+        }
+        for (int memberId = 0; memberId < graph.memberCount(); memberId++) {
+            final var target = graph.accessTarget(memberId);
+            assertThat(snapshot.memberFullName(memberId)).isEqualTo(target.getFullName());
+            assertThat(snapshot.memberName(memberId)).isEqualTo(target.getName());
+            assertThat(snapshot.className(snapshot.memberOwner(memberId))).isEqualTo(target.getOwner().getName());
+        }
+        assertThat(snapshot.idOf("com.example.Missing")).isEqualTo(-1);
+    }
+
+    @Test
+    public void test_hierarchyAndAnnotations() {
+        final var file = tempDir.resolve("graph.bin");
+        GraphSnapshot.write(classes, file);
+        final var snapshot = GraphSnapshot.open(file);
+
+        final int importer = snapshot.idOf("com.tngtech.archunit.core.importer.ClassFileImporter");
+        assertThat(importer).isNotNegative();
+        assertThat(snapshot.className(snapshot.superclass(importer))).isEqualTo("java.lang.Object");
+        assertThat(snapshot.isAssignableTo(importer, "java.lang.Object")).isTrue();
+        assertThat(snapshot.isAssignableTo(importer, "java.lang.Runnable")).isFalse();
+        assertThat(snapshot.isAnnotatedWith(importer, "com.tngtech.archunit.PublicAPI")).isTrue();
+        assertThat(snapshot.isAnnotatedWith(importer, "java.lang.Deprecated")).isFalse();
+    }
+
+    @Test
+    public void test_predicatesMatchClassModel() {
+        final var file = tempDir.resolve("graph.bin");
+        GraphSnapshot.write(classes, file);
+        final var snapshot = GraphSnapshot.open(file);
+        final String importOption = "com.tngtech.archunit.core.importer.ImportOption";
+        final var assignable = snapshot.assignableTo(importOption);
+        final var deprecated = snapshot.deprecated();
+
+        assertThat(assignable.getDescription()).isEqualTo("assignable to " + importOption);
+        for (JavaClass javaClass : classes) {
+            assertThat(assignable.test(javaClass)).as(javaClass.getName())
+                    .isEqualTo(javaClass.isAssignableTo(importOption));
+            assertThat(deprecated.test(javaClass)).as(javaClass.getName())
+                    .isEqualTo(DeprecationStatus.of(javaClass).isDeprecated());
+        }
+        final JavaClass notInSnapshot = new ClassFileImporter().importClass(GraphSnapshotTest.class);
+        assertThat(snapshot.idOf(notInSnapshot.getName())).isEqualTo(-1);
+        assertThat(snapshot.assignableTo(Object.class.getName()).test(notInSnapshot)).isTrue();
+    }
+
+    @Test
+    public void test_attachedSnapshotAnswersPredicates() {
+        final var file = tempDir.resolve("graph.bin");
+        final String name = GraphSnapshotTest.class.getName();
+        GraphSnapshot.builder()
+                .addOrigin(name)
+                .describe(name, GraphSnapshotTest.class.getPackageName(), "com.example.Undescribed", List.of(),
+                        Set.of(JavaModifier.PUBLIC), false, DeprecationStatus.FOR_REMOVAL, List.of())
+                .addDependency(name, "com.example.Undescribed")
+                .write(file);
+        final var snapshot = GraphSnapshot.open(file);
+        final JavaClasses attached = new ClassFileImporter().importClasses(GraphSnapshotTest.class);
+        final JavaClasses other = new ClassFileImporter().importClasses(GraphSnapshotTest.class);
+        snapshot.attachTo(attached);
+
+        final int undescribed = snapshot.idOf("com.example.Undescribed");
+        assertThat(snapshot.isDescribed(undescribed)).isFalse();
+        assertThat(snapshot.packageName(undescribed)).isEqualTo("com.example");
+        assertThat(GraphSnapshot.of(attached.get(GraphSnapshotTest.class))).isSameAs(snapshot);
+        assertThat(GraphSnapshot.of(other.get(GraphSnapshotTest.class))).isNull();
+        assertThat(GraphSnapshot.Predicates.deprecatedClassForRemoval().test(attached.get(GraphSnapshotTest.class)))
+                .isTrue();
+        assertThat(GraphSnapshot.Predicates.deprecatedClass().test(other.get(GraphSnapshotTest.class))).isFalse();
+        // the superclass is not described, so assignability is checked on the class model
+        assertThat(snapshot.assignableTo(Object.class.getName()).test(attached.get(GraphSnapshotTest.class)))
+                .isTrue();
+        assertThat(snapshot.isAssignableTo(snapshot.idOf(name), Object.class.getName())).isFalse();
+    }
+
+    @Test
+    public void test_rejectsHeaderOutsideOfFile() throws Exception {
+        final var file = tempDir.resolve("graph.bin");
+        GraphSnapshot.write(classes, file);
+        final byte[] bytes = Files.readAllBytes(file);
+        final var truncated = tempDir.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        final var corrupt = tempDir.resolve("corrupt.bin");
+        ByteBuffer.wrap(bytes).putInt(12, Integer.MAX_VALUE);
+        Files.write(corrupt, bytes);
+
+        assertThatThrownBy(() -> GraphSnapshot.open(truncated))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("corrupt class graph snapshot: edge kinds out of bounds");
+        assertThatThrownBy(() -> GraphSnapshot.open(corrupt))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("corrupt class graph snapshot");
+    }
+
+    @Test
+    public void test_rejectsOtherFiles() throws Exception {
+        final var file = tempDir.resolve("other.bin");
+        Files.write(file, new byte[128]);
+
+        assertThatThrownBy(() -> GraphSnapshot.open(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("not a class graph snapshot");
+    }
+}
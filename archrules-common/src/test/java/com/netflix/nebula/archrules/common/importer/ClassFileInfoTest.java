@@ -0,0 +1,92 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.netflix.nebula.archrules.common.DeprecationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class ClassFileInfoTest {
+    @Test
+    public void test_header() throws IOException {
+        final var info = ClassFileInfo.read(bytes(Sample.class));
+
+        assertThat(info.getName()).isEqualTo("com/netflix/nebula/archrules/common/importer/ClassFileInfoTest$Sample");
+        assertThat(info.getSuperName()).isEqualTo("java/util/ArrayList");
+        assertThat(info.getInterfaces()).containsExactly("java/io/Serializable", "java/lang/Runnable");
+        assertThat(info.getClassReferences()).contains("java/lang/StringBuilder");
+        assertThat(info.getMemberReferences())
+                .contains("java/lang/StringBuilder#append", "java/lang/System#out")
+                .doesNotContain("java/lang/System#err");
+        assertThat(info.mentions("java/util/List")).isTrue();
+        assertThat(info.mentions("java/util/Map")).isFalse();
+    }
+
+    @Test
+    public void test_annotationsAndDeprecation() throws IOException {
+        final var info = ClassFileInfo.read(bytes(Removed.class));
+
+        assertThat(info.getAccessFlags() & 0x0008).as("static").isNotZero();
+        assertThat(info.getAnnotationTypes()).containsExactly("java/lang/Deprecated");
+        assertThat(info.getDeprecationStatus()).isEqualTo(DeprecationStatus.FOR_REMOVAL);
+        assertThat(info.getDeprecatedMembers())
+                .extracting(ClassFileInfo.Member::getName, ClassFileInfo.Member::getDescriptor,
+                        ClassFileInfo.Member::getDeprecationStatus)
+                .containsExactly(tuple("old", "()V", DeprecationStatus.DEPRECATED));
+        assertThat(ClassFileInfo.read(bytes(Sample.class)).getAccessedMembers())
+                .extracting(ClassFileInfo.Member::getOwner, ClassFileInfo.Member::getName,
+                        ClassFileInfo.Member::isField)
+                .contains(tuple("java/lang/System", "out", true), tuple("java/lang/StringBuilder", "<init>", false));
+        assertThat(ClassFileInfo.read(bytes(Sample.class)).getDependencies())
+                .contains("java/util/ArrayList", "java/lang/StringBuilder")
+                .doesNotContain("com/netflix/nebula/archrules/common/importer/ClassFileInfoTest$Sample");
+    }
+
+    @Test
+    public void test_bufferPosition() throws IOException {
+        final var bytes = bytes(Sample.class);
+        final var buffer = ByteBuffer.allocate(bytes.length + 3);
+        buffer.put(new byte[3]).put(bytes).position(3);
+
+        assertThat(ClassFileInfo.read(buffer).getName()).endsWith("$Sample");
+        assertThat(buffer.position()).isEqualTo(3);
+    }
+
+    @Test
+    public void test_notAClassFile() {
+        assertThatThrownBy(() -> ClassFileInfo.read(new byte[]{1, 2, 3, 4, 5})).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> ClassFileInfo.read(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE}))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static byte[] bytes(Class<?> clazz) throws IOException {
+        try (InputStream in = clazz.getResourceAsStream(clazz.getName().substring(clazz.getName().lastIndexOf('.') + 1) + ".class")) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Deprecated(forRemoval = true)
+    static class Removed {
+        @Deprecated
+        void old() {
+        }
+
+        void current() {
+        }
+    }
+
+    static class Sample extends ArrayList<List<String>> implements Serializable, Runnable {
+        @Override
+        public void run() {
+            System.out.println(new StringBuilder().append("size ").append(size()));
+        }
+    }
+}
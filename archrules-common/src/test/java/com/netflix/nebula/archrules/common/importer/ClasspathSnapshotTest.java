@@ -0,0 +1,146 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.netflix.nebula.archrules.common.DeprecationStatus;
+import com.netflix.nebula.archrules.common.graph.EdgeKind;
+import com.netflix.nebula.archrules.common.graph.GraphSnapshot;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaAnnotation;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import kotlin.io.FilesKt;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClasspathSnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void test_snapshotMatchesClassModel() throws URISyntaxException {
+        final var file = tempDir.resolve("classpath.bin");
+        ClasspathSnapshot.write(List.of(locationOf(ClassFileImporter.class), locationOf(FilesKt.class)), file);
+        final var snapshot = GraphSnapshot.open(file);
+        final JavaClasses classes = new ClassFileImporter()
+                .importPackages("com.tngtech.archunit.core.importer", "kotlin.io");
+
+        for (JavaClass javaClass : classes) {
+            final int classId = snapshot.idOf(javaClass.getName());
+            assertThat(classId).as(javaClass.getName()).isBetween(0, snapshot.originCount() - 1);
+            assertThat(snapshot.isDescribed(classId)).isTrue();
+            assertThat(snapshot.packageName(classId)).isEqualTo(javaClass.getPackageName());
+            assertThat(snapshot.superclass(classId) < 0 ? null : snapshot.className(snapshot.superclass(classId)))
+                    .as(javaClass.getName())
+                    .isEqualTo(javaClass.getRawSuperclass().map(JavaClass::getName).orElse(null));
+            assertThat(names(snapshot, snapshot.interfaces(classId))).as(javaClass.getName())
+                    .isEqualTo(javaClass.getRawInterfaces().stream().map(JavaClass::getName)
+                            .collect(Collectors.toList()));
+            assertThat(snapshot.isInterface(classId)).isEqualTo(javaClass.isInterface());
+            for (JavaModifier modifier : JavaModifier.values()) {
+                assertThat(snapshot.hasModifier(classId, modifier)).as(javaClass.getName() + " " + modifier)
+                        .isEqualTo(javaClass.getModifiers().contains(modifier));
+            }
+            assertThat(snapshot.deprecationStatus(classId)).as(javaClass.getName())
+                    .isEqualTo(DeprecationStatus.of(javaClass));
+            for (JavaAnnotation<JavaClass> annotation : javaClass.getAnnotations()) {
+                assertThat(snapshot.isAnnotatedWith(classId, annotation.getRawType().getName())).isTrue();
+            }
+
+            final Map<String, Integer> accessed = new HashMap<>();
+            for (int edge = snapshot.firstEdge(classId); edge < snapshot.endEdge(classId); edge++) {
+                if (snapshot.kind(edge).isAccess()) {
+                    accessed.put(snapshot.memberFullName(snapshot.member(edge)), snapshot.member(edge));
+                }
+            }
+            for (JavaAccess<?> access : javaClass.getAccessesFromSelf()) {
+                final var target = access.getTarget();
+                if (!accessed.containsKey(target.getFullName())) {
+                    // ArchUnit resolves calls of synthetic accessors to the member behind them
+                    assertThat(accessed.keySet()).as(target.getFullName())
+                            .anyMatch(name -> name.startsWith(access.getTargetOwner().getName() + ".access$"));
+                    continue;
+                }
+                final int memberId = accessed.get(target.getFullName());
+                assertThat(snapshot.className(snapshot.memberOwner(memberId)))
+                        .isEqualTo(access.getTargetOwner().getName());
+                final boolean declaredByOwner = target.resolveMember()
+                        .filter(member -> member.getOwner().equals(access.getTargetOwner()))
+                        .isPresent();
+                if (declaredByOwner && snapshot.isDescribed(snapshot.memberOwner(memberId))) {
+                    assertThat(snapshot.memberDeprecationStatus(memberId)).as(target.getFullName())
+                            .isEqualTo(DeprecationStatus.of(target));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_deprecationOfClassesAndMembers() throws URISyntaxException {
+        final var file = tempDir.resolve("classpath.bin");
+        ClasspathSnapshot.write(List.of(locationOf(ClasspathSnapshotTest.class)), file);
+        final var snapshot = GraphSnapshot.open(file);
+
+        final int removed = snapshot.idOf(Removed.class.getName());
+        final int user = snapshot.idOf(UsesRemoved.class.getName());
+        assertThat(snapshot.deprecationStatus(removed)).isEqualTo(DeprecationStatus.FOR_REMOVAL);
+        assertThat(snapshot.deprecationStatus(user)).isEqualTo(DeprecationStatus.NONE);
+        assertThat(snapshot.hasModifier(removed, JavaModifier.STATIC)).isTrue();
+
+        final List<String> dependencies = new ArrayList<>();
+        final Map<String, DeprecationStatus> calls = new HashMap<>();
+        for (int edge = snapshot.firstEdge(user); edge < snapshot.endEdge(user); edge++) {
+            if (snapshot.kind(edge) == EdgeKind.DEPENDENCY) {
+                dependencies.add(snapshot.className(snapshot.target(edge)));
+            } else if (snapshot.kind(edge) == EdgeKind.METHOD_CALL) {
+                calls.put(snapshot.memberFullName(snapshot.member(edge)),
+                        snapshot.memberDeprecationStatus(snapshot.member(edge)));
+            }
+        }
+        assertThat(dependencies).contains(Removed.class.getName()).doesNotContain(UsesRemoved.class.getName());
+        assertThat(calls)
+                .containsEntry(Removed.class.getName() + ".old([Ljava.lang.String;, int)",
+                        DeprecationStatus.DEPRECATED)
+                .containsEntry(Removed.class.getName() + ".current()", DeprecationStatus.NONE);
+    }
+
+    private static List<String> names(GraphSnapshot snapshot, int[] classIds) {
+        final List<String> names = new ArrayList<>();
+        for (int classId : classIds) {
+            names.add(snapshot.className(classId));
+        }
+        return names;
+    }
+
+    private static Path locationOf(Class<?> clazz) throws URISyntaxException {
+        return Path.of(clazz.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    @Deprecated(forRemoval = true)
+    static class Removed {
+        @Deprecated
+        static void old(String[] arguments, int count) {
+        }
+
+        static void current() {
+        }
+    }
+
+    @SuppressWarnings("removal")
+    static class UsesRemoved {
+        void use() {
+            Removed.old(new String[0], 1);
+            Removed.current();
+        }
+    }
+}
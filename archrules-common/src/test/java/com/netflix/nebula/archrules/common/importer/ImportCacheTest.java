@@ -0,0 +1,108 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.tngtech.archunit.core.importer.ImportOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ImportCacheTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void test_sameContentAtAnotherPathHasSameHash() throws IOException {
+        final var cache = new ImportCache(tempDir.resolve("cache"));
+
+        final var hashes = cache.contentHashes(List.of(
+                jar("a.jar", ImportCacheTest.class),
+                jar("b.jar", ImportCacheTest.class),
+                jar("c.jar", ImportCache.class)));
+
+        assertThat(hashes.get(1)).isEqualTo(hashes.get(0));
+        assertThat(hashes.get(2)).isNotEqualTo(hashes.get(0));
+    }
+
+    @Test
+    public void test_changedJarIsRehashed() throws IOException {
+        final var jar = jar("a.jar", ImportCacheTest.class);
+        final var cache = new ImportCache(tempDir.resolve("cache"));
+        final var first = cache.contentHash(jar);
+
+        jar("a.jar", ImportCacheTest.class, ImportCache.class);
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 2000));
+
+        assertThat(cache.contentHash(jar)).isNotEqualTo(first);
+    }
+
+    @Test
+    public void test_hashesArePersisted() throws IOException {
+        final var jars = List.of(jar("a.jar", ImportCacheTest.class), jar("b.jar", ImportCache.class));
+        final var hashes = new ImportCache(tempDir.resolve("cache")).contentHashes(jars);
+
+        assertThat(tempDir.resolve("cache").resolve("jar-hashes.properties")).exists();
+        assertThat(new ImportCache(tempDir.resolve("cache")).contentHashes(jars)).isEqualTo(hashes);
+        assertThat(hashes.get(0)).hasSize(64);
+    }
+
+    @Test
+    public void test_indexIsNotRewrittenForKnownJars() throws IOException {
+        final var jar = jar("a.jar", ImportCacheTest.class);
+        new ImportCache(tempDir.resolve("cache")).contentHash(jar);
+        final var indexFile = tempDir.resolve("cache").resolve("jar-hashes.properties");
+        Files.setLastModifiedTime(indexFile, FileTime.fromMillis(0));
+
+        new ImportCache(tempDir.resolve("cache")).contentHash(jar);
+
+        assertThat(Files.getLastModifiedTime(indexFile).toMillis()).isZero();
+    }
+
+    @Test
+    public void test_unchangedJarsAreImportedOnce() throws IOException {
+        final var jars = List.of(jar("a.jar", ImportCacheTest.class), jar("b.jar", ImportCache.class));
+        final var classes = new ImportCache(tempDir.resolve("cache")).importJars(jars);
+
+        assertThat(classes.contain(ImportCacheTest.class)).isTrue();
+        assertThat(classes.contain(ImportCache.class)).isTrue();
+        // a later build, with a new cache instance
+        assertThat(new ImportCache(tempDir.resolve("cache")).importJars(jars)).isSameAs(classes);
+        assertThat(new ImportCache(tempDir.resolve("cache"))
+                .importJars(jars, new ImportOption.DoNotIncludeTests())).isNotSameAs(classes);
+    }
+
+    @Test
+    public void test_importsAreKeyedByContent() throws IOException {
+        final var cache = new ImportCache(tempDir.resolve("cache"));
+        final var jar = jar("a.jar", ImportCacheTest.class);
+        final var first = cache.importJars(List.of(jar));
+
+        assertThat(cache.importJars(List.of(Files.copy(jar, tempDir.resolve("copy.jar"))))).isSameAs(first);
+        final var changed = cache.importJars(List.of(jar("changed.jar", ImportCacheTest.class, ImportCache.class)));
+        assertThat(changed).isNotSameAs(first);
+        assertThat(changed.contain(ImportCache.class)).isTrue();
+    }
+
+    private Path jar(String name, Class<?>... classes) throws IOException {
+        final var jar = tempDir.resolve(name);
+        try (var out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Class<?> clazz : classes) {
+                final var entryName = clazz.getName().replace('.', '/') + ".class";
+                out.putNextEntry(new JarEntry(entryName));
+                try (InputStream in = clazz.getClassLoader().getResourceAsStream(entryName)) {
+                    out.write(in.readAllBytes());
+                }
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
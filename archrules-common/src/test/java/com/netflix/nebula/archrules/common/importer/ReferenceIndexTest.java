@@ -0,0 +1,154 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.tngtech.archunit.lang.conditions.ArchConditions.callMethod;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReferenceIndexTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void test_classFilters() throws URISyntaxException {
+        final var index = ReferenceIndex.build(List.of(classesDir()));
+
+        assertThat(index.mightReference(UsesAtomics.class.getName(), AtomicLong.class.getName())).isTrue();
+        assertThat(index.mightReference(UsesAtomics.class.getName(), "java.util.concurrent.atomic.AtomicLong#get"))
+                .isTrue();
+        assertThat(index.mightReference(UsesAtomics.class.getName(), "org.eclipse.jetty.http.HttpURI")).isFalse();
+        assertThat(index.mightReference(Annotated.class.getName(), Deprecated.class.getName())).isTrue();
+        assertThat(index.mightReference(Unrelated.class.getName(), AtomicLong.class.getName())).isFalse();
+        assertThat(index.mightReference("com.example.NotScanned", AtomicLong.class.getName())).isTrue();
+    }
+
+    @Test
+    public void test_jarFiltersAreStoredWithTheImportCache() throws IOException {
+        final var jar = jar("a.jar", UsesAtomics.class, Unrelated.class);
+        final var cache = new ImportCache(tempDir.resolve("cache"));
+
+        final var first = ReferenceIndex.build(cache, List.of(jar));
+        final var stored = Files.list(tempDir.resolve("cache"))
+                .filter(it -> it.getFileName().toString().startsWith("references-"))
+                .collect(Collectors.toList());
+        final var second = ReferenceIndex.build(new ImportCache(tempDir.resolve("cache")), List.of(jar));
+
+        assertThat(stored).hasSize(1);
+        for (ReferenceIndex index : List.of(first, second)) {
+            assertThat(index.jarMightReference(jar, AtomicLong.class.getName())).isTrue();
+            assertThat(index.jarMightReference(jar, "org.eclipse.jetty.http.HttpURI")).isFalse();
+            assertThat(index.mightReference(Unrelated.class.getName(), AtomicLong.class.getName())).isFalse();
+        }
+    }
+
+    @Test
+    public void test_prefilteredPredicateSkipsClassesWhichCannotReference() throws URISyntaxException {
+        final var tested = new AtomicInteger();
+        final var predicate = ReferenceIndex.prefiltered(
+                DescribedPredicate.<JavaClass>describe("counted", it -> tested.incrementAndGet() > 0),
+                AtomicLong.class.getName());
+        final var classes = new ClassFileImporter().importClasses(UsesAtomics.class, Unrelated.class);
+
+        assertThat(predicate.getDescription()).isEqualTo("counted");
+        assertThat(predicate.test(classes.get(Unrelated.class))).isTrue();
+        ReferenceIndex.build(List.of(classesDir())).attachTo(classes);
+        assertThat(predicate.test(classes.get(Unrelated.class))).isFalse();
+        assertThat(predicate.test(classes.get(UsesAtomics.class))).isTrue();
+        assertThat(tested).hasValue(2);
+    }
+
+    @Test
+    public void test_prefilteredConditionKeepsResults() throws URISyntaxException {
+        final var rule = ArchRuleDefinition.noClasses().should(ReferenceIndex.prefiltered(
+                callMethod(AtomicLong.class, "incrementAndGet"), AtomicLong.class.getName() + "#incrementAndGet"));
+        final var classes = new ClassFileImporter().importClasses(UsesAtomics.class, Unrelated.class);
+        final var unfiltered = rule.evaluate(classes).getFailureReport().getDetails();
+
+        ReferenceIndex.build(List.of(classesDir())).attachTo(classes);
+
+        assertThat(unfiltered).hasSize(1);
+        assertThat(rule.evaluate(classes).getFailureReport().getDetails()).isEqualTo(unfiltered);
+    }
+
+    @Test
+    public void test_indexIsAttachedToOneImport() throws URISyntaxException {
+        final var predicate = ReferenceIndex.prefiltered(
+                DescribedPredicate.<JavaClass>alwaysTrue(), AtomicLong.class.getName());
+        final var indexed = new ClassFileImporter().importClasses(UsesAtomics.class, Unrelated.class);
+        final var other = new ClassFileImporter().importClasses(UsesAtomics.class, Unrelated.class);
+
+        ReferenceIndex.build(List.of(classesDir())).attachTo(indexed);
+
+        assertThat(ReferenceIndex.of(indexed.get(UsesAtomics.class))).isNotNull();
+        assertThat(ReferenceIndex.of(other.get(UsesAtomics.class))).isNull();
+        assertThat(predicate.test(indexed.get(Unrelated.class))).isFalse();
+        assertThat(predicate.test(indexed.that(DescribedPredicate.alwaysTrue()).get(Unrelated.class))).isFalse();
+        assertThat(predicate.test(other.get(Unrelated.class))).isTrue();
+    }
+
+    @Test
+    public void test_bloomFilterFalsePositives() {
+        final var filter = BloomFilter.of(IntStream.range(0, 1000).mapToObj(i -> "com/example/Type" + i)
+                .collect(Collectors.toList()));
+        final List<String> falsePositives = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("org/other/Type" + i)) {
+                falsePositives.add("org/other/Type" + i);
+            }
+        }
+
+        assertThat(filter.mightContain("com/example/Type999")).isTrue();
+        assertThat(falsePositives).hasSizeLessThan(300);
+    }
+
+    private static Path classesDir() throws URISyntaxException {
+        return Path.of(ReferenceIndexTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    private Path jar(String name, Class<?>... classes) throws IOException {
+        final var jar = tempDir.resolve(name);
+        try (var out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Class<?> clazz : classes) {
+                final var entryName = clazz.getName().replace('.', '/') + ".class";
+                out.putNextEntry(new JarEntry(entryName));
+                try (InputStream in = clazz.getClassLoader().getResourceAsStream(entryName)) {
+                    out.write(in.readAllBytes());
+                }
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    static class UsesAtomics {
+        long next(AtomicLong count) {
+            return count.incrementAndGet() + count.get();
+        }
+    }
+
+    static class Unrelated {
+    }
+
+    @Deprecated
+    static class Annotated {
+    }
+}
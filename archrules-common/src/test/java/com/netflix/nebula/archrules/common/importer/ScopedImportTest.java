@@ -0,0 +1,163 @@
+package com.netflix.nebula.archrules.common.importer;
+
+import com.netflix.nebula.archrules.common.importer.annotated.UsesAtomicsInAnnotatedPackage;
+import com.tngtech.archunit.core.importer.Location;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScopedImportTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void test_subtypes() throws URISyntaxException {
+        final var scoped = ScopedImport.scan(RuleScope.subtypesOf(Marker.class.getName()), List.of(classesDir()));
+
+        assertThat(scoped.includes(location(Direct.class))).isTrue();
+        assertThat(scoped.includes(location(Indirect.class))).isTrue();
+        assertThat(scoped.includes(location(UsesReferenced.class))).isTrue();
+        assertThat(scoped.includes(location(Referenced.class))).isFalse();
+        assertThat(scoped.includes(location(Unrelated.class))).isFalse();
+        assertThat(scoped.includes(location(Marker.class))).isFalse();
+
+        final var classes = scoped.importClasses();
+        assertThat(classes.contain(Indirect.class)).isTrue();
+        assertThat(classes.contain(Unrelated.class)).isFalse();
+    }
+
+    @Test
+    public void test_referencedClasses() throws URISyntaxException {
+        final var scoped = ScopedImport.scan(
+                RuleScope.subtypesOf(Marker.class.getName()).withReferencedClasses(), List.of(classesDir()));
+
+        assertThat(scoped.includes(location(Referenced.class))).isTrue();
+        assertThat(scoped.includes(location(Unrelated.class))).isFalse();
+    }
+
+    @Test
+    public void test_referencedPackages() throws URISyntaxException {
+        final var scoped = ScopedImport.scan(RuleScope.referencing("java.util.concurrent.atomic"),
+                List.of(classesDir()));
+
+        assertThat(scoped.includes(location(UsesAtomics.class))).isTrue();
+        assertThat(scoped.includes(location(Unrelated.class))).isFalse();
+    }
+
+    @Test
+    public void test_referencedTypesAndMembers() throws URISyntaxException {
+        final var types = ScopedImport.scan(RuleScope.referencingTypes(AtomicLong.class.getName()),
+                List.of(classesDir()));
+        final var members = ScopedImport.scan(RuleScope.accessing(AtomicLong.class.getName(), "incrementAndGet"),
+                List.of(classesDir()));
+
+        assertThat(types.includes(location(UsesAtomics.class))).isTrue();
+        assertThat(types.includes(location(IncrementsAtomics.class))).isTrue();
+        assertThat(types.includes(location(Unrelated.class))).isFalse();
+        assertThat(members.includes(location(IncrementsAtomics.class))).isTrue();
+        assertThat(members.includes(location(UsesAtomics.class))).isFalse();
+    }
+
+    @Test
+    public void test_unscopedRuleImportsEverything() throws URISyntaxException {
+        final ArchRule scopedRule = RuleScope.scoped(ArchRuleDefinition.classes().should().bePublic(),
+                RuleScope.subtypesOf(Marker.class.getName()));
+        final ArchRule unscopedRule = ArchRuleDefinition.classes().should().bePublic();
+
+        final var scoped = ScopedImport.scan(List.of(scopedRule, unscopedRule), List.of(classesDir()));
+
+        assertThat(RuleScope.of(scopedRule).isEverything()).isFalse();
+        assertThat(scoped.includes(location(Unrelated.class))).isTrue();
+    }
+
+    @Test
+    public void test_jarsWithoutClassesInScopeAreSkipped() throws IOException, URISyntaxException {
+        final var inScope = jar("in-scope.jar", Direct.class, Unrelated.class);
+        final var outOfScope = jar("out-of-scope.jar", Unrelated.class, Referenced.class);
+
+        final var scoped = ScopedImport.scan(RuleScope.subtypesOf(Marker.class.getName()),
+                List.of(inScope, outOfScope));
+
+        assertThat(scoped.getLocations()).containsExactly(ClassFiles.locationOf(inScope));
+        assertThat(scoped.classesInScope()).isEqualTo(1);
+        assertThat(scoped.importClasses().contain(Direct.class)).isTrue();
+    }
+
+    @Test
+    public void test_packageInfoOfPackagesInScope() throws URISyntaxException, ClassNotFoundException {
+        final var packageInfo = Class.forName(UsesAtomicsInAnnotatedPackage.class.getPackageName() + ".package-info");
+
+        final var scoped = ScopedImport.scan(RuleScope.referencingTypes(AtomicLong.class.getName()),
+                List.of(classesDir()));
+
+        assertThat(scoped.includes(location(packageInfo))).isTrue();
+        assertThat(scoped.importClasses().get(UsesAtomicsInAnnotatedPackage.class).getPackage()
+                .isAnnotatedWith(NullMarked.class)).isTrue();
+    }
+
+    private static Path classesDir() throws URISyntaxException {
+        return Path.of(ScopedImportTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    private static Location location(Class<?> clazz) throws URISyntaxException {
+        return Location.of(classesDir().resolve(clazz.getName().replace('.', '/') + ".class"));
+    }
+
+    private Path jar(String name, Class<?>... classes) throws IOException {
+        final var jar = tempDir.resolve(name);
+        try (var out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Class<?> clazz : classes) {
+                final var entryName = clazz.getName().replace('.', '/') + ".class";
+                out.putNextEntry(new JarEntry(entryName));
+                try (InputStream in = clazz.getClassLoader().getResourceAsStream(entryName)) {
+                    out.write(in.readAllBytes());
+                }
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    interface Marker {
+    }
+
+    static class Direct implements Marker {
+    }
+
+    static class Indirect extends Direct {
+    }
+
+    static class Referenced {
+    }
+
+    static class UsesReferenced implements Marker {
+        Referenced referenced = new Referenced();
+    }
+
+    static class Unrelated {
+    }
+
+    static class UsesAtomics {
+        AtomicLong count = new AtomicLong();
+    }
+
+    static class IncrementsAtomics {
+        long increment(AtomicLong count) {
+            return count.incrementAndGet();
+        }
+    }
+}
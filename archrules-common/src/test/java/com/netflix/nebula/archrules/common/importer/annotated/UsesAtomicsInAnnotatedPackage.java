@@ -0,0 +1,7 @@
+package com.netflix.nebula.archrules.common.importer.annotated;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UsesAtomicsInAnnotatedPackage {
+    AtomicLong count = new AtomicLong();
+}
@@ -0,0 +1,4 @@
+@NullMarked
+package com.netflix.nebula.archrules.common.importer.annotated;
+
+import org.jspecify.annotations.NullMarked;
@@ -1,6 +1,10 @@
 package com.netflix.nebula.archrules.deprecation;
 
+import com.netflix.nebula.archrules.common.graph.DependencyGraph;
+import com.netflix.nebula.archrules.common.graph.EdgePredicate;
 import com.netflix.nebula.archrules.core.ArchRulesService;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.Priority;
 import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
@@ -10,14 +14,14 @@ import java.util.Map;
 
 import static com.netflix.nebula.archrules.common.CanBeAnnotated.Predicates.deprecated;
 import static com.netflix.nebula.archrules.common.CanBeAnnotated.Predicates.deprecatedForRemoval;
-import static com.netflix.nebula.archrules.common.Dependency.Predicates.resideInSamePackage;
-import static com.netflix.nebula.archrules.common.JavaAccess.Predicates.targetHasOwnerInSamePackage;
-import static com.netflix.nebula.archrules.common.JavaClass.Conditions.haveAnyDependenciesThat;
-import static com.tngtech.archunit.base.DescribedPredicate.doNot;
-import static com.tngtech.archunit.base.DescribedPredicate.not;
-import static com.tngtech.archunit.core.domain.Dependency.Predicates.dependencyTarget;
-import static com.tngtech.archunit.core.domain.JavaAccess.Predicates.target;
-import static com.tngtech.archunit.core.domain.JavaAccess.Predicates.targetOwner;
+import static com.netflix.nebula.archrules.common.evaluation.PartitionableRules.partitionable;
+import static com.netflix.nebula.archrules.common.graph.GraphSnapshot.Predicates.deprecatedClass;
+import static com.netflix.nebula.archrules.common.graph.GraphSnapshot.Predicates.deprecatedClassForRemoval;
+import static com.netflix.nebula.archrules.common.graph.DependencyGraph.Conditions.accessTargetWhere;
+import static com.netflix.nebula.archrules.common.graph.DependencyGraph.Conditions.haveAnyDependenciesThat;
+import static com.netflix.nebula.archrules.common.graph.EdgePredicate.targetClass;
+import static com.netflix.nebula.archrules.common.graph.EdgePredicate.targetMember;
+import static com.netflix.nebula.archrules.common.graph.EdgePredicate.targetOwner;
 import static com.tngtech.archunit.lang.conditions.ArchPredicates.is;
 
 @NullMarked
@@ -31,24 +35,50 @@ public class DeprecationRule implements ArchRulesService {
      * - Java @Deprecated annotations
      * - Kotlin @Deprecated annotations
      * - Kotlin @DeprecatedSinceKotlin annotations
+     * <p>
+     * The deprecation of classes is read from the {@code GraphSnapshot} attached to the import when there is one,
+     * e.g. one written by {@code ClasspathSnapshot} from the jars of the classpath, so that library classes need not
+     * be imported with their annotations.
      */
-    public static final ArchRule deprecationRule = ArchRuleDefinition.priority(Priority.LOW)
+    public static final ArchRule deprecationRule = partitionable(ArchRuleDefinition.priority(Priority.LOW)
             .noClasses()
-            .should(haveAnyDependenciesThat(doNot(resideInSamePackage())
-                    .and(dependencyTarget(is(deprecated())))))
-            .orShould().accessTargetWhere(not(targetHasOwnerInSamePackage())
-                    .and(target(is(deprecated())).or(targetOwner(is(deprecated())))))
+            .should(haveAnyDependenciesThat(outsideOfPackage(targetClass(is(deprecatedClass())))))
+            .orShould(accessTargetWhere(notInSamePackage(targetMember(is(deprecated()))
+                    .or(ownerDescribedAsTarget(is(deprecatedClass()))))))
             .allowEmptyShould(true)
-            .because("usage of deprecated APIs introduces risk that future upgrades and migrations will be blocked");
+            .because("usage of deprecated APIs introduces risk that future upgrades and migrations will be blocked"));
 
-    public static final ArchRule deprecationForRemovalRule = ArchRuleDefinition.priority(Priority.MEDIUM)
+    public static final ArchRule deprecationForRemovalRule = partitionable(ArchRuleDefinition.priority(Priority.MEDIUM)
             .noClasses()
-            .should(haveAnyDependenciesThat(doNot(resideInSamePackage())
-                    .and(dependencyTarget(is(deprecatedForRemoval())))))
-            .orShould().accessTargetWhere(not(targetHasOwnerInSamePackage())
-                    .and(target(is(deprecatedForRemoval())).or(targetOwner(is(deprecatedForRemoval())))))
+            .should(haveAnyDependenciesThat(outsideOfPackage(targetClass(is(deprecatedClassForRemoval())))))
+            .orShould(accessTargetWhere(notInSamePackage(targetMember(is(deprecatedForRemoval()))
+                    .or(ownerDescribedAsTarget(is(deprecatedClassForRemoval()))))))
             .allowEmptyShould(true)
-            .because("these APIs are scheduled for removal and usage will block future upgrades");
+            .because("these APIs are scheduled for removal and usage will block future upgrades"));
+
+    /**
+     * dependencies on other packages matching the predicate, evaluated over the {@link DependencyGraph}; described
+     * like {@code doNot(resideInSamePackage()).and(dependencyTarget(...))}
+     */
+    private static EdgePredicate outsideOfPackage(EdgePredicate predicate) {
+        return EdgePredicate.doNot(EdgePredicate.resideInSamePackage()).and(predicate);
+    }
+
+    /**
+     * like {@code EdgePredicate.targetOwner}, but described like ArchUnit's {@code JavaAccess.Predicates.targetOwner},
+     * which describes itself as "target" until https://github.com/TNG/ArchUnit/pull/1579
+     */
+    private static EdgePredicate ownerDescribedAsTarget(DescribedPredicate<? super JavaClass> predicate) {
+        return targetOwner(predicate).as("target " + predicate.getDescription());
+    }
+
+    /**
+     * accesses of other packages matching the predicate, evaluated over the {@link DependencyGraph}; described
+     * like {@code not(targetHasOwnerInSamePackage()).and(...)}
+     */
+    private static EdgePredicate notInSamePackage(EdgePredicate predicate) {
+        return EdgePredicate.not(EdgePredicate.resideInSamePackage().as("in the same package")).and(predicate);
+    }
 
     @Override
     public Map<String, ArchRule> getRules() {
@@ -1,16 +1,26 @@
 package com.netflix.nebula.archrules.deprecation;
 
+import com.netflix.nebula.archrules.common.graph.GraphSnapshot;
+import com.netflix.nebula.archrules.common.importer.ClasspathSnapshot;
 import com.netflix.nebula.archrules.core.Runner;
 import com.netflix.nebula.archrules.deprecation.other.ClassThatIsJavaDeprecated;
 import com.netflix.nebula.archrules.deprecation.other.DeprecatedForRemovalClass;
 import com.netflix.nebula.archrules.deprecation.other.DeprecatedInterface;
 import com.netflix.nebula.archrules.deprecation.other.MethodThatIsDeprecated;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
 import com.tngtech.archunit.lang.EvaluationResult;
 import com.tngtech.archunit.lang.Priority;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class DeprecationRuleTest {
@@ -21,6 +31,9 @@ public class DeprecationRuleTest {
     static final String TARGET_IS_DEPRECATED = "target is deprecated";
     static final String TARGET_OWNER_IS_DEPRECATED = "target owner is deprecated";
 
+    @TempDir
+    Path tempDir;
+
     @Test
     public void testDeprecationRule_class() {
         final EvaluationResult result = Runner.check(DeprecationRule.deprecationRule, CodeThatUsesJavaDeprecatedClass.class);
@@ -36,6 +49,27 @@ public class DeprecationRuleTest {
                 .doesNotContain(TARGET_OWNER_IS_DEPRECATED);
     }
 
+    @Test
+    public void testDeprecationRule_classpathSnapshot() throws URISyntaxException {
+        ArchConfiguration.get().setResolveMissingDependenciesFromClassPath(false);
+        try {
+            final JavaClasses classes = new ClassFileImporter().importClasses(CodeThatUsesJavaDeprecatedClass.class);
+            assertThat(DeprecationRule.deprecationRule.evaluate(classes).hasViolation())
+                    .as("the deprecated class is not imported, so its annotations are unknown")
+                    .isFalse();
+
+            final Path file = tempDir.resolve("classpath.bin");
+            ClasspathSnapshot.write(List.of(Path.of(DeprecationRuleTest.class.getProtectionDomain()
+                    .getCodeSource().getLocation().toURI())), file);
+            GraphSnapshot.open(file).attachTo(classes);
+            final EvaluationResult result = DeprecationRule.deprecationRule.evaluate(classes);
+            assertThat(result.hasViolation()).isTrue();
+            assertThat(result.getFailureReport().toString()).contains(ClassThatIsJavaDeprecated.class.getName());
+        } finally {
+            ArchConfiguration.get().reset();
+        }
+    }
+
     @Test
     public void testDeprecationRule_method_samePackage() {
         final EvaluationResult result =
@@ -1,16 +1,27 @@
 package com.netflix.nebula.archrules.gradleplugins;
 
+import com.netflix.nebula.archrules.common.evaluation.BannedReferences;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.Priority;
 import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
 import org.jspecify.annotations.NullMarked;
 
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.banned;
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.member;
+import static com.tngtech.archunit.lang.conditions.ArchConditions.callMethod;
+
 @NullMarked
 public class GradlePluginApplicationRule {
-    public static final ArchRule APPLY_BY_ID = ArchRuleDefinition.priority(Priority.MEDIUM)
+    private static final String PLUGIN_CONTAINER = "org.gradle.api.plugins.PluginContainer";
+    private static final String PLUGIN_MANAGER = "org.gradle.api.plugins.PluginManager";
+    private static final BannedReferences CONTAINER_APPLY = member(PLUGIN_CONTAINER, "apply");
+    private static final BannedReferences MANAGER_APPLY = member(PLUGIN_MANAGER, "apply");
+
+    public static final ArchRule APPLY_BY_ID = banned(ArchRuleDefinition.priority(Priority.MEDIUM)
             .noClasses()
-            .should().callMethod("org.gradle.api.plugins.PluginContainer", "apply", "java.lang.Class")
-            .orShould().callMethod("org.gradle.api.plugins.PluginManager", "apply", "java.lang.Class")
+            .should(CONTAINER_APPLY.prefilter(callMethod(PLUGIN_CONTAINER, "apply", "java.lang.Class")))
+            .orShould(MANAGER_APPLY.prefilter(callMethod(PLUGIN_MANAGER, "apply", "java.lang.Class")))
             .allowEmptyShould(true)
-            .because("plugins should be applied by ID to ensure idempotency");
+            .because("plugins should be applied by ID to ensure idempotency"),
+            CONTAINER_APPLY.and(MANAGER_APPLY));
 }
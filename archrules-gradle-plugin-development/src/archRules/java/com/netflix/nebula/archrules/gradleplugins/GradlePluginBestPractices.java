@@ -1,5 +1,6 @@
 package com.netflix.nebula.archrules.gradleplugins;
 
+import com.netflix.nebula.archrules.common.importer.RuleScope;
 import com.netflix.nebula.archrules.core.ArchRulesService;
 import com.tngtech.archunit.lang.ArchRule;
 import org.jspecify.annotations.NullMarked;
@@ -24,10 +25,19 @@ import static com.netflix.nebula.archrules.gradleplugins.GradleTaskCacheabilityR
 import static com.netflix.nebula.archrules.gradleplugins.GradleTaskCacheabilityRule.METHODS_PATH_SENSITIVITY;
 import static com.netflix.nebula.archrules.gradleplugins.GradleTaskContainerApiRule.USE_CONFIGURE_EACH_INSTEAD_OF_ALL;
 import static com.netflix.nebula.archrules.gradleplugins.GradleTaskContainerApiRule.USE_NAMED_INSTEAD_OF_GET_BY_NAME;
+import static com.netflix.nebula.archrules.gradleplugins.TypeConstants.GRADLE_PLUGIN;
+import static com.netflix.nebula.archrules.gradleplugins.TypeConstants.GRADLE_TASK;
 
 @NullMarked
 @SuppressWarnings("unused")
 public class GradlePluginBestPractices implements ArchRulesService {
+    /**
+     * plugins, tasks and their extensions; every rule here selects only these classes
+     */
+    static final RuleScope SCOPE = RuleScope.subtypesOf(GRADLE_PLUGIN, GRADLE_TASK)
+            .or(RuleScope.referencing("org.gradle"))
+            .withReferencedClasses();
+
     @Override
     public Map<String, ArchRule> getRules() {
         Map<String, ArchRule> rules = new HashMap<>();
@@ -53,6 +63,7 @@ public class GradlePluginBestPractices implements ArchRulesService {
         rules.put("Cacheable Task input field path sensitivity", FIELDS_PATH_SENSITIVITY);
         rules.put("Cacheable Task input method path sensitivity", METHODS_PATH_SENSITIVITY);
         rules.put("Apply plugins by ID", APPLY_BY_ID);
+        rules.replaceAll((key, rule) -> RuleScope.scoped(rule, SCOPE));
         return rules;
     }
 }
@@ -1,5 +1,7 @@
 package com.netflix.nebula.archrules.gradleplugins;
 
+import com.netflix.nebula.archrules.common.LazyConditionEvent;
+import com.netflix.nebula.archrules.common.PredicatePlan;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaField;
@@ -9,8 +11,6 @@ import com.tngtech.archunit.lang.ArchCondition;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.ConditionEvents;
 import com.tngtech.archunit.lang.Priority;
-import com.tngtech.archunit.lang.SimpleConditionEvent;
-import com.tngtech.archunit.lang.conditions.ArchPredicates;
 import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
 import org.jspecify.annotations.NullMarked;
 
@@ -74,24 +74,24 @@ class GradlePluginExtensionProviderApiRule {
         return new ArchCondition<JavaField>("use Provider API type") {
             @Override
             public void check(JavaField field, ConditionEvents events) {
-                String message = String.format(
+                events.add(LazyConditionEvent.violated(field, () -> String.format(
                         "Field <%s.%s> has type %s. Use Property<%s> for lazy configuration.",
                         field.getOwner().getName(),
                         field.getName(),
                         field.getRawType().getSimpleName(),
                         field.getRawType().getSimpleName()
-                );
-                events.add(SimpleConditionEvent.violated(field, message));
+                )));
             }
         };
     }
 
-    static final DescribedPredicate<JavaMethod> richExtensionPropertyGetters = ArchPredicates.are(aGetter())
-            .and(are(hasRichPropertyReturnType))
-            .and(not(modifier(JavaModifier.PRIVATE)))
-            .and(not(annotatedWith("javax.inject.Inject")))
-            .and(declaredIn(pluginExtensionClass))
-            .as("extension property getters");
+    static final DescribedPredicate<JavaMethod> richExtensionPropertyGetters = PredicatePlan.<JavaMethod>allOf(
+            are(aGetter()),
+            are(hasRichPropertyReturnType),
+            not(modifier(JavaModifier.PRIVATE)),
+            not(annotatedWith("javax.inject.Inject")),
+            declaredIn(pluginExtensionClass)
+    ).as("extension property getters");
 
     /**
      * Ensures that extension classes define Provider API properties as abstract getters.
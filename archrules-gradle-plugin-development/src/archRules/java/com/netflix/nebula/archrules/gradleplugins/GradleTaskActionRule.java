@@ -1,5 +1,6 @@
 package com.netflix.nebula.archrules.gradleplugins;
 
+import com.netflix.nebula.archrules.common.LazyConditionEvent;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.core.domain.JavaAccess;
 import com.tngtech.archunit.core.domain.JavaFieldAccess;
@@ -8,10 +9,11 @@ import com.tngtech.archunit.lang.ArchCondition;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.ConditionEvents;
 import com.tngtech.archunit.lang.Priority;
-import com.tngtech.archunit.lang.SimpleConditionEvent;
 import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
 import org.jspecify.annotations.NullMarked;
 
+import static com.netflix.nebula.archrules.common.AssignabilityIndex.isAssignableTo;
+
 /**
  * Rules for Gradle task action methods to ensure Gradle 10 compatibility.
  */
@@ -76,14 +78,13 @@ public class GradleTaskActionRule {
             public void check(JavaMethod method, ConditionEvents events) {
                 for (JavaAccess<?> access : method.getAccessesFromSelf()) {
                     if (isTargetTypeAccess(access) || isGetterCall(access) || isTargetTypeFieldAccess(access)) {
-                        String message = String.format(
+                        events.add(LazyConditionEvent.violated(access, () -> String.format(
                                 "Method %s.%s() accesses %s at %s",
                                 method.getOwner().getSimpleName(),
                                 method.getName(),
                                 displayName,
                                 access.getDescription()
-                        );
-                        events.add(SimpleConditionEvent.violated(access, message));
+                        )));
                     }
                 }
             }
@@ -96,13 +97,13 @@ public class GradleTaskActionRule {
                 if (!getterMethodName.equals(access.getName())) {
                     return false;
                 }
-                return access.getTargetOwner().isAssignableTo("org.gradle.api.Task");
+                return isAssignableTo(access.getTargetOwner(), "org.gradle.api.Task");
             }
 
             private boolean isTargetTypeFieldAccess(JavaAccess<?> access) {
                 if (access instanceof JavaFieldAccess) {
                     JavaFieldAccess fieldAccess = (JavaFieldAccess) access;
-                    return fieldAccess.getTarget().getRawType().isAssignableTo(fullyQualifiedClassName);
+                    return isAssignableTo(fieldAccess.getTarget().getRawType(), fullyQualifiedClassName);
                 }
                 return false;
             }
@@ -5,6 +5,7 @@ import com.tngtech.archunit.lang.Priority;
 import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
 import org.jspecify.annotations.NullMarked;
 
+import static com.netflix.nebula.archrules.common.evaluation.PartitionableRules.partitionable;
 import static com.netflix.nebula.archrules.gradleplugins.Predicates.areAnnotatedWithFileInputAnnotation;
 import static com.netflix.nebula.archrules.gradleplugins.TypeConstants.ANNOTATION_CACHEABLE_TASK;
 import static com.netflix.nebula.archrules.gradleplugins.TypeConstants.ANNOTATION_PATH_SENSITIVE;
@@ -26,7 +27,7 @@ public class GradleTaskCacheabilityRule {
      * how file paths affect cache keys. Without this, tasks may not be relocatable
      * across different machines, breaking the build cache.
      */
-    public static final ArchRule METHODS_PATH_SENSITIVITY = ArchRuleDefinition.priority(Priority.HIGH)
+    public static final ArchRule METHODS_PATH_SENSITIVITY = partitionable(ArchRuleDefinition.priority(Priority.HIGH)
             .methods()
             .that(areAnnotatedWithFileInputAnnotation)
             .and().areDeclaredInClassesThat(are(annotatedWith(ANNOTATION_CACHEABLE_TASK)))
@@ -36,7 +37,7 @@ public class GradleTaskCacheabilityRule {
                     "Cacheable tasks with file inputs must declare @PathSensitive to specify how paths " +
                     "affect cache keys. This ensures build cache entries are relocatable across machines. " +
                     "See https://docs.gradle.org/current/userguide/build_cache.html#sec:task_output_caching_inputs"
-            );
+            ));
 
     /**
      * Ensures that cacheable tasks declare path sensitivity on file inputs.
@@ -45,7 +46,7 @@ public class GradleTaskCacheabilityRule {
      * how file paths affect cache keys. Without this, tasks may not be relocatable
      * across different machines, breaking the build cache.
      */
-    public static final ArchRule FIELDS_PATH_SENSITIVITY = ArchRuleDefinition.priority(Priority.HIGH)
+    public static final ArchRule FIELDS_PATH_SENSITIVITY = partitionable(ArchRuleDefinition.priority(Priority.HIGH)
             .fields()
             .that(areAnnotatedWithFileInputAnnotation)
             .and().areDeclaredInClassesThat(are(annotatedWith(ANNOTATION_CACHEABLE_TASK)))
@@ -55,5 +56,5 @@ public class GradleTaskCacheabilityRule {
                     "Cacheable tasks with file inputs must declare @PathSensitive to specify how paths " +
                     "affect cache keys. This ensures build cache entries are relocatable across machines. " +
                     "See https://docs.gradle.org/current/userguide/build_cache.html#sec:task_output_caching_inputs"
-            );
+            ));
 }
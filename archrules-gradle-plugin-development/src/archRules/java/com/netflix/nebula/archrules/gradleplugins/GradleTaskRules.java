@@ -1,5 +1,6 @@
 package com.netflix.nebula.archrules.gradleplugins;
 
+import com.netflix.nebula.archrules.common.LazyConditionEvent;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaMethod;
@@ -8,11 +9,11 @@ import com.tngtech.archunit.lang.ArchCondition;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.ConditionEvents;
 import com.tngtech.archunit.lang.Priority;
-import com.tngtech.archunit.lang.SimpleConditionEvent;
 import com.tngtech.archunit.lang.conditions.ArchPredicates;
 import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
 import org.jspecify.annotations.NullMarked;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -65,7 +66,7 @@ class GradleTaskRules {
             map.put(JAVA_UTIL_LIST, RECOMMENDATION_LIST_PROPERTY);
             map.put(JAVA_UTIL_SET, RECOMMENDATION_SET_PROPERTY);
             map.put(JAVA_UTIL_MAP, RECOMMENDATION_MAP_PROPERTY);
-            TYPE_TO_PROVIDER = map;
+            TYPE_TO_PROVIDER = Collections.unmodifiableMap(map);
         }
     }
 
@@ -111,16 +112,14 @@ class GradleTaskRules {
     private static void checkMethodForProviderApiUsage(JavaClass taskClass, JavaMethod method, ConditionEvents events) {
         JavaClass returnType = method.getRawReturnType();
         if (shouldUseProviderApi(returnType) && !isProviderApiType(returnType)) {
-            String recommendation = getSpecificRecommendation(returnType, method);
-            String message = String.format(
+            events.add(LazyConditionEvent.violated(method, () -> String.format(
                     "Task %s has getter '%s()' returning type %s with input/output annotation. " +
                     "Use %s for lazy configuration.",
                     taskClass.getSimpleName(),
                     method.getName(),
                     returnType.getSimpleName(),
-                    recommendation
-            );
-            events.add(SimpleConditionEvent.violated(method, message));
+                    getSpecificRecommendation(returnType, method)
+            )));
         }
     }
 
@@ -1,5 +1,6 @@
 package com.netflix.nebula.archrules.gradleplugins;
 
+import com.netflix.nebula.archrules.common.Memoized;
 import com.tngtech.archunit.base.ChainableFunction;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.core.domain.JavaAccess;
@@ -15,12 +16,13 @@ import com.tngtech.archunit.lang.conditions.ArchPredicates;
 
 import java.util.Set;
 
+import static com.netflix.nebula.archrules.common.AssignabilityIndex.assignableToAny;
+import static com.netflix.nebula.archrules.common.AssignabilityIndex.isAssignableTo;
 import static com.netflix.nebula.archrules.common.CanBeAnnotated.Predicates.annotatedWithAny;
 import static com.tngtech.archunit.base.DescribedPredicate.not;
 import static com.tngtech.archunit.core.domain.JavaAccess.Predicates.target;
 import static com.tngtech.archunit.core.domain.JavaAccess.Predicates.targetOwner;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.INTERFACES;
-import static com.tngtech.archunit.core.domain.JavaClass.Predicates.assignableTo;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.containAnyMethodsThat;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideInAPackage;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.simpleNameEndingWith;
@@ -43,8 +45,7 @@ class Predicates {
      * Matches methods returning Provider API or FileCollection types.
      */
     static final DescribedPredicate<HasReturnType> hasRichPropertyReturnType = ArchPredicates
-            .has(rawReturnType(assignableTo("org.gradle.api.provider.Provider")
-                    .or(assignableTo("org.gradle.api.file.FileCollection"))))
+            .has(rawReturnType(assignableToAny("org.gradle.api.provider.Provider", "org.gradle.api.file.FileCollection")))
             .as("has rich property return type");
 
     /**
@@ -52,8 +53,7 @@ class Predicates {
      */
     static final DescribedPredicate<JavaAccess<?>> taskIsCreatedEagerly = ArchPredicates
             .is(target(has(name("task").or(name("create")))))
-            .and(targetOwner(assignableTo("org.gradle.api.Project"))
-                    .or(targetOwner(assignableTo("org.gradle.api.tasks.TaskContainer"))))
+            .and(targetOwner(assignableToAny("org.gradle.api.Project", "org.gradle.api.tasks.TaskContainer")))
             .as("task is created eagerly");
 
     /** Matches classes in the org.gradle package. */
@@ -132,24 +132,31 @@ class Predicates {
         };
     }
 
-    /** Predicate matching Provider API types (Property, Provider, FileCollection, etc.). */
+    /** Matches non-interface classes assignable to Task; shared by all task rules so the hierarchy walk is cached once. */
+    private static final DescribedPredicate<JavaClass> A_GRADLE_TASK_CLASS =
+            Memoized.of(assignableToAny("org.gradle.api.Task")
+                    .and(not(INTERFACES))
+                    .as("a gradle task"));
+
+    /** Matches non-interface classes assignable to Task. */
     static DescribedPredicate<JavaClass> aGradleTaskClass(){
-        return assignableTo("org.gradle.api.Task")
-                .and(not(INTERFACES))
-                .as("a gradle task");
+        return A_GRADLE_TASK_CLASS;
     }
 
+    private static final DescribedPredicate<JavaClass> PROVIDER_API_TYPES = assignableToAny(
+            "org.gradle.api.provider.Property",
+            "org.gradle.api.provider.Provider",
+            "org.gradle.api.provider.ListProperty",
+            "org.gradle.api.provider.SetProperty",
+            "org.gradle.api.provider.MapProperty",
+            "org.gradle.api.file.RegularFileProperty",
+            "org.gradle.api.file.DirectoryProperty",
+            "org.gradle.api.file.ConfigurableFileCollection",
+            "org.gradle.api.file.FileCollection");
+
     /** Returns true if the type is a Gradle Provider API type (Property, Provider, FileCollection, etc.). */
     static boolean isProviderApiType(JavaClass type) {
-        return type.isAssignableTo("org.gradle.api.provider.Property") ||
-               type.isAssignableTo("org.gradle.api.provider.Provider") ||
-               type.isAssignableTo("org.gradle.api.provider.ListProperty") ||
-               type.isAssignableTo("org.gradle.api.provider.SetProperty") ||
-               type.isAssignableTo("org.gradle.api.provider.MapProperty") ||
-               type.isAssignableTo("org.gradle.api.file.RegularFileProperty") ||
-               type.isAssignableTo("org.gradle.api.file.DirectoryProperty") ||
-               type.isAssignableTo("org.gradle.api.file.ConfigurableFileCollection") ||
-               type.isAssignableTo("org.gradle.api.file.FileCollection");
+        return PROVIDER_API_TYPES.test(type);
     }
 
     /** Predicate matching Provider API types (Property, Provider, FileCollection, etc.). */
@@ -164,21 +171,14 @@ class Predicates {
     /** Creates a predicate matching calls to the specified method on the given owner class. */
     static DescribedPredicate<JavaAccess<?>> callsMethodOn(String methodName, String ownerClass) {
         return ArchPredicates.are(target(name(methodName)))
-                .and(targetOwner(assignableTo(ownerClass)))
+                .and(targetOwner(assignableToAny(ownerClass)))
                 .as("calls " + methodName + " on " + ownerClass);
     }
 
     /** Creates a predicate matching calls to the specified method on any of the given owner classes. */
     static DescribedPredicate<JavaAccess<?>> callsMethodOnAny(String methodName, String... ownerClasses) {
         DescribedPredicate<JavaAccess<?>> predicate = are(target(name(methodName)));
-        DescribedPredicate<JavaClass> ownerPredicate = null;
-
-        for (String ownerClass : ownerClasses) {
-            DescribedPredicate<JavaClass> current = assignableTo(ownerClass);
-            ownerPredicate = (ownerPredicate == null) ? current : ownerPredicate.or(current);
-        }
-
-        return predicate.and(targetOwner(ownerPredicate))
+        return predicate.and(targetOwner(assignableToAny(ownerClasses)))
                 .as("calls " + methodName + " on any of " + String.join(", ", ownerClasses));
     }
 
@@ -206,12 +206,12 @@ class Predicates {
                     .anyMatch(access -> {
                         JavaClass originOwner = access.getOriginOwner();
 
-                        if (originOwner.isAssignableTo(GRADLE_PLUGIN)) {
+                        if (isAssignableTo(originOwner, GRADLE_PLUGIN)) {
                             return true;
                         }
 
                         return originOwner.getAccessesToSelf().stream()
-                                .anyMatch(outerAccess -> outerAccess.getOriginOwner().isAssignableTo(GRADLE_PLUGIN));
+                                .anyMatch(outerAccess -> isAssignableTo(outerAccess.getOriginOwner(), GRADLE_PLUGIN));
                     });
 
             if (hasDirectAccess) {
@@ -221,14 +221,14 @@ class Predicates {
             return extensionClass.getAllFields().stream()
                     .filter(field -> "class".equals(field.getName()))
                     .flatMap(field -> field.getAccessesToSelf().stream())
-                    .anyMatch(access -> access.getOriginOwner().isAssignableTo(GRADLE_PLUGIN));
+                    .anyMatch(access -> isAssignableTo(access.getOriginOwner(), GRADLE_PLUGIN));
         }
     };
 
     /** Matches plugin extension classes (named with "Extension" suffix, non-interface, referenced from plugin). */
     static final DescribedPredicate<JavaClass> pluginExtensionClass =
-            simpleNameEndingWith("Extension")
+            Memoized.of(simpleNameEndingWith("Extension")
                     .and(not(INTERFACES))
                     .and(referencedFromPlugin)
-                    .as("plugin extension class");
+                    .as("plugin extension class"));
 }
@@ -1,11 +1,11 @@
 package com.netflix.nebula.archrules.gradleplugins;
 
+import com.netflix.nebula.archrules.common.PredicatePlan;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.core.domain.JavaMethod;
 import com.tngtech.archunit.core.domain.JavaModifier;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.Priority;
-import com.tngtech.archunit.lang.conditions.ArchPredicates;
 import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
 import org.jspecify.annotations.NullMarked;
 
@@ -22,16 +22,17 @@ import static com.tngtech.archunit.lang.conditions.ArchPredicates.are;
 @NullMarked
 public class TaskAbstractGetterRule {
 
-    private static final DescribedPredicate<JavaMethod> richTaskPropertyGetters = ArchPredicates.are(aGetter())
-            .and(are(hasRichPropertyReturnType))
-            .and(not(modifier(PRIVATE)))
-            .and(not(annotatedWith("javax.inject.Inject")))
-            .and(not(annotatedWith("org.gradle.api.tasks.options.OptionValues")))
-            .and(are(declaredIn(aGradleTaskClass())))
-            .and(not(declaredIn("org.gradle.api.Task")))
-            .and(not(declaredIn("org.gradle.api.DefaultTask")))
-            .and(not(declaredIn("org.gradle.api.internal.AbstractTask")))
-            .as("task property getters");
+    private static final DescribedPredicate<JavaMethod> richTaskPropertyGetters = PredicatePlan.<JavaMethod>allOf(
+            are(aGetter()),
+            are(hasRichPropertyReturnType),
+            not(modifier(PRIVATE)),
+            not(annotatedWith("javax.inject.Inject")),
+            not(annotatedWith("org.gradle.api.tasks.options.OptionValues")),
+            are(declaredIn(aGradleTaskClass())),
+            not(declaredIn("org.gradle.api.Task")),
+            not(declaredIn("org.gradle.api.DefaultTask")),
+            not(declaredIn("org.gradle.api.internal.AbstractTask"))
+    ).as("task property getters");
 
     /**
      * Inspired by
@@ -9,23 +9,29 @@ import org.jspecify.annotations.NullMarked;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.banned;
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.packages;
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.types;
+
 @NullMarked
 public class GuavaRules implements ArchRulesService {
-    static final ArchRule OPTIONAL = ArchRuleDefinition.priority(Priority.MEDIUM)
+    static final ArchRule OPTIONAL = banned(ArchRuleDefinition.priority(Priority.MEDIUM)
             .noClasses()
             .should()
             .dependOnClassesThat().haveFullyQualifiedName("com.google.common.base.Optional")
             .allowEmptyShould(true)
-            .because("Java Optional is preferred over Guava Optional");
+            .because("Java Optional is preferred over Guava Optional"),
+            types("com.google.common.base.Optional"));
 
-    static final ArchRule COLLECTIONS = ArchRuleDefinition.priority(Priority.MEDIUM)
+    static final ArchRule COLLECTIONS = banned(ArchRuleDefinition.priority(Priority.MEDIUM)
             .noClasses()
             .should()
             .dependOnClassesThat()
             .resideInAPackage("com.google.common.collect..")
             .allowEmptyShould(true)
             .because("Guava collections should not be used for compatibility reasons. " +
-                     "Prefer Java or Kotlin standard library collections instead.");
+                     "Prefer Java or Kotlin standard library collections instead."),
+            packages("com.google.common.collect"));
 
     @Override
     public Map<String, ArchRule> getRules() {
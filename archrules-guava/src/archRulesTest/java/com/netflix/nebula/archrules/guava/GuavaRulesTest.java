@@ -1,10 +1,18 @@
 package com.netflix.nebula.archrules.guava;
 
+import com.netflix.nebula.archrules.common.importer.ScopedImport;
 import com.netflix.nebula.archrules.core.Runner;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.EvaluationResult;
 import org.junit.jupiter.api.Test;
 
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,6 +41,23 @@ class GuavaRulesTest {
         assertThat(result.hasViolation()).isTrue();
     }
 
+    /**
+     * the rules only need the classes which reference Guava, so a scoped import skips the others
+     */
+    @Test
+    public void test_scopedImport() throws URISyntaxException {
+        final List<ArchRule> rules = new ArrayList<>(new GuavaRules().getRules().values());
+        final Path classesDir = Paths.get(OptionalFail.class.getProtectionDomain()
+                .getCodeSource().getLocation().toURI());
+        final JavaClasses classes = ScopedImport.scan(rules, List.of(classesDir)).importClasses();
+
+        assertThat(classes.contain(OptionalFail.class)).isTrue();
+        assertThat(classes.contain(CollectionsFail.class)).isTrue();
+        assertThat(classes.contain(OptionalPass.class)).isFalse();
+        assertThat(classes.contain(CollectionsPass.class)).isFalse();
+        assertThat(GuavaRules.OPTIONAL.evaluate(classes).hasViolation()).isTrue();
+        assertThat(GuavaRules.COLLECTIONS.evaluate(classes).hasViolation()).isTrue();
+    }
 
     static class OptionalFail {
         com.google.common.base.Optional<String> get() {
@@ -4,6 +4,7 @@ plugins {
 }
 description = "Arch Rules for detecting usage of javax"
 dependencies {
+    archRulesImplementation(project(":archrules-common"))
     archRulesImplementation(libs.jspecify)
 
     archRulesTestImplementation(libs.assertj)
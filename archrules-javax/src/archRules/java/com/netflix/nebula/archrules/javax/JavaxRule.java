@@ -9,17 +9,20 @@ import org.jspecify.annotations.NullMarked;
 import java.util.Collections;
 import java.util.Map;
 
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.banned;
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.packages;
+
 @NullMarked
 public class JavaxRule implements ArchRulesService {
     /**
      * This rule is a stop-gap to find all usages of Javax.
      */
-    public static final ArchRule javaxRule = ArchRuleDefinition.priority(Priority.MEDIUM)
+    public static final ArchRule javaxRule = banned(ArchRuleDefinition.priority(Priority.MEDIUM)
             .noClasses()
             .should().dependOnClassesThat().resideInAPackage("javax..")
             .allowEmptyShould(true)
             .as("No code should use Javax library")
-            .because("usage of Javax is deprecated. Please migrate to Jakarta.");
+            .because("usage of Javax is deprecated. Please migrate to Jakarta."), packages("javax"));
 
     @Override
     public Map<String, ArchRule> getRules() {
@@ -6,6 +6,7 @@ plugins {
 description = "Arch Rules for detecting usage of Joda"
 
 dependencies {
+    archRulesImplementation(project(":archrules-common"))
     archRulesImplementation(libs.jspecify)
 
     archRulesTestImplementation(libs.assertj)
@@ -10,17 +10,20 @@ import org.jspecify.annotations.NullMarked;
 import java.util.Collections;
 import java.util.Map;
 
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.banned;
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.packages;
+
 @NullMarked
 public class JodaRule implements ArchRulesService {
     /**
      * This rule is a stop-gap to find all usages of Joda.
      */
-    public static final ArchRule jodaRule = ArchRuleDefinition.priority(Priority.MEDIUM)
+    public static final ArchRule jodaRule = banned(ArchRuleDefinition.priority(Priority.MEDIUM)
             .noClasses()
             .should(GeneralCodingRules.USE_JODATIME)
             .allowEmptyShould(true)
             .as("No code should use Joda time library")
-            .because("usage of Joda is deprecated. Please migrate to java.time.");
+            .because("usage of Joda is deprecated. Please migrate to java.time."), packages("org.joda.time"));
 
     @Override
     public Map<String, ArchRule> getRules() {
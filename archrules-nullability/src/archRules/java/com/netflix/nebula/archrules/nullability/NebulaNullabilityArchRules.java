@@ -1,5 +1,7 @@
 package com.netflix.nebula.archrules.nullability;
 
+import com.netflix.nebula.archrules.common.Memoized;
+import com.netflix.nebula.archrules.common.evaluation.BannedReferences;
 import com.netflix.nebula.archrules.core.ArchRulesService;
 import com.tngtech.archunit.core.domain.JavaModifier;
 import com.tngtech.archunit.core.domain.properties.HasModifiers;
@@ -11,6 +13,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static com.netflix.nebula.archrules.common.JavaClass.Predicates.nullSafe;
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.banned;
+import static com.netflix.nebula.archrules.common.evaluation.ClassLocalRules.classLocal;
 import static com.netflix.nebula.archrules.nullability.HaveNoTests.haveNoTests;
 import static com.tngtech.archunit.lang.conditions.ArchConditions.be;
 import static com.tngtech.archunit.lang.conditions.ArchConditions.fullyQualifiedName;
@@ -22,52 +26,43 @@ public class NebulaNullabilityArchRules implements ArchRulesService {
             .areTopLevelClasses()
             .and().arePublic()
             .and().containAnyMembersThat(HasModifiers.Predicates.modifier(JavaModifier.PUBLIC))
-            .and(haveNoTests())
+            .and(Memoized.of(haveNoTests()))
             .should(be(nullSafe()))
             .allowEmptyShould(true)
             .because("public classes should be null marked");
-    static final ArchRule UPGRADE_LEGACY_JETBRAINS = ArchRuleDefinition.priority(Priority.MEDIUM)
-            .noClasses()
-            .that(are(nullSafe()))
-            .should()
-            .dependOnClassesThat(fullyQualifiedName("org.jetbrains.annotations.Nullable"))
-            .orShould().dependOnClassesThat(fullyQualifiedName("org.jetbrains.annotations.NotNull"))
-            .allowEmptyShould(true)
-            .because("Only JSpecify annotations should be used on @NullMarked classes");
-    static final ArchRule UPGRADE_LEGACY_SPRING_FRAMEWORK = ArchRuleDefinition.priority(Priority.MEDIUM)
-            .noClasses()
-            .that(are(nullSafe()))
-            .should()
-            .dependOnClassesThat(fullyQualifiedName("org.springframework.lang.Nullable"))
-            .orShould().dependOnClassesThat(fullyQualifiedName("org.springframework.lang.NonNull"))
-            .allowEmptyShould(true)
-            .because("Only JSpecify annotations should be used on @NullMarked classes");
-    static final ArchRule UPGRADE_LEGACY_JAVAX = ArchRuleDefinition.priority(Priority.MEDIUM)
-            .noClasses()
-            .that(are(nullSafe()))
-            .should()
-            .dependOnClassesThat(fullyQualifiedName("javax.annotation.Nullable"))
-            .orShould().dependOnClassesThat(fullyQualifiedName("javax.annotation.Nonnull"))
-            .allowEmptyShould(true)
-            .because("Only JSpecify annotations should be used on @NullMarked classes");
-    static final ArchRule UPGRADE_LEGACY_JAKARTA = ArchRuleDefinition.priority(Priority.MEDIUM)
-            .noClasses()
-            .that(are(nullSafe()))
-            .should()
-            .dependOnClassesThat(fullyQualifiedName("jakarta.annotation.Nullable"))
-            .orShould().dependOnClassesThat(fullyQualifiedName("jakarta.annotation.Nonnull"))
-            .allowEmptyShould(true)
-            .because("Only JSpecify annotations should be used on @NullMarked classes");
-    static final ArchRule NO_OPTIONAL_CLASS_FIELDS = ArchRuleDefinition.priority(Priority.MEDIUM)
+    static final ArchRule UPGRADE_LEGACY_JETBRAINS =
+            upgradeLegacy("org.jetbrains.annotations.Nullable", "org.jetbrains.annotations.NotNull");
+    static final ArchRule UPGRADE_LEGACY_SPRING_FRAMEWORK =
+            upgradeLegacy("org.springframework.lang.Nullable", "org.springframework.lang.NonNull");
+    static final ArchRule UPGRADE_LEGACY_JAVAX =
+            upgradeLegacy("javax.annotation.Nullable", "javax.annotation.Nonnull");
+    static final ArchRule UPGRADE_LEGACY_JAKARTA =
+            upgradeLegacy("jakarta.annotation.Nullable", "jakarta.annotation.Nonnull");
+    static final ArchRule NO_OPTIONAL_CLASS_FIELDS = classLocal(ArchRuleDefinition.priority(Priority.MEDIUM)
             .noFields()
             .should().haveRawType("java.util.Optional")
             .allowEmptyShould(true)
-            .because("Class fields should not be Optional, use Nullable instead");
-    static final ArchRule NO_OPTIONAL_METHOD_PARAMETERS = ArchRuleDefinition.priority(Priority.LOW)
+            .because("Class fields should not be Optional, use Nullable instead"));
+    static final ArchRule NO_OPTIONAL_METHOD_PARAMETERS = classLocal(ArchRuleDefinition.priority(Priority.LOW)
             .noMethods()
             .should().haveRawParameterTypes("java.util.Optional")
             .allowEmptyShould(true)
-            .because("Method parameters should not be Optional");
+            .because("Method parameters should not be Optional"));
+
+    /**
+     * null safe classes should not use the legacy annotations; their scope and prefilter come from the banned names
+     */
+    private static ArchRule upgradeLegacy(String nullableName, String nonNullName) {
+        BannedReferences references = BannedReferences.types(nullableName, nonNullName);
+        return banned(ArchRuleDefinition.priority(Priority.MEDIUM)
+                .noClasses()
+                .that(references.prefilter(are(nullSafe())))
+                .should()
+                .dependOnClassesThat(fullyQualifiedName(nullableName))
+                .orShould().dependOnClassesThat(fullyQualifiedName(nonNullName))
+                .allowEmptyShould(true)
+                .because("Only JSpecify annotations should be used on @NullMarked classes"), references);
+    }
 
     @Override
     public Map<String, ArchRule> getRules() {
@@ -1,10 +1,24 @@
 package com.netflix.nebula.archrules.nullability;
 
+import com.netflix.nebula.archrules.common.evaluation.ParallelEvaluator;
+import com.netflix.nebula.archrules.common.importer.ScopedImport;
 import com.netflix.nebula.archrules.core.Runner;
+import com.netflix.nebula.archrules.nullability.packageann.JetbrainsInAnnotatedPackage;
 import com.netflix.nebula.archrules.nullability.packageann.PublicClassInAnnotatedPackage;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.EvaluationResult;
 import org.junit.jupiter.api.Test;
 
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class NebulaNullabilityArchRulesTest {
@@ -116,4 +130,47 @@ public class NebulaNullabilityArchRulesTest {
                 .as(() -> result.getFailureReport().toString())
                 .isFalse();
     }
+
+    /**
+     * the rule selects classes by their package's annotation, so a scoped import has to keep package-info
+     */
+    @Test
+    public void test_packageAnnotationUnderScopedImport() throws URISyntaxException {
+        final ArchRule rule = NebulaNullabilityArchRules.UPGRADE_LEGACY_JETBRAINS;
+        final Path classesDir = Paths.get(JetbrainsInAnnotatedPackage.class.getProtectionDomain()
+                .getCodeSource().getLocation().toURI());
+        final JavaClasses classes = ScopedImport.scan(List.of(rule), List.of(classesDir)).importClasses();
+
+        EvaluationResult result = rule.evaluate(classes);
+        assertThat(result.getFailureReport().getDetails())
+                .anyMatch(it -> it.contains(JetbrainsInAnnotatedPackage.class.getName()));
+    }
+
+    /**
+     * the rules share predicates and caches; evaluating them concurrently must not change any result
+     */
+    @Test
+    public void test_concurrentEvaluation() {
+        final Map<String, ArchRule> rules = new NebulaNullabilityArchRules().getRules();
+        final JavaClasses sequentialImport = importTestClasses();
+        final Map<String, String> expected = new TreeMap<>();
+        rules.forEach((key, rule) -> expected.put(key, report(rule.evaluate(sequentialImport))));
+        final ForkJoinPool pool = new ForkJoinPool(8);
+
+        for (int i = 0; i < 3; i++) {
+            final Map<String, String> actual = new TreeMap<>();
+            new ParallelEvaluator(pool).evaluate(rules, importTestClasses())
+                    .forEach((key, result) -> actual.put(key, report(result)));
+            assertThat(actual).isEqualTo(expected);
+        }
+        pool.shutdown();
+    }
+
+    private static JavaClasses importTestClasses() {
+        return new ClassFileImporter().importPackages("com.netflix.nebula.archrules.nullability");
+    }
+
+    private static String report(EvaluationResult result) {
+        return String.join("\n", result.getFailureReport().getDetails());
+    }
 }
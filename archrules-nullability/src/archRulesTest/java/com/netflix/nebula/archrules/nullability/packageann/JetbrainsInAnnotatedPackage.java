@@ -0,0 +1,6 @@
+package com.netflix.nebula.archrules.nullability.packageann;
+
+public class JetbrainsInAnnotatedPackage {
+    @org.jetbrains.annotations.Nullable
+    String nullable;
+}
@@ -7,6 +7,7 @@ repositories {
     mavenCentral()
 }
 dependencies {
+    archRulesImplementation(project(":archrules-common"))
     archRulesImplementation(libs.jspecify)
 
     archRulesTestImplementation(libs.assertj)
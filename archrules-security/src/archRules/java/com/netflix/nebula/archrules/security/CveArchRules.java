@@ -10,12 +10,15 @@ import org.jspecify.annotations.NullMarked;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.banned;
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.member;
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.types;
 import static com.tngtech.archunit.core.domain.JavaAccess.Predicates.targetOwner;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.assignableTo;
 
 @NullMarked
 public class CveArchRules implements ArchRulesService {
-    public static final ArchRule CVE_2020_29582 = ArchRuleDefinition.priority(Priority.HIGH)
+    public static final ArchRule CVE_2020_29582 = banned(ArchRuleDefinition.priority(Priority.HIGH)
             .noClasses()
             .should().callMethod(
                     "kotlin.io.FilesKt",
@@ -30,8 +33,13 @@ public class CveArchRules implements ArchRulesService {
                      "and placing sensitive information within either of these locations " +
                      "would be leaking this information in a read-only way to other users also on this system. " +
                      "We recommend migrating to the Java 7 API java.nio.file.Files.createTempDirectory() " +
-                     "which explicitly configures permissions of 700");
+                     "which explicitly configures permissions of 700"),
+            member("kotlin.io.FilesKt", "createTempDir").and(member("kotlin.io.FilesKt", "createTempFile")));
 
+    /**
+     * not banned: matching by simple name in any package and accesses through subtypes are not covered by any
+     * set of referenced names
+     */
     public static final ArchRule CVE_2023_2976 = ArchRuleDefinition.priority(Priority.HIGH)
             .noClasses()
             .should()
@@ -45,7 +53,7 @@ public class CveArchRules implements ArchRulesService {
                      "with access to the default Java temporary directory to be able to access the " +
                      "files created by the class.");
 
-    public static final ArchRule CVE_2020_8908 = ArchRuleDefinition.priority(Priority.HIGH)
+    public static final ArchRule CVE_2020_8908 = banned(ArchRuleDefinition.priority(Priority.HIGH)
             .noClasses()
             .should().callMethod("com.google.common.io.Files", "createTempDir")
             .allowEmptyShould(true)
@@ -55,8 +63,12 @@ public class CveArchRules implements ArchRulesService {
                      "By default, on unix-like systems, the created directory is world-readable " +
                      "(readable by an attacker with access to the system). " +
                      "We recommend migrating to the Java 7 API java.nio.file.Files.createTempDirectory() " +
-                     "which explicitly configures permissions of 700");
+                     "which explicitly configures permissions of 700"),
+            member("com.google.common.io.Files", "createTempDir"));
 
+    /**
+     * not banned, like {@link #CVE_2023_2976}
+     */
     public static final ArchRule CVE_2018_10237 = ArchRuleDefinition.priority(Priority.HIGH)
             .noClasses()
             .should()
@@ -76,11 +88,12 @@ public class CveArchRules implements ArchRulesService {
                      "perform eager allocation without appropriate checks on what a client has sent " +
                      "and whether the data size is reasonable. ");
 
-    public static final ArchRule CVE_2024_6763 = ArchRuleDefinition.priority(Priority.HIGH)
+    public static final ArchRule CVE_2024_6763 = banned(ArchRuleDefinition.priority(Priority.HIGH)
             .noClasses()
             .should().dependOnClassesThat().haveFullyQualifiedName("org.eclipse.jetty.http.HttpURI")
             .allowEmptyShould(true)
-            .because("The HttpURI class does insufficient validation on the authority segment of a URI.");
+            .because("The HttpURI class does insufficient validation on the authority segment of a URI."),
+            types("org.eclipse.jetty.http.HttpURI"));
 
     @Override
     public Map<String, ArchRule> getRules() {
@@ -1,13 +1,18 @@
 package com.netflix.nebula.archrules.security;
 
 import com.google.common.io.FileBackedOutputStream;
+import com.netflix.nebula.archrules.common.evaluation.FusedReferenceEvaluator;
 import com.netflix.nebula.archrules.core.Runner;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.EvaluationResult;
 import kotlin.io.FilesKt;
 import org.eclipse.jetty.http.HttpURI;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -64,6 +69,23 @@ public class CveArchRulesTest {
                 .hasSize(1);
     }
 
+    /**
+     * the banned rules are evaluated in one walk over the dependencies, with the same reports
+     */
+    @Test
+    public void test_fusedEvaluation() {
+        final Map<String, ArchRule> rules = new CveArchRules().getRules();
+        final JavaClasses classes = new ClassFileImporter().importClasses(KotlinFailingClassFile.class,
+                KotlinFailingClassDir.class, FailingClass.class, FailingClassShaded.class, PassingClass.class,
+                UsesJettyHttpURI.class);
+
+        final Map<String, EvaluationResult> fused = new FusedReferenceEvaluator().evaluate(rules, classes);
+
+        rules.forEach((key, rule) -> assertThat(fused.get(key).getFailureReport().getDetails())
+                .as(key)
+                .containsExactlyInAnyOrderElementsOf(rule.evaluate(classes).getFailureReport().getDetails()));
+    }
+
     static class KotlinFailingClassFile {
         File thing = FilesKt.createTempFile("tmp", null, null);
     }
@@ -8,6 +8,7 @@ plugins {
 description = "Arch Rules for detecting usage of Junit4 and Testcontainers 1.x"
 
 dependencies {
+    archRulesImplementation(project(":archrules-common"))
     archRulesImplementation(libs.jspecify)
 
     archRulesTestImplementation(libs.assertj)
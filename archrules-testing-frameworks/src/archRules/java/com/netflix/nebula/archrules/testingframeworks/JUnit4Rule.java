@@ -6,6 +6,8 @@ import com.tngtech.archunit.lang.Priority;
 import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
 import org.jspecify.annotations.NullMarked;
 
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.banned;
+import static com.netflix.nebula.archrules.common.evaluation.BannedReferences.packages;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideInAPackage;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideOutsideOfPackage;
 
@@ -17,13 +19,14 @@ public class JUnit4Rule implements ArchRulesService {
     /**
      * This rule is a stop-gap to find all usages of JUnit4.
      */
-    public static final ArchRule junit4Rule = ArchRuleDefinition.priority(Priority.MEDIUM)
+    public static final ArchRule junit4Rule = banned(ArchRuleDefinition.priority(Priority.MEDIUM)
             .noClasses()
             .should().dependOnClassesThat(resideInAPackage("org.junit..")
                     .and(resideOutsideOfPackage("org.junit.jupiter..")))
             .allowEmptyShould(true)
             .as("No code should use JUnit4 test packages")
-            .because("usage of JUnit4 is deprecated. Please migrate to JUnit5 Jupiter.");
+            .because("usage of JUnit4 is deprecated. Please migrate to JUnit5 Jupiter."),
+            packages("org.junit").excluding("org.junit.jupiter"));
 
     @Override
     public Map<String, ArchRule> getRules() {
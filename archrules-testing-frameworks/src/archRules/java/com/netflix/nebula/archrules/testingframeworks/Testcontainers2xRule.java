@@ -1,5 +1,6 @@
 package com.netflix.nebula.archrules.testingframeworks;
 
+import com.netflix.nebula.archrules.common.LazyConditionEvent;
 import com.netflix.nebula.archrules.core.ArchRulesService;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
@@ -7,7 +8,6 @@ import com.tngtech.archunit.lang.ArchCondition;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.ConditionEvents;
 import com.tngtech.archunit.lang.Priority;
-import com.tngtech.archunit.lang.SimpleConditionEvent;
 import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
 import org.jspecify.annotations.NullMarked;
 
@@ -62,14 +62,13 @@ public class Testcontainers2xRule implements ArchRulesService {
                 javaClass.getDirectDependenciesFromSelf().forEach(dependency -> {
                     JavaClass targetClass = dependency.getTargetClass();
                     if (isDeprecatedContainerClass(targetClass)) {
-                        String message = String.format(
+                        events.add(LazyConditionEvent.violated(javaClass, () -> String.format(
                                 "%s depends on deprecated package %s. " +
                                         "Use %s instead.",
                                 javaClass.getName(),
                                 targetClass.getName(),
                                 getNewPackageName(targetClass)
-                        );
-                        events.add(SimpleConditionEvent.violated(javaClass, message));
+                        )));
                     }
                 });
             }
@@ -4,6 +4,7 @@ plugins {
 
 rootProject.name = "nebula-archrules"
 
+include(":archrules-benchmarks")
 include(":archrules-common")
 include(":archrules-deprecation")
 include(":archrules-gradle-plugin-development")